@@ -0,0 +1,42 @@
+package me.paultristanwagner.satchecking.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+
+/**
+ * Runs the benchmarks like the JMH launcher, but writes the results as JSON to {@code
+ * jmh-result.json} unless another format is requested with {@code -rf}, so that runs can be
+ * compared with each other.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public final class BenchmarkMain {
+
+  private BenchmarkMain() {}
+
+  public static void main(String[] args) throws CommandLineOptionException, IOException, RunnerException {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+    if (commandLine.shouldHelp()
+        || commandLine.shouldList()
+        || commandLine.shouldListWithParams()
+        || commandLine.shouldListProfilers()
+        || commandLine.shouldListResultFormats()) {
+      org.openjdk.jmh.Main.main(args);
+      return;
+    }
+
+    ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+    if (!commandLine.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+    new Runner(options.build()).run();
+  }
+}
@@ -0,0 +1,52 @@
+package me.paultristanwagner.satchecking.benchmarks;
+
+import me.paultristanwagner.satchecking.parse.BitVectorConstraintParser;
+import me.paultristanwagner.satchecking.theory.bitvector.BitVectorFlattener;
+import me.paultristanwagner.satchecking.theory.bitvector.constraint.BitVectorConstraint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BitVectorFlattener#flatten(List)} on constraints dominated by multiplications,
+ * whose circuits make up most of the CNF.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BitBlastingBenchmark {
+
+  private static final Map<String, List<String>> SYSTEMS =
+      Map.of(
+          "products", List.of("x * y = 143", "(x * y) * z = 1001", "x * x > y"),
+          "pythagoras",
+              List.of("(x * y) * (z * w) = 30030", "x * x + y * y = z * z", "w * 7 > x"));
+
+  @Param({"products", "pythagoras"})
+  public String system;
+
+  private List<BitVectorConstraint> constraints;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    BitVectorConstraintParser parser = new BitVectorConstraintParser();
+    constraints = new ArrayList<>();
+    for (String constraint : SYSTEMS.get(system)) {
+      constraints.add(parser.parse(constraint));
+    }
+  }
+
+  @Benchmark
+  public Object flatten() {
+    return new BitVectorFlattener().flatten(constraints);
+  }
+}
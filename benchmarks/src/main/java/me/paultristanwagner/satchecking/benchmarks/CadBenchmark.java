@@ -0,0 +1,53 @@
+package me.paultristanwagner.satchecking.benchmarks;
+
+import me.paultristanwagner.satchecking.parse.MultivariatePolynomialConstraintParser;
+import me.paultristanwagner.satchecking.theory.nonlinear.CAD;
+import me.paultristanwagner.satchecking.theory.nonlinear.MultivariatePolynomialConstraint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link CAD#compute(Set)} on small systems of polynomial constraints in two and three
+ * variables.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CadBenchmark {
+
+  private static final Map<String, List<String>> SYSTEMS =
+      Map.of(
+          "circle-cubic", List.of("x^2 + y^2 = 1", "x^2 + y^3 = 1/2"),
+          "parabolas", List.of("y - x^2 > 0", "y + x^2 - 2 < 0", "x*y - 1/4 > 0"),
+          "sphere-saddle", List.of("x^2 + y^2 + z^2 < 1", "x*y - z > 0"));
+
+  @Param({"circle-cubic", "parabolas", "sphere-saddle"})
+  public String system;
+
+  private Set<MultivariatePolynomialConstraint> constraints;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    MultivariatePolynomialConstraintParser parser = new MultivariatePolynomialConstraintParser();
+    constraints = new HashSet<>();
+    for (String constraint : SYSTEMS.get(system)) {
+      constraints.add(parser.parse(constraint));
+    }
+  }
+
+  @Benchmark
+  public Object compute() {
+    return new CAD().compute(constraints);
+  }
+}
@@ -0,0 +1,88 @@
+package me.paultristanwagner.satchecking.benchmarks;
+
+import me.paultristanwagner.satchecking.builder.SudokuCNFBuilder;
+import me.paultristanwagner.satchecking.parse.DimacsParser;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link DPLLCDCLSolver#check(CNF)} on random 3-SAT instances at the phase transition,
+ * where about half of the instances are satisfiable, and on empty Sudoku boards.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SatBenchmark {
+
+  // Clauses per variable at which random 3-SAT is hardest
+  private static final double PHASE_TRANSITION_RATIO = 4.26;
+
+  // Every invocation solves this many instances to even out their difficulty
+  private static final int INSTANCE_COUNT = 8;
+
+  @State(Scope.Benchmark)
+  public static class Random3Sat {
+
+    @Param({"100", "150"})
+    public int variables;
+
+    public List<CNF> instances;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      Random random = new Random(variables);
+      int clauses = (int) Math.round(PHASE_TRANSITION_RATIO * variables);
+      instances = new ArrayList<>();
+      for (int i = 0; i < INSTANCE_COUNT; i++) {
+        StringBuilder dimacs = new StringBuilder();
+        dimacs.append("p cnf ").append(variables).append(' ').append(clauses).append('\n');
+        for (int j = 0; j < clauses; j++) {
+          for (int k = 0; k < 3; k++) {
+            int variable = 1 + random.nextInt(variables);
+            dimacs.append(random.nextBoolean() ? variable : -variable).append(' ');
+          }
+          dimacs.append("0\n");
+        }
+        instances.add(new DimacsParser().parse(dimacs.toString()));
+      }
+    }
+  }
+
+  @State(Scope.Benchmark)
+  public static class Sudoku {
+
+    @Param({"2", "3"})
+    public int blockSize;
+
+    public CNF cnf;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      cnf = new SudokuCNFBuilder(blockSize).build();
+    }
+  }
+
+  @Benchmark
+  public void random3Sat(Random3Sat state, Blackhole blackhole) {
+    for (CNF cnf : state.instances) {
+      blackhole.consume(DPLLCDCLSolver.check(cnf));
+    }
+  }
+
+  @Benchmark
+  public Object sudoku(Sudoku state) {
+    return DPLLCDCLSolver.check(state.cnf);
+  }
+}
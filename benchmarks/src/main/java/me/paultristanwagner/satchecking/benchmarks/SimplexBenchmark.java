@@ -0,0 +1,73 @@
+package me.paultristanwagner.satchecking.benchmarks;
+
+import me.paultristanwagner.satchecking.parse.LinearConstraintParser;
+import me.paultristanwagner.satchecking.theory.LinearConstraint;
+import me.paultristanwagner.satchecking.theory.solver.SimplexFeasibilitySolver;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SimplexFeasibilitySolver#solve()} on random LPs with as many constraints as
+ * variables. Dense LPs have a coefficient for every variable in every constraint, sparse ones
+ * three.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SimplexBenchmark {
+
+  private static final int SPARSE_WIDTH = 3;
+
+  @Param({"dense", "sparse"})
+  public String shape;
+
+  @Param({"20", "40"})
+  public int size;
+
+  private List<LinearConstraint> constraints;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(size);
+    LinearConstraintParser parser = new LinearConstraintParser();
+    constraints = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      StringBuilder constraint = new StringBuilder();
+      if (shape.equals("dense")) {
+        for (int variable = 1; variable <= size; variable++) {
+          appendTerm(constraint, random, variable);
+        }
+      } else {
+        for (int j = 0; j < SPARSE_WIDTH; j++) {
+          appendTerm(constraint, random, 1 + random.nextInt(size));
+        }
+      }
+      constraint.append(random.nextBoolean() ? "<=" : ">=").append(random.nextInt(100) - 50);
+      constraints.add(parser.parse(constraint.toString()));
+    }
+  }
+
+  private static void appendTerm(StringBuilder constraint, Random random, int variable) {
+    constraint.append(random.nextBoolean() ? '+' : '-');
+    constraint.append(1 + random.nextInt(9)).append('x').append(variable);
+  }
+
+  @Benchmark
+  public Object solve() {
+    SimplexFeasibilitySolver solver = new SimplexFeasibilitySolver();
+    for (LinearConstraint constraint : constraints) {
+      solver.addConstraint(constraint);
+    }
+    return solver.solve();
+  }
+}
@@ -0,0 +1,64 @@
+package me.paultristanwagner.satchecking.benchmarks;
+
+import me.paultristanwagner.satchecking.parse.SmtLibParser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link SmtLibParser#parse()} on generated QF_LRA scripts with many assertions over a
+ * hundred variables.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SmtLibParserBenchmark {
+
+  private static final int VARIABLES = 100;
+
+  @Param({"500", "2000"})
+  public int assertions;
+
+  private String script;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    Random random = new Random(assertions);
+    StringBuilder builder = new StringBuilder("(set-logic QF_LRA)\n");
+    for (int i = 0; i < VARIABLES; i++) {
+      builder.append("(declare-const x").append(i).append(" Real)\n");
+    }
+    for (int i = 0; i < assertions; i++) {
+      builder
+          .append("(assert (or (<= (+ (* ")
+          .append(1 + random.nextInt(9))
+          .append(" x")
+          .append(random.nextInt(VARIABLES))
+          .append(") (* ")
+          .append(1 + random.nextInt(9))
+          .append(" x")
+          .append(random.nextInt(VARIABLES))
+          .append(")) ")
+          .append(random.nextInt(50))
+          .append(") (>= x")
+          .append(random.nextInt(VARIABLES))
+          .append(' ')
+          .append(random.nextInt(10))
+          .append(")))\n");
+    }
+    builder.append("(check-sat)\n");
+    script = builder.toString();
+  }
+
+  @Benchmark
+  public Object parse() {
+    return new SmtLibParser(script).parse();
+  }
+}
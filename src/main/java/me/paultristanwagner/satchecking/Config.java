@@ -1,14 +1,26 @@
 package me.paultristanwagner.satchecking;
 
+import me.paultristanwagner.satchecking.sat.parallel.CubeAndConquerSolver;
+import me.paultristanwagner.satchecking.sat.parallel.PortfolioSATSolver;
 import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
 import me.paultristanwagner.satchecking.sat.solver.DPLLSolver;
+import me.paultristanwagner.satchecking.sat.solver.DecisionHeuristic;
 import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import me.paultristanwagner.satchecking.sat.solver.LocalSearchSolver;
+import me.paultristanwagner.satchecking.sat.solver.GeometricRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.GlucoseRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.LubyRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.NoRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.RestartStrategy;
 import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+import me.paultristanwagner.satchecking.sat.solver.StaticDecisionHeuristic;
+import me.paultristanwagner.satchecking.sat.solver.VSIDSDecisionHeuristic;
 
 import java.io.File;
 import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Properties;
 
 /**
@@ -19,6 +31,8 @@ public class Config {
 
   private static final String FILE_NAME = "config.properties";
   private static final String MAXIMUM = "maximum";
+  private static final String AUTO = "auto";
+  private static final String NONE = "none";
 
   private static Config config;
 
@@ -57,6 +71,15 @@ public class Config {
   private static Config defaultConfig() {
     Properties defaultProperties = new Properties();
     defaultProperties.setProperty("satSolver", "DPLL+CDCL");
+    defaultProperties.setProperty("decisionHeuristic", "VSIDS");
+    defaultProperties.setProperty("restartStrategy", "Glucose");
+    defaultProperties.setProperty("preprocessing", "true");
+    defaultProperties.setProperty("inprocessing", "true");
+    defaultProperties.setProperty("chronologicalBacktracking", NONE);
+    defaultProperties.setProperty("rephasing", "false");
+    defaultProperties.setProperty("xorReasoning", "true");
+    defaultProperties.setProperty("threads", AUTO);
+    defaultProperties.setProperty("dratProof", NONE);
     defaultProperties.setProperty("maxModelCount", MAXIMUM);
     defaultProperties.setProperty("printModels", "true");
     defaultProperties.setProperty("reducedAssignments", "false");
@@ -93,10 +116,88 @@ public class Config {
       return new DPLLSolver();
     } else if (solverName.equalsIgnoreCase("DPLL+CDCL")) {
       return new DPLLCDCLSolver();
+    } else if (solverName.equalsIgnoreCase("Portfolio")) {
+      return new PortfolioSATSolver();
+    } else if (solverName.equalsIgnoreCase("CubeAndConquer")) {
+      return new CubeAndConquerSolver();
+    } else if (solverName.equalsIgnoreCase("LocalSearch")) {
+      return new LocalSearchSolver();
     }
     throw new IllegalStateException("Could not load solver from config");
   }
 
+  public DecisionHeuristic getDecisionHeuristic() {
+    String heuristicName = properties.getProperty("decisionHeuristic", "VSIDS");
+    if (heuristicName.equalsIgnoreCase("VSIDS")) {
+      return new VSIDSDecisionHeuristic();
+    } else if (heuristicName.equalsIgnoreCase("Static")) {
+      return new StaticDecisionHeuristic();
+    }
+    throw new IllegalStateException("Could not load decision heuristic from config");
+  }
+
+  public RestartStrategy getRestartStrategy() {
+    String strategyName = properties.getProperty("restartStrategy", "Glucose");
+    if (strategyName.equalsIgnoreCase("Glucose")) {
+      return new GlucoseRestartStrategy();
+    } else if (strategyName.equalsIgnoreCase("Luby")) {
+      return new LubyRestartStrategy();
+    } else if (strategyName.equalsIgnoreCase("Geometric")) {
+      return new GeometricRestartStrategy();
+    } else if (strategyName.equalsIgnoreCase("None")) {
+      return new NoRestartStrategy();
+    }
+    throw new IllegalStateException("Could not load restart strategy from config");
+  }
+
+  public boolean preprocessing() {
+    return Boolean.parseBoolean(properties.getProperty("preprocessing", "true"));
+  }
+
+  public boolean inprocessing() {
+    return Boolean.parseBoolean(properties.getProperty("inprocessing", "true"));
+  }
+
+  /** Returns whether the CDCL solver takes the phases of its decisions from local search. */
+  public boolean rephasing() {
+    return Boolean.parseBoolean(properties.getProperty("rephasing", "false"));
+  }
+
+  /** Returns whether the CDCL solver propagates XOR constraints by Gauss-Jordan elimination. */
+  public boolean xorReasoning() {
+    return Boolean.parseBoolean(properties.getProperty("xorReasoning", "true"));
+  }
+
+  /**
+   * Returns the number of levels a backjump may skip before the CDCL solver backtracks
+   * chronologically instead, or -1 if it always backjumps.
+   */
+  public int getChronologicalBacktrackingLimit() {
+    String limitString = properties.getProperty("chronologicalBacktracking", NONE);
+    if (limitString.isBlank() || limitString.equalsIgnoreCase(NONE)) {
+      return -1;
+    }
+    return Integer.parseInt(limitString);
+  }
+
+  /** Returns the number of threads of parallel solvers, by default one per available processor. */
+  public int getThreadCount() {
+    String threadCountString = properties.getProperty("threads", AUTO);
+    if (threadCountString.equalsIgnoreCase(AUTO)) {
+      return Runtime.getRuntime().availableProcessors();
+    }
+    return Integer.parseInt(threadCountString);
+  }
+
+  /** Returns the file DRAT proofs of unsatisfiability are written to, or {@code null} if none. */
+  public Path getDratProofPath() {
+    String proofFile = properties.getProperty("dratProof", NONE);
+    if (proofFile.isBlank() || proofFile.equalsIgnoreCase(NONE)) {
+      return null;
+    }
+    return Path.of(proofFile);
+  }
+
   public boolean printModels() {
     return Boolean.parseBoolean(properties.getProperty("printModels", "true"));
   }
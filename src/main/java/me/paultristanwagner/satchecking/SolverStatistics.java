@@ -0,0 +1,138 @@
+package me.paultristanwagner.satchecking;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counters of the work done by the solvers of this process, published as the MBean {@value
+ * #OBJECT_NAME} and printed by the {@code stats} command.
+ *
+ * <p>Solvers count in plain fields of their own and add what they counted since their last report
+ * every few hundred conflicts and when a search ends, so keeping the statistics up to date costs a
+ * few atomic additions per report. Solvers running in parallel report to the same counters.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class SolverStatistics implements SolverStatisticsMBean {
+
+  public static final String OBJECT_NAME = "me.paultristanwagner.satchecking:type=SolverStatistics";
+
+  private static SolverStatistics statistics;
+
+  private final AtomicLong decisions = new AtomicLong();
+  private final AtomicLong propagations = new AtomicLong();
+  private final AtomicLong conflicts = new AtomicLong();
+  private final AtomicLong restarts = new AtomicLong();
+  private final AtomicLong learnedClauses = new AtomicLong();
+  private final AtomicLong deletedClauses = new AtomicLong();
+  private final AtomicLong theoryCalls = new AtomicLong();
+  private final AtomicLong theoryTimeNanos = new AtomicLong();
+  private volatile long startNanos = System.nanoTime();
+
+  /** Returns the statistics of this process and registers them as MBean on first use. */
+  public static synchronized SolverStatistics get() {
+    if (statistics == null) {
+      statistics = new SolverStatistics();
+      try {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName(OBJECT_NAME);
+        if (!server.isRegistered(name)) {
+          server.registerMBean(statistics, name);
+        }
+      } catch (JMException e) {
+        System.err.println("Could not register solver statistics: " + e.getMessage());
+      }
+    }
+    return statistics;
+  }
+
+  /** Adds the work a SAT solver did since its last report. */
+  public void recordSearch(
+      long decisions,
+      long propagations,
+      long conflicts,
+      long restarts,
+      long learnedClauses,
+      long deletedClauses) {
+    this.decisions.addAndGet(decisions);
+    this.propagations.addAndGet(propagations);
+    this.conflicts.addAndGet(conflicts);
+    this.restarts.addAndGet(restarts);
+    this.learnedClauses.addAndGet(learnedClauses);
+    this.deletedClauses.addAndGet(deletedClauses);
+  }
+
+  /** Adds a call to a theory solver that took {@code nanos} nanoseconds. */
+  public void recordTheoryCall(long nanos) {
+    theoryCalls.incrementAndGet();
+    theoryTimeNanos.addAndGet(nanos);
+  }
+
+  @Override
+  public long getDecisions() {
+    return decisions.get();
+  }
+
+  @Override
+  public long getPropagations() {
+    return propagations.get();
+  }
+
+  @Override
+  public long getConflicts() {
+    return conflicts.get();
+  }
+
+  @Override
+  public long getRestarts() {
+    return restarts.get();
+  }
+
+  @Override
+  public long getLearnedClauses() {
+    return learnedClauses.get();
+  }
+
+  @Override
+  public long getDeletedClauses() {
+    return deletedClauses.get();
+  }
+
+  @Override
+  public long getTheoryCalls() {
+    return theoryCalls.get();
+  }
+
+  @Override
+  public long getTheoryTimeMillis() {
+    return theoryTimeNanos.get() / 1_000_000;
+  }
+
+  @Override
+  public long getElapsedMillis() {
+    return (System.nanoTime() - startNanos) / 1_000_000;
+  }
+
+  @Override
+  public double getConflictsPerSecond() {
+    long elapsedMillis = getElapsedMillis();
+    return elapsedMillis == 0 ? 0 : 1000.0 * getConflicts() / elapsedMillis;
+  }
+
+  @Override
+  public void reset() {
+    decisions.set(0);
+    propagations.set(0);
+    conflicts.set(0);
+    restarts.set(0);
+    learnedClauses.set(0);
+    deletedClauses.set(0);
+    theoryCalls.set(0);
+    theoryTimeNanos.set(0);
+    startNanos = System.nanoTime();
+  }
+}
@@ -0,0 +1,33 @@
+package me.paultristanwagner.satchecking;
+
+/**
+ * The management interface of {@link SolverStatistics}. Attributes are cumulative since the last
+ * reset, so monitoring can derive rates like conflicts per second from consecutive samples.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public interface SolverStatisticsMBean {
+
+  long getDecisions();
+
+  long getPropagations();
+
+  long getConflicts();
+
+  long getRestarts();
+
+  long getLearnedClauses();
+
+  long getDeletedClauses();
+
+  long getTheoryCalls();
+
+  long getTheoryTimeMillis();
+
+  long getElapsedMillis();
+
+  double getConflictsPerSecond();
+
+  void reset();
+}
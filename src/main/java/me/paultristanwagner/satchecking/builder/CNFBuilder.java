@@ -2,9 +2,14 @@ package me.paultristanwagner.satchecking.builder;
 
 import me.paultristanwagner.satchecking.sat.CNF;
 import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
@@ -30,4 +35,24 @@ public class CNFBuilder {
   public CNF build() {
     return new CNF(clauses);
   }
+
+  /**
+   * Writes the clauses in the DIMACS CNF format. Variables are numbered from 1 in the order in
+   * which they first occur.
+   */
+  public void writeDimacs(Writer writer) throws IOException {
+    Map<String, Integer> indices = new HashMap<>();
+    StringBuilder body = new StringBuilder();
+    for (Clause clause : clauses) {
+      for (Literal literal : clause.getLiterals()) {
+        int index = indices.computeIfAbsent(literal.getName(), name -> indices.size() + 1);
+        body.append(literal.isNegated() ? -index : index).append(' ');
+      }
+      body.append("0\n");
+    }
+
+    writer.write("p cnf " + indices.size() + " " + clauses.size() + "\n");
+    writer.write(body.toString());
+    writer.flush();
+  }
 }
@@ -0,0 +1,42 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import java.util.Random;
+
+/**
+ * Factoring puzzles in QF_BV: find two factors greater than one whose product is a random
+ * composite number. The factors are restricted to half of the width so that the multiplication
+ * cannot overflow, which makes the satisfying assignments exactly the factorizations. The bounds
+ * are signed comparisons, which agree with unsigned ones below half of the range.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class BvMultiplicationBuilder extends SmtLibBuilder {
+
+  public BvMultiplicationBuilder(int width, long seed) {
+    super("QF_BV");
+    if (width < 4 || width > 62 || width % 2 != 0) {
+      throw new IllegalArgumentException("The width must be even and between 4 and 62");
+    }
+
+    Random random = new Random(seed);
+    long limit = 1L << (width / 2);
+    long p = 2 + (long) (random.nextDouble() * (limit - 2));
+    long q = 2 + (long) (random.nextDouble() * (limit - 2));
+
+    String sort = "(_ BitVec " + width + ")";
+    declareConst("x", sort);
+    declareConst("y", sort);
+    assertTerm("(= (bvmul x y) " + constant(p * q, width) + ")");
+    assertTerm("(bvsgt x " + constant(1, width) + ")");
+    assertTerm("(bvsgt y " + constant(1, width) + ")");
+    assertTerm("(bvslt x " + constant(limit, width) + ")");
+    assertTerm("(bvslt y " + constant(limit, width) + ")");
+    setStatus("sat");
+    command("check-sat");
+  }
+
+  private static String constant(long value, int width) {
+    return "(_ bv" + value + " " + width + ")";
+  }
+}
@@ -0,0 +1,37 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+/**
+ * The eq_diamond family of QF_EQ: a chain of n diamonds, each of which forces {@code x_i = x_(i+1)}
+ * along one of its two sides, together with {@code x_0 != x_n}. The instances are unsatisfiable and
+ * a solver that does not learn transitivity explores all 2^n combinations of sides.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class EqDiamondBuilder extends SmtLibBuilder {
+
+  public EqDiamondBuilder(int diamonds) {
+    super("QF_EQ");
+    for (int i = 0; i <= diamonds; i++) {
+      declareConst("x" + i, "U");
+    }
+    for (int i = 0; i < diamonds; i++) {
+      declareConst("y" + i, "U");
+      declareConst("z" + i, "U");
+    }
+
+    for (int i = 0; i < diamonds; i++) {
+      String x = "x" + i;
+      String next = "x" + (i + 1);
+      String y = "y" + i;
+      String z = "z" + i;
+      assertTerm(
+          String.format(
+              "(or (and (= %s %s) (= %s %s)) (and (= %s %s) (= %s %s)))",
+              x, y, y, next, x, z, z, next));
+    }
+    assertTerm("(not (= x0 x" + diamonds + "))");
+    setStatus("unsat");
+    command("check-sat");
+  }
+}
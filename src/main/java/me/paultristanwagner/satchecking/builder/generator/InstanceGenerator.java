@@ -0,0 +1,19 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A family of benchmark instances. Every generator is determined by its parameters and seed, so
+ * that it writes the same instance on every run and every machine.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public interface InstanceGenerator {
+
+  /** Returns the file extension of the written format, {@code cnf} or {@code smt2}. */
+  String getFileExtension();
+
+  void write(Writer writer) throws IOException;
+}
@@ -0,0 +1,70 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Two chains of XOR gates that compute the parity of the same variables in different orders. The
+ * first chain is required to be odd and the second one to be odd as well, or even if the instance
+ * is to be unsatisfiable. Without reasoning about XOR, solvers need exponentially many conflicts to
+ * refute the unsatisfiable instances.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class ParityChainBuilder extends CNFBuilder implements InstanceGenerator {
+
+  public ParityChainBuilder(int variables, boolean satisfiable, long seed) {
+    if (variables < 2) {
+      throw new IllegalArgumentException("A parity chain needs at least two variables");
+    }
+
+    List<Integer> order = new ArrayList<>();
+    for (int variable = 1; variable <= variables; variable++) {
+      order.add(variable);
+    }
+    Literal first = chain("a", order);
+
+    Collections.shuffle(order, new Random(seed));
+    Literal second = chain("b", order);
+
+    clauses.add(new Clause(List.of(first)));
+    clauses.add(new Clause(List.of(satisfiable ? second : second.not())));
+  }
+
+  /** Adds the gates {@code t_i = t_(i-1) xor x_i} and returns the last output. */
+  private Literal chain(String prefix, List<Integer> order) {
+    Literal previous = new Literal("x" + order.get(0));
+    for (int i = 1; i < order.size(); i++) {
+      Literal output = new Literal(prefix + i);
+      xor(output, previous, new Literal("x" + order.get(i)));
+      previous = output;
+    }
+    return previous;
+  }
+
+  private void xor(Literal output, Literal left, Literal right) {
+    clauses.add(new Clause(List.of(output.not(), left, right)));
+    clauses.add(new Clause(List.of(output.not(), left.not(), right.not())));
+    clauses.add(new Clause(List.of(output, left.not(), right)));
+    clauses.add(new Clause(List.of(output, left, right.not())));
+  }
+
+  @Override
+  public String getFileExtension() {
+    return "cnf";
+  }
+
+  @Override
+  public void write(Writer writer) throws IOException {
+    writeDimacs(writer);
+  }
+}
@@ -0,0 +1,56 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The pigeonhole principle: n + 1 pigeons are placed into n holes such that no two pigeons share a
+ * hole. The formula is unsatisfiable and every resolution proof of that is exponential in n.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class PigeonholeBuilder extends CNFBuilder implements InstanceGenerator {
+
+  public PigeonholeBuilder(int holes) {
+    int pigeons = holes + 1;
+
+    // Every pigeon sits in some hole
+    for (int pigeon = 1; pigeon <= pigeons; pigeon++) {
+      List<Literal> literals = new ArrayList<>();
+      for (int hole = 1; hole <= holes; hole++) {
+        literals.add(in(pigeon, hole));
+      }
+      clauses.add(new Clause(literals));
+    }
+
+    // No hole holds two pigeons
+    for (int hole = 1; hole <= holes; hole++) {
+      for (int first = 1; first < pigeons; first++) {
+        for (int second = first + 1; second <= pigeons; second++) {
+          clauses.add(new Clause(List.of(in(first, hole).not(), in(second, hole).not())));
+        }
+      }
+    }
+  }
+
+  private static Literal in(int pigeon, int hole) {
+    return new Literal("p" + pigeon + "_" + hole);
+  }
+
+  @Override
+  public String getFileExtension() {
+    return "cnf";
+  }
+
+  @Override
+  public void write(Writer writer) throws IOException {
+    writeDimacs(writer);
+  }
+}
@@ -0,0 +1,52 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Uniform random k-SAT: every clause consists of k distinct variables, each negated with
+ * probability one half. Around 4.26 clauses per variable, random 3-SAT instances are the hardest
+ * and about half of them are satisfiable.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class RandomKSatBuilder extends CNFBuilder implements InstanceGenerator {
+
+  public RandomKSatBuilder(int variables, int clauseCount, int k, long seed) {
+    if (k < 1 || k > variables) {
+      throw new IllegalArgumentException("Clause width must be between 1 and " + variables);
+    }
+
+    Random random = new Random(seed);
+    for (int i = 0; i < clauseCount; i++) {
+      List<Literal> literals = new ArrayList<>();
+      List<Integer> chosen = new ArrayList<>();
+      while (chosen.size() < k) {
+        int variable = 1 + random.nextInt(variables);
+        if (!chosen.contains(variable)) {
+          chosen.add(variable);
+          literals.add(new Literal("x" + variable, random.nextBoolean()));
+        }
+      }
+      clauses.add(new Clause(literals));
+    }
+  }
+
+  @Override
+  public String getFileExtension() {
+    return "cnf";
+  }
+
+  @Override
+  public void write(Writer writer) throws IOException {
+    writeDimacs(writer);
+  }
+}
@@ -0,0 +1,52 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import java.util.Random;
+
+/**
+ * Random QF_LRA systems over variables bounded by [-100, 100]. Every assertion is a disjunction of
+ * a constraint on two variables and a bound on a third, so the instances exercise the interplay of
+ * the SAT solver with the simplex method.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class RandomLraBuilder extends SmtLibBuilder {
+
+  private static final int BOUND = 100;
+
+  public RandomLraBuilder(int variables, int assertions, long seed) {
+    super("QF_LRA");
+    Random random = new Random(seed);
+    for (int i = 0; i < variables; i++) {
+      declareConst("x" + i, "Real");
+    }
+    for (int i = 0; i < variables; i++) {
+      assertTerm("(>= x" + i + " " + constant(-BOUND) + ")");
+      assertTerm("(<= x" + i + " " + BOUND + ")");
+    }
+
+    for (int i = 0; i < assertions; i++) {
+      assertTerm(
+          String.format(
+              "(or (%s (+ %s %s) %s) (%s x%d %s))",
+              random.nextBoolean() ? "<=" : ">=",
+              term(random, variables),
+              term(random, variables),
+              constant(random.nextInt(2 * BOUND + 1) - BOUND),
+              random.nextBoolean() ? "<=" : ">=",
+              random.nextInt(variables),
+              constant(random.nextInt(2 * BOUND + 1) - BOUND)));
+    }
+    command("check-sat");
+  }
+
+  private static String term(Random random, int variables) {
+    int coefficient = 1 + random.nextInt(9);
+    return "(* " + constant(random.nextBoolean() ? coefficient : -coefficient) + " x"
+        + random.nextInt(variables) + ")";
+  }
+
+  private static String constant(int value) {
+    return value < 0 ? "(- " + -value + ")" : Integer.toString(value);
+  }
+}
@@ -0,0 +1,53 @@
+package me.paultristanwagner.satchecking.builder.generator;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Base class of the generators that write SMT-LIB scripts. Subclasses emit the commands of their
+ * script in the constructor, just like {@link me.paultristanwagner.satchecking.builder.CNFBuilder}s
+ * collect their clauses.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public abstract class SmtLibBuilder implements InstanceGenerator {
+
+  protected final StringBuilder script;
+
+  protected SmtLibBuilder(String logic) {
+    this.script = new StringBuilder();
+    command("set-logic " + logic);
+  }
+
+  protected void command(String command) {
+    script.append('(').append(command).append(")\n");
+  }
+
+  protected void declareConst(String name, String sort) {
+    command("declare-const " + name + " " + sort);
+  }
+
+  protected void assertTerm(String term) {
+    command("assert " + term);
+  }
+
+  protected void setStatus(String status) {
+    command("set-info :status " + status);
+  }
+
+  public String build() {
+    return script.toString();
+  }
+
+  @Override
+  public String getFileExtension() {
+    return "smt2";
+  }
+
+  @Override
+  public void write(Writer writer) throws IOException {
+    writer.write(build());
+    writer.flush();
+  }
+}
@@ -15,12 +15,14 @@ public class CommandRegistry {
     register(
         new HelpCommand(),
         new SATCommand(),
+        new CountCommand(),
         new SMTCommand(),
         new SmtLibCommand(),
         new SimplexCommand(),
         new TseitinCommand(),
         new ReadCommand(),
         new DimacsCommand(),
+        new StatsCommand(),
         new ClearCommand(),
         new ExitCommand(),
         new ReloadCommand()
@@ -0,0 +1,128 @@
+package me.paultristanwagner.satchecking.command.impl;
+
+import me.paultristanwagner.satchecking.command.Command;
+import me.paultristanwagner.satchecking.parse.DimacsReader;
+import me.paultristanwagner.satchecking.parse.SyntaxError;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.count.ModelCounter;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static me.paultristanwagner.satchecking.AnsiColor.GRAY;
+import static me.paultristanwagner.satchecking.AnsiColor.GREEN;
+import static me.paultristanwagner.satchecking.AnsiColor.RED;
+import static me.paultristanwagner.satchecking.AnsiColor.RESET;
+
+public class CountCommand extends Command {
+
+  public CountCommand() {
+    super(
+        "count",
+        List.of("#sat"),
+        "Counts the models of a formula in conjunctive normal form",
+        "count [--project <variables>] [--dimacs <file> | <formula>]",
+        """
+              Counts exactly, without enumerating the models. With --project, the
+              assignments of the given comma-separated variables are counted that
+              can be extended to a model.
+              Examples:
+                count (a | b) & (~a | c)
+
+                count --project a,b (h0 | ~a) & (h0 | ~b) & (~h0 | a | b)
+
+                count --dimacs problem.cnf
+            """);
+  }
+
+  @Override
+  public boolean execute(String label, String[] args) {
+    List<String> projection = null;
+    if (args.length >= 1 && args[0].equals("--project")) {
+      if (args.length < 3) {
+        return false;
+      }
+      projection = Arrays.asList(args[1].split(","));
+      args = Arrays.copyOfRange(args, 2, args.length);
+    }
+
+    if (args.length < 1) {
+      return false;
+    }
+
+    CNF cnf;
+    if (args[0].equals("--dimacs")) {
+      if (args.length < 2) {
+        return false;
+      }
+      cnf = readDimacs(String.join(" ", Arrays.copyOfRange(args, 1, args.length)));
+    } else {
+      cnf = parse(String.join(" ", args));
+    }
+    if (cnf == null) {
+      System.out.println();
+      return true;
+    }
+
+    ModelCounter counter = new ModelCounter(cnf);
+    counter.setProjection(projection);
+
+    long beforeMs = System.currentTimeMillis();
+    BigInteger count = counter.count();
+    long timeMs = System.currentTimeMillis() - beforeMs;
+
+    if (count.signum() == 0) {
+      System.out.println(RED + "UNSAT" + RESET);
+    } else {
+      System.out.println("" + GREEN + count + " model/s counted in " + timeMs + " ms" + RESET);
+    }
+    System.out.printf(
+        "%sDecisions: %d, components: %d, cache hits: %d, cache evictions: %d, "
+            + "failed literals: %d%s%n",
+        GRAY,
+        counter.getDecisionCount(),
+        counter.getComponentCount(),
+        counter.getCacheHitCount(),
+        counter.getCacheEvictionCount(),
+        counter.getFailedLiteralCount(),
+        RESET);
+    System.out.println();
+
+    return true;
+  }
+
+  private CNF parse(String cnfString) {
+    try {
+      return CNF.parse(cnfString);
+    } catch (SyntaxError e) {
+      System.out.print(RED);
+      e.printWithContext();
+      System.out.print(RESET);
+      return null;
+    }
+  }
+
+  private CNF readDimacs(String fileName) {
+    Path path = Path.of(fileName);
+    if (!Files.exists(path)) {
+      System.out.printf("%sFile '%s' does not exist%s%n", RED, fileName, RESET);
+      return null;
+    }
+
+    try {
+      return new DimacsReader().read(path);
+    } catch (IOException e) {
+      System.out.printf("%sCould not read file '%s': %s%s%n", RED, fileName, e.getMessage(), RESET);
+      return null;
+    } catch (SyntaxError e) {
+      System.out.print(RED);
+      e.printWithContext();
+      System.out.print(RESET);
+      return null;
+    }
+  }
+}
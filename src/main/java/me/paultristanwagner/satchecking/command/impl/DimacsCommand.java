@@ -1,15 +1,19 @@
 package me.paultristanwagner.satchecking.command.impl;
 
+import me.paultristanwagner.satchecking.Config;
 import me.paultristanwagner.satchecking.command.Command;
-import me.paultristanwagner.satchecking.parse.DimacsParser;
+import me.paultristanwagner.satchecking.parse.DimacsReader;
 import me.paultristanwagner.satchecking.parse.SyntaxError;
+import me.paultristanwagner.satchecking.sat.Assignment;
 import me.paultristanwagner.satchecking.sat.CNF;
-import me.paultristanwagner.satchecking.sat.Result;
+import me.paultristanwagner.satchecking.sat.preprocess.Preprocessor;
+import me.paultristanwagner.satchecking.sat.proof.DratWriter;
 import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.List;
 
 import static me.paultristanwagner.satchecking.AnsiColor.GREEN;
@@ -23,15 +27,39 @@ public class DimacsCommand extends Command {
         "dimacs",
         List.of(),
         "Reads a DIMACS CNF file and checks its satisfiability",
-        "dimacs <file>",
+        "dimacs [--verbose] [--proof <proof file>] <file>",
         """
+              If the formula is unsatisfiable, a binary DRAT proof can be written
+              with --proof or the dratProof setting of the config.
+              With --verbose, the counters of preprocessing and search are printed.
+              Files may be compressed with gzip, xz or bzip2.
               Example:
                 dimacs problem.cnf
+                dimacs problem.cnf.xz
+                dimacs --proof problem.drat problem.cnf
+                dimacs --verbose problem.cnf
             """);
   }
 
   @Override
   public boolean execute(String label, String[] args) {
+    Path proofPath = Config.get().getDratProofPath();
+    boolean verbose = false;
+    while (args.length >= 1 && args[0].startsWith("--")) {
+      if (args[0].equals("--verbose")) {
+        verbose = true;
+        args = Arrays.copyOfRange(args, 1, args.length);
+      } else if (args[0].equals("--proof")) {
+        if (args.length < 3) {
+          return false;
+        }
+        proofPath = Path.of(args[1]);
+        args = Arrays.copyOfRange(args, 2, args.length);
+      } else {
+        return false;
+      }
+    }
+
     if (args.length < 1) {
       return false;
     }
@@ -44,18 +72,13 @@ public class DimacsCommand extends Command {
       return true;
     }
 
-    String content;
+    CNF cnf;
     try {
-      content = Files.readString(path);
+      cnf = new DimacsReader().read(path);
     } catch (IOException e) {
       System.out.printf("%sCould not read file '%s': %s%s%n", RED, fileName, e.getMessage(), RESET);
       System.out.println();
       return true;
-    }
-
-    CNF cnf;
-    try {
-      cnf = new DimacsParser().parse(content);
     } catch (SyntaxError e) {
       System.out.print(RED);
       e.printWithContext();
@@ -64,15 +87,90 @@ public class DimacsCommand extends Command {
       return true;
     }
 
-    Result result = DPLLCDCLSolver.check(cnf);
-    if (result.isSatisfiable()) {
+    DratWriter proof = null;
+    if (proofPath != null) {
+      try {
+        proof = new DratWriter(proofPath);
+      } catch (IOException e) {
+        System.out.printf(
+            "%sCould not open proof file '%s': %s%s%n", RED, proofPath, e.getMessage(), RESET);
+        System.out.println();
+        return true;
+      }
+    }
+
+    try {
+      solve(cnf, proof, verbose);
+    } finally {
+      if (proof != null) {
+        try {
+          proof.close();
+          System.out.printf(
+              "Proof: %d added and %d deleted clauses written to '%s'%n",
+              proof.getAddedClauseCount(), proof.getDeletedClauseCount(), proofPath);
+        } catch (IOException e) {
+          System.out.printf(
+              "%sCould not write proof file '%s': %s%s%n", RED, proofPath, e.getMessage(), RESET);
+        }
+      }
+    }
+    System.out.println();
+
+    return true;
+  }
+
+  private void solve(CNF cnf, DratWriter proof, boolean verbose) {
+    Preprocessor preprocessor = null;
+    if (Config.get().preprocessing()) {
+      preprocessor = new Preprocessor(cnf);
+      preprocessor.setProof(proof);
+      cnf = preprocessor.preprocess();
+      if (verbose) {
+        System.out.printf(
+            "Eliminated variables: %d, removed clauses: %d, strengthened clauses: %d%n",
+            preprocessor.getEliminatedVariableCount(),
+            preprocessor.getRemovedClauseCount(),
+            preprocessor.getStrengthenedClauseCount());
+      }
+    }
+
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setProof(proof);
+    solver.load(cnf);
+    Assignment model = solver.nextModel();
+    if (model != null && preprocessor != null) {
+      model = preprocessor.reconstruct(model);
+    }
+    if (model != null) {
       System.out.println(GREEN + "SAT" + RESET);
-      System.out.println(GREEN + result.getAssignment().toString() + RESET);
+      System.out.println(GREEN + model.toString() + RESET);
     } else {
       System.out.println(RED + "UNSAT" + RESET);
     }
-    System.out.println();
+    if (verbose) {
+      printCounters(solver);
+    }
+  }
 
-    return true;
+  private static void printCounters(DPLLCDCLSolver solver) {
+    System.out.printf(
+        "Conflicts: %d, restarts: %d, chronological backtracks: %d, rephases: %d%n",
+        solver.getConflictCount(),
+        solver.getRestartCount(),
+        solver.getChronologicalBacktrackCount(),
+        solver.getRephaseCount());
+    System.out.printf(
+        "Inprocessing rounds: %d, failed literals: %d, equivalent literals: %d, "
+            + "vivified clauses: %d (%d literals removed)%n",
+        solver.getInprocessingCount(),
+        solver.getFailedLiteralCount(),
+        solver.getEquivalentLiteralCount(),
+        solver.getVivifiedClauseCount(),
+        solver.getVivifiedLiteralCount());
+    System.out.printf(
+        "XOR constraints: %d, XOR propagations: %d, XOR explanations: %d%n",
+        solver.getXorConstraintCount(),
+        solver.getXorPropagationCount(),
+        solver.getXorExplanationCount());
   }
 }
@@ -5,9 +5,13 @@ import me.paultristanwagner.satchecking.command.Command;
 import me.paultristanwagner.satchecking.parse.SyntaxError;
 import me.paultristanwagner.satchecking.sat.Assignment;
 import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.ProjectingSATSolver;
 import me.paultristanwagner.satchecking.sat.solver.SATSolver;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CancellationException;
 
 import static me.paultristanwagner.satchecking.AnsiColor.*;
 
@@ -18,17 +22,30 @@ public class SATCommand extends Command {
         "sat",
         List.of(),
         "Checks the satisfiability of a given formula in conjunctive normal form",
-        "sat <formula>",
+        "sat [--project <variables>] <formula>",
         """
+              With --project, models are projected onto the given comma-separated
+              variables and every projected model is reported once.
               Examples:
                 sat (~a | b) & (a)
                 
                 sat (a | b) & (~a | b) & (a | ~b) & (~a | ~b)
+                
+                sat --project a,b (h0 | ~a) & (h0 | ~b) & (~h0 | a | b) & (h0)
             """);
   }
 
   @Override
   public boolean execute(String label, String[] args) {
+    List<String> projection = null;
+    if (args.length >= 1 && args[0].equals("--project")) {
+      if (args.length < 3) {
+        return false;
+      }
+      projection = Arrays.asList(args[1].split(","));
+      args = Arrays.copyOfRange(args, 2, args.length);
+    }
+
     String cnfString = String.join(" ", args);
 
     CNF cnf;
@@ -43,9 +60,26 @@ public class SATCommand extends Command {
     }
 
     SATSolver satSolver = Config.get().getSolver();
+    if (projection != null) {
+      if (satSolver instanceof DPLLCDCLSolver solver) {
+        solver.setProjection(projection);
+      } else {
+        satSolver = new ProjectingSATSolver(satSolver, projection);
+      }
+    }
+
     long beforeMs = System.currentTimeMillis();
     satSolver.load(cnf);
-    Assignment model = satSolver.nextModel();
+    Assignment model;
+    try {
+      model = satSolver.nextModel();
+    } catch (CancellationException e) {
+      // Incomplete solvers like local search give up instead of proving unsatisfiability
+      System.out.println(YELLOW + "UNKNOWN " + GRAY + "(" + e.getMessage() + ")" + RESET);
+      System.out.println();
+
+      return true;
+    }
     if (model == null) {
       System.out.println(RED + "UNSAT" + RESET);
       System.out.println();
@@ -54,15 +88,22 @@ public class SATCommand extends Command {
     }
 
     long modelCount = 0;
+    boolean complete = true;
     System.out.println(GREEN + "SAT:");
     while (model != null && modelCount < Config.get().getMaxModelCount()) {
       modelCount++;
 
       if (Config.get().printModels()) {
-        System.out.println("" + GREEN + model + ";" + RESET);
+        Assignment printedModel = projection == null ? model : model.project(projection);
+        System.out.println("" + GREEN + printedModel + ";" + RESET);
       }
 
-      model = satSolver.nextModel();
+      try {
+        model = satSolver.nextModel();
+      } catch (CancellationException e) {
+        complete = false;
+        break;
+      }
     }
 
     long timeMs = System.currentTimeMillis() - beforeMs;
@@ -73,6 +114,9 @@ public class SATCommand extends Command {
           GRAY
               + "(List of models could be incomplete since maximum number of models is restricted)"
               + RESET);
+    } else if (!complete) {
+      System.out.println(
+          GRAY + "(List of models could be incomplete since the solver gave up)" + RESET);
     }
     System.out.println();
 
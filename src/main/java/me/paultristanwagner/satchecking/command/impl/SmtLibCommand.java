@@ -2,6 +2,7 @@ package me.paultristanwagner.satchecking.command.impl;
 
 import me.paultristanwagner.satchecking.AnsiColor;
 import me.paultristanwagner.satchecking.command.Command;
+import me.paultristanwagner.satchecking.parse.Decompression;
 import me.paultristanwagner.satchecking.parse.SmtLibParser;
 import me.paultristanwagner.satchecking.parse.SmtLibParser.SmtLibScript;
 import me.paultristanwagner.satchecking.parse.SyntaxError;
@@ -45,8 +46,11 @@ public class SmtLibCommand extends Command {
                   (and/or/not/=>/xor/ite over equality atoms, incl. negation/distinct).
                 - arithmetic logics (QF_LRA, QF_LIA): CNF fragment of positive atoms only.
 
+              Files may be compressed with gzip, xz or bzip2.
+
               Examples:
                 smtlib problem.smt2
+                smtlib problem.smt2.gz
                 smtlib (set-logic QF_LRA)(declare-const x Real)(assert (<= x 5))(check-sat)
             """);
   }
@@ -63,7 +67,7 @@ public class SmtLibCommand extends Command {
     Path path = pathOrNull(joined);
     if (path != null) {
       try {
-        script = Files.readString(path);
+        script = Decompression.readString(path);
       } catch (IOException e) {
         System.out.printf("%sCould not read file '%s': %s%s%n", RED, joined, e.getMessage(), RESET);
         return true;
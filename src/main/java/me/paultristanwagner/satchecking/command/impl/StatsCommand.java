@@ -0,0 +1,59 @@
+package me.paultristanwagner.satchecking.command.impl;
+
+import me.paultristanwagner.satchecking.SolverStatistics;
+import me.paultristanwagner.satchecking.command.Command;
+
+import java.util.List;
+
+import static me.paultristanwagner.satchecking.AnsiColor.GRAY;
+import static me.paultristanwagner.satchecking.AnsiColor.RESET;
+
+public class StatsCommand extends Command {
+
+  public StatsCommand() {
+    super(
+        "stats",
+        List.of("statistics"),
+        "Prints the work done by the solvers since the last reset",
+        "stats [reset]",
+        """
+              The same counters are published over JMX as
+              me.paultristanwagner.satchecking:type=SolverStatistics.
+              Examples:
+                stats
+                stats reset
+            """);
+  }
+
+  @Override
+  public boolean execute(String label, String[] args) {
+    SolverStatistics statistics = SolverStatistics.get();
+    if (args.length == 1 && args[0].equalsIgnoreCase("reset")) {
+      statistics.reset();
+      System.out.println("Statistics reset");
+      System.out.println();
+      return true;
+    } else if (args.length > 0) {
+      return false;
+    }
+
+    System.out.printf(
+        "Decisions: %d, propagations: %d, conflicts: %d, restarts: %d%n",
+        statistics.getDecisions(),
+        statistics.getPropagations(),
+        statistics.getConflicts(),
+        statistics.getRestarts());
+    System.out.printf(
+        "Learned clauses: %d, deleted clauses: %d%n",
+        statistics.getLearnedClauses(), statistics.getDeletedClauses());
+    System.out.printf(
+        "Theory calls: %d, theory time: %d ms%n",
+        statistics.getTheoryCalls(), statistics.getTheoryTimeMillis());
+    System.out.printf(
+        "%s%.1f conflicts per second over %d ms%s%n",
+        GRAY, statistics.getConflictsPerSecond(), statistics.getElapsedMillis(), RESET);
+    System.out.println();
+
+    return true;
+  }
+}
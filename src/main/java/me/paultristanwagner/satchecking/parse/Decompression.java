@@ -0,0 +1,88 @@
+package me.paultristanwagner.satchecking.parse;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.xz.XZCompressorInputStream;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import static java.nio.file.StandardOpenOption.READ;
+
+/**
+ * Opens input files that may be compressed with gzip, xz or bzip2. The format is detected by the
+ * magic bytes at the start of the file, not by its name, and the content is decompressed while it
+ * is read.
+ */
+public final class Decompression {
+
+  private static final int BUFFER_SIZE = 1 << 16;
+
+  private Decompression() {}
+
+  public enum Format {
+    NONE(new byte[0]),
+    GZIP(new byte[] {0x1f, (byte) 0x8b}),
+    XZ(new byte[] {(byte) 0xfd, '7', 'z', 'X', 'Z', 0x00}),
+    BZIP2(new byte[] {'B', 'Z', 'h'});
+
+    private final byte[] magic;
+
+    Format(byte[] magic) {
+      this.magic = magic;
+    }
+
+    private boolean matches(byte[] header, int length) {
+      return length >= magic.length
+          && Arrays.equals(header, 0, magic.length, magic, 0, magic.length);
+    }
+  }
+
+  /** Detects the compression of the file at {@code path} by its first bytes. */
+  public static Format detect(Path path) throws IOException {
+    ByteBuffer header = ByteBuffer.allocate(6);
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      while (header.hasRemaining() && channel.read(header) >= 0) {
+        // read until the header is complete or the file ends
+      }
+    }
+
+    for (Format format : new Format[] {Format.GZIP, Format.XZ, Format.BZIP2}) {
+      if (format.matches(header.array(), header.position())) {
+        return format;
+      }
+    }
+    return Format.NONE;
+  }
+
+  /** Opens the file at {@code path} as a buffered stream of its decompressed content. */
+  public static InputStream open(Path path) throws IOException {
+    Format format = detect(path);
+    InputStream in = new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE);
+    try {
+      return switch (format) {
+        case NONE -> in;
+        case GZIP -> new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE);
+        case XZ -> new BufferedInputStream(new XZCompressorInputStream(in, true), BUFFER_SIZE);
+        case BZIP2 -> new BufferedInputStream(new BZip2CompressorInputStream(in, true), BUFFER_SIZE);
+      };
+    } catch (IOException e) {
+      in.close();
+      throw e;
+    }
+  }
+
+  /** Reads the decompressed content of the file at {@code path} as UTF-8. */
+  public static String readString(Path path) throws IOException {
+    try (InputStream in = open(path)) {
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    }
+  }
+}
@@ -0,0 +1,387 @@
+package me.paultristanwagner.satchecking.parse;
+
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+
+/**
+ * A streaming reader for the DIMACS CNF format that accepts the same files as the {@link
+ * DimacsParser}, with the same warnings and errors, but never holds the file as a {@code String}.
+ *
+ * <p>Files are memory-mapped in windows of up to {@value #WINDOW_SIZE} bytes and parsed byte by
+ * byte. Literals are collected as ints in a reusable buffer and every finished clause is encoded
+ * directly against the variable table of the resulting {@link CNF}. The clauses share one {@code
+ * Literal} object per literal of the table, so the heap holds little more than the encoded clauses.
+ * Files compressed with gzip, xz or bzip2 are recognized by their {@link Decompression magic
+ * bytes} and decoded into a small buffer that is refilled as parsing proceeds.
+ *
+ * <p>A {@link SyntaxError} carries the offending line as its input, so that it can be printed with
+ * context without reading the whole file.
+ */
+public class DimacsReader {
+
+  // A MappedByteBuffer is indexed by int, so larger files are mapped piece by piece
+  private static final long WINDOW_SIZE = 1L << 30;
+
+  // Compressed input is decoded into a buffer of this size
+  private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+  // Bytes of the current line that are kept when the buffer is refilled, for error messages
+  private static final int LINE_CONTEXT = 4096;
+
+  private static final int EOF = -1;
+
+  private FileChannel channel;
+  private ReadableByteChannel stream;
+  private ByteBuffer window;
+  private long windowStart;
+  private long size;
+  private long position;
+
+  private long lineStart;
+  private boolean atLineStart;
+
+  private int numVars;
+  private int numClauses;
+  private boolean headerSeen;
+
+  private VariableTable variables;
+  private int[] variableIndices;
+  private int[] clauseBuffer;
+  private int clauseLength;
+  private List<Clause> clauses;
+
+  /**
+   * Reads the DIMACS file at {@code path}. Files compressed with gzip, xz or bzip2 are decompressed
+   * while they are parsed, plain files are memory-mapped.
+   */
+  public CNF read(Path path) throws IOException {
+    if (Decompression.detect(path) != Decompression.Format.NONE) {
+      try (InputStream in = Decompression.open(path)) {
+        return read(in);
+      }
+    }
+
+    try (FileChannel channel = FileChannel.open(path, READ)) {
+      this.channel = channel;
+      this.window = ByteBuffer.allocate(0);
+      this.size = channel.size();
+      return read();
+    } finally {
+      this.channel = null;
+      this.window = null;
+    }
+  }
+
+  /** Reads DIMACS from {@code in} until its end, without closing it. */
+  public CNF read(InputStream in) throws IOException {
+    this.stream = Channels.newChannel(in);
+    this.window = ByteBuffer.allocate(STREAM_BUFFER_SIZE).limit(0);
+    try {
+      return read();
+    } finally {
+      this.stream = null;
+      this.window = null;
+    }
+  }
+
+  /** Reads DIMACS from the remaining bytes of {@code buffer}. */
+  public CNF read(ByteBuffer buffer) {
+    this.channel = null;
+    this.window = buffer.slice();
+    this.size = window.limit();
+    try {
+      return read();
+    } catch (IOException e) {
+      throw new IllegalStateException("A buffer cannot fail to be read", e);
+    } finally {
+      this.window = null;
+    }
+  }
+
+  private CNF read() throws IOException {
+    windowStart = 0;
+    position = 0;
+    lineStart = 0;
+    atLineStart = true;
+    numVars = -1;
+    numClauses = -1;
+    headerSeen = false;
+    variables = new VariableTable();
+    variableIndices = new int[0];
+    clauseBuffer = new int[16];
+    clauseLength = 0;
+    clauses = new ArrayList<>();
+    boolean inClause = false;
+
+    while (true) {
+      int b = next();
+      if (b == EOF) {
+        break;
+      }
+      if (b == '\n') {
+        atLineStart = true;
+        lineStart = position;
+        continue;
+      }
+      if (isWhitespace(b)) {
+        continue;
+      }
+
+      long tokenStart = position - 1;
+      if (atLineStart) {
+        atLineStart = false;
+
+        // Comment line.
+        if (b == 'c') {
+          skipLine();
+          continue;
+        }
+
+        // End marker that some files append after the last clause.
+        if (b == '%') {
+          break;
+        }
+
+        // Header line.
+        if (b == 'p') {
+          readHeader(tokenStart);
+          continue;
+        }
+      }
+
+      if (!headerSeen) {
+        throw error("Missing 'p cnf' header before clause data", tokenStart);
+      }
+
+      int value = readInteger(b, tokenStart);
+      if (value == 0) {
+        // A lone 0 with no preceding literals is a trailing end marker, not an empty clause
+        if (inClause) {
+          addClause();
+          inClause = false;
+        }
+        continue;
+      }
+
+      inClause = true;
+      int abs = Math.abs(value);
+      if (numVars >= 0 && abs > numVars) {
+        System.err.printf(
+            "Warning: literal %d exceeds declared number of variables (%d)%n", value, numVars);
+      }
+      if (clauseLength == clauseBuffer.length) {
+        clauseBuffer = Arrays.copyOf(clauseBuffer, 2 * clauseLength);
+      }
+      clauseBuffer[clauseLength++] = literal(variableIndex(abs), value < 0);
+    }
+
+    if (!headerSeen) {
+      throw new SyntaxError("Missing 'p cnf' header", "", 0);
+    }
+
+    if (inClause) {
+      throw error("Unexpected end of input: clause not terminated with '0'", position);
+    }
+
+    if (numClauses >= 0 && clauses.size() != numClauses) {
+      System.err.printf("Warning: declared %d clauses but read %d%n", numClauses, clauses.size());
+    }
+
+    CNF cnf = new CNF(clauses, variables);
+    clauses = null;
+    return cnf;
+  }
+
+  private int next() throws IOException {
+    if (position - windowStart >= window.limit() && !refill()) {
+      return EOF;
+    }
+    return window.get((int) (position++ - windowStart)) & 0xff;
+  }
+
+  /** Moves the window past the current position, or returns {@code false} at the end of input. */
+  private boolean refill() throws IOException {
+    if (channel != null) {
+      if (position >= size) {
+        return false;
+      }
+      windowStart = position;
+      long length = Math.min(WINDOW_SIZE, size - position);
+      window = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+      return true;
+    }
+    if (stream == null) {
+      return false;
+    }
+
+    long keepFrom = Math.max(Math.max(lineStart, windowStart), position - LINE_CONTEXT);
+    window.position((int) (keepFrom - windowStart));
+    window.compact();
+    windowStart = keepFrom;
+    int read;
+    do {
+      read = stream.read(window);
+    } while (read == 0);
+    window.flip();
+    return position - windowStart < window.limit();
+  }
+
+  private static boolean isWhitespace(int b) {
+    return b == ' ' || b == '\t' || b == '\r' || b == '\f';
+  }
+
+  private void skipLine() throws IOException {
+    int b;
+    do {
+      b = next();
+    } while (b != EOF && b != '\n');
+    atLineStart = true;
+    lineStart = position;
+  }
+
+  private void readHeader(long start) throws IOException {
+    if (headerSeen) {
+      throw error("Duplicate 'p cnf' header", start);
+    }
+
+    StringBuilder line = new StringBuilder("p");
+    int b;
+    while ((b = next()) != EOF && b != '\n') {
+      line.append((char) b);
+    }
+
+    String[] parts = line.toString().trim().split("\\s+");
+    if (parts.length < 4 || !parts[0].equals("p") || !parts[1].equals("cnf")) {
+      throw error("Malformed DIMACS header, expected 'p cnf <numVars> <numClauses>'", start);
+    }
+
+    numVars = parsePositiveInt(parts[2], "number of variables", start);
+    numClauses = parsePositiveInt(parts[3], "number of clauses", start);
+    headerSeen = true;
+    atLineStart = true;
+    lineStart = position;
+  }
+
+  private int parsePositiveInt(String token, String what, long start) throws IOException {
+    int value;
+    try {
+      value = Integer.parseInt(token);
+    } catch (NumberFormatException e) {
+      throw error("Expected an integer for the " + what + ", got '" + token + "'", start);
+    }
+
+    if (value < 0) {
+      throw error("Expected a non-negative " + what + ", got " + value, start);
+    }
+
+    return value;
+  }
+
+  /** Parses the integer starting with byte {@code first} up to the next whitespace. */
+  private int readInteger(int first, long start) throws IOException {
+    boolean negative = first == '-';
+    int b = negative ? next() : first;
+    long value = 0;
+    int digits = 0;
+    while (b >= '0' && b <= '9') {
+      value = 10 * value + (b - '0');
+      if (value > Integer.MAX_VALUE) {
+        break;
+      }
+      digits++;
+      b = next();
+    }
+
+    if (digits == 0 || value > Integer.MAX_VALUE || (b != EOF && b != '\n' && !isWhitespace(b))) {
+      throw error("Expected an integer in clause data, got '" + token(start) + "'", start);
+    }
+
+    if (b == '\n') {
+      atLineStart = true;
+      lineStart = position;
+    }
+    return negative ? (int) -value : (int) value;
+  }
+
+  /** Returns the index of the variable {@code l<n>} for DIMACS variable {@code n}. */
+  private int variableIndex(int dimacsVariable) {
+    if (dimacsVariable >= variableIndices.length) {
+      int oldLength = variableIndices.length;
+      variableIndices =
+          Arrays.copyOf(variableIndices, Math.max(dimacsVariable + 1, 2 * oldLength));
+      Arrays.fill(variableIndices, oldLength, variableIndices.length, -1);
+    }
+    if (variableIndices[dimacsVariable] == -1) {
+      variableIndices[dimacsVariable] = variables.intern("l" + dimacsVariable);
+    }
+    return variableIndices[dimacsVariable];
+  }
+
+  private void addClause() {
+    clauses.add(variables.decode(Arrays.copyOf(clauseBuffer, clauseLength)));
+    clauseLength = 0;
+  }
+
+  private String token(long start) throws IOException {
+    long lineStart = lineFrom(this.lineStart);
+    String line = line(lineStart);
+    int from = (int) Math.min(start - lineStart, line.length());
+    int to = from;
+    while (to < line.length() && !Character.isWhitespace(line.charAt(to))) {
+      to++;
+    }
+    return line.substring(from, to);
+  }
+
+  private SyntaxError error(String message, long at) throws IOException {
+    long start = lineFrom(Math.min(lineStart, at));
+    return new SyntaxError(message, line(start), (int) Math.min(at - start, Integer.MAX_VALUE));
+  }
+
+  /**
+   * Returns where the line starting at {@code start} can still be read from. Streamed input only
+   * keeps the end of long lines.
+   */
+  private long lineFrom(long start) {
+    return channel != null ? start : Math.max(start, windowStart);
+  }
+
+  /** Reads the line starting at {@code start}, which may lie in an earlier window. */
+  private String line(long start) throws IOException {
+    long end = start;
+    ByteBuffer bytes;
+    if (channel == null) {
+      int from = (int) (start - windowStart);
+      int length = Math.min(window.limit() - from, LINE_CONTEXT);
+      bytes = ByteBuffer.allocate(length);
+      bytes.put(window.duplicate().position(from).limit(from + length));
+    } else {
+      bytes = ByteBuffer.allocate((int) Math.min(size - start, LINE_CONTEXT));
+      while (bytes.hasRemaining() && channel.read(bytes, start + bytes.position()) >= 0) {
+        // read until the buffer is full
+      }
+    }
+    bytes.flip();
+    while (end - start < bytes.limit() && bytes.get((int) (end - start)) != '\n') {
+      end++;
+    }
+    String line = new String(bytes.array(), 0, (int) (end - start), StandardCharsets.US_ASCII);
+    return line.stripTrailing();
+  }
+}
@@ -0,0 +1,61 @@
+package me.paultristanwagner.satchecking.perf;
+
+import me.paultristanwagner.satchecking.builder.generator.BvMultiplicationBuilder;
+import me.paultristanwagner.satchecking.builder.generator.EqDiamondBuilder;
+import me.paultristanwagner.satchecking.builder.generator.InstanceGenerator;
+import me.paultristanwagner.satchecking.builder.generator.ParityChainBuilder;
+import me.paultristanwagner.satchecking.builder.generator.PigeonholeBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomKSatBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomLraBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fixed set of generated instances that the {@link PerformanceGate} measures. Names and
+ * parameters must not change, otherwise the timings of a stored baseline no longer refer to the
+ * same instances.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public final class BenchmarkSuite {
+
+  private BenchmarkSuite() {}
+
+  public static Map<String, InstanceGenerator> instances() {
+    Map<String, InstanceGenerator> instances = new LinkedHashMap<>();
+    for (int seed = 1; seed <= 3; seed++) {
+      instances.put("random-3sat-150-" + seed, new RandomKSatBuilder(150, 639, 3, seed));
+    }
+    instances.put("random-5sat-60-1", new RandomKSatBuilder(60, 1200, 5, 1));
+    instances.put("pigeonhole-7", new PigeonholeBuilder(7));
+    instances.put("parity-40-sat", new ParityChainBuilder(40, true, 1));
+    instances.put("parity-16-unsat", new ParityChainBuilder(16, false, 1));
+    instances.put("eq-diamond-8", new EqDiamondBuilder(8));
+    instances.put("random-lra-8-16", new RandomLraBuilder(8, 16, 1));
+    instances.put("bv-multiplication-16", new BvMultiplicationBuilder(16, 1));
+    return instances;
+  }
+
+  /** Writes every instance of the suite into {@code directory} and returns the written files. */
+  public static List<Path> write(Path directory) throws IOException {
+    Files.createDirectories(directory);
+    List<Path> files = new ArrayList<>();
+    for (Map.Entry<String, InstanceGenerator> entry : instances().entrySet()) {
+      InstanceGenerator generator = entry.getValue();
+      Path file = directory.resolve(entry.getKey() + "." + generator.getFileExtension());
+      try (Writer writer = Files.newBufferedWriter(file)) {
+        generator.write(writer);
+      }
+      files.add(file);
+    }
+    return files;
+  }
+}
@@ -0,0 +1,208 @@
+package me.paultristanwagner.satchecking.perf;
+
+import me.paultristanwagner.satchecking.Config;
+import me.paultristanwagner.satchecking.command.impl.SmtLibCommand;
+import me.paultristanwagner.satchecking.parse.Decompression;
+import me.paultristanwagner.satchecking.parse.DimacsReader;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.preprocess.Preprocessor;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+import static me.paultristanwagner.satchecking.AnsiColor.GRAY;
+import static me.paultristanwagner.satchecking.AnsiColor.GREEN;
+import static me.paultristanwagner.satchecking.AnsiColor.RED;
+import static me.paultristanwagner.satchecking.AnsiColor.RESET;
+
+/**
+ * Solves the instances of the {@link BenchmarkSuite} along the same paths as the {@code dimacs} and
+ * {@code smtlib} commands and compares the median times against a stored baseline. The process
+ * exits with status 1 if an instance got slower than the baseline by more than the threshold, so
+ * that the gate can fail a build.
+ *
+ * <p>The baseline is a properties file that maps instance names to median times in milliseconds.
+ * It is written if it does not exist yet or if {@code --update} is given.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class PerformanceGate {
+
+  private static final String USAGE =
+      "Usage: PerformanceGate [--baseline <file>] [--runs <count>] [--threshold <percent>]"
+          + " [--instances <directory>] [--update]";
+
+  private static final Path DEFAULT_BASELINE = Path.of("perf-baseline.properties");
+  private static final int DEFAULT_RUNS = 5;
+  private static final double DEFAULT_THRESHOLD = 20;
+
+  // Differences below this are timer noise, even if they exceed the threshold
+  private static final double NOISE_FLOOR_MS = 2;
+
+  private final int runs;
+  private final double threshold;
+
+  public PerformanceGate(int runs, double threshold) {
+    if (runs < 1) {
+      throw new IllegalArgumentException("At least one run is required");
+    }
+    this.runs = runs;
+    this.threshold = threshold;
+  }
+
+  public static void main(String[] args) throws IOException {
+    Path baselinePath = DEFAULT_BASELINE;
+    Path instanceDirectory = null;
+    int runs = DEFAULT_RUNS;
+    double threshold = DEFAULT_THRESHOLD;
+    boolean update = false;
+
+    try {
+      for (int i = 0; i < args.length; i++) {
+        switch (args[i]) {
+          case "--baseline" -> baselinePath = Path.of(args[++i]);
+          case "--runs" -> runs = Integer.parseInt(args[++i]);
+          case "--threshold" -> threshold = Double.parseDouble(args[++i]);
+          case "--instances" -> instanceDirectory = Path.of(args[++i]);
+          case "--update" -> update = true;
+          default -> throw new IllegalArgumentException(args[i]);
+        }
+      }
+    } catch (RuntimeException e) {
+      System.err.println(USAGE);
+      System.exit(2);
+      return;
+    }
+
+    if (instanceDirectory == null) {
+      instanceDirectory = Files.createTempDirectory("satchecking-perf");
+    }
+    List<Path> instances = BenchmarkSuite.write(instanceDirectory);
+
+    PerformanceGate gate = new PerformanceGate(runs, threshold);
+    Map<String, Double> medians = gate.measure(instances);
+
+    if (update || !Files.exists(baselinePath)) {
+      writeBaseline(baselinePath, medians);
+      System.out.println("Baseline written to '" + baselinePath + "'");
+      return;
+    }
+
+    Properties baseline = readBaseline(baselinePath);
+    List<String> regressions = gate.compare(baseline, medians);
+    if (!regressions.isEmpty()) {
+      System.out.println(
+          "" + RED + regressions.size() + " instance/s regressed by more than " + threshold + "%" + RESET);
+      System.exit(1);
+    }
+    System.out.println(GREEN + "No regressions" + RESET);
+  }
+
+  /** Returns the median solving time in milliseconds of every instance, keyed by its name. */
+  public Map<String, Double> measure(List<Path> instances) throws IOException {
+    Map<String, Double> medians = new LinkedHashMap<>();
+    for (Path instance : instances) {
+      // The first run warms up the JIT and is not counted
+      solve(instance);
+
+      double[] times = new double[runs];
+      for (int i = 0; i < runs; i++) {
+        long before = System.nanoTime();
+        solve(instance);
+        times[i] = (System.nanoTime() - before) / 1e6;
+      }
+
+      String fileName = instance.getFileName().toString();
+      String name = fileName.substring(0, fileName.lastIndexOf('.'));
+      medians.put(name, median(times));
+      System.out.printf("%s%-24s %10.2f ms%s%n", GRAY, name, medians.get(name), RESET);
+    }
+    return medians;
+  }
+
+  private static void solve(Path instance) throws IOException {
+    if (instance.toString().endsWith(".smt2")) {
+      SmtLibCommand.runScript(Decompression.readString(instance), false);
+      return;
+    }
+
+    CNF cnf = new DimacsReader().read(instance);
+    if (Config.get().preprocessing()) {
+      cnf = new Preprocessor(cnf).preprocess();
+    }
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.load(cnf);
+    solver.nextModel();
+  }
+
+  /**
+   * Compares the medians against the baseline, prints a line per instance and returns the names
+   * of the instances that regressed. Instances that are missing from the baseline are reported but
+   * never fail the gate.
+   */
+  public List<String> compare(Properties baseline, Map<String, Double> medians) {
+    List<String> regressions = new ArrayList<>();
+    for (Map.Entry<String, Double> entry : medians.entrySet()) {
+      String name = entry.getKey();
+      double median = entry.getValue();
+      String stored = baseline.getProperty(name);
+      if (stored == null) {
+        System.out.printf("%-24s %10.2f ms (not in baseline)%n", name, median);
+        continue;
+      }
+
+      double before = Double.parseDouble(stored);
+      double change = before > 0 ? 100 * (median - before) / before : 0;
+      boolean regressed = change > threshold && median - before >= NOISE_FLOOR_MS;
+      if (regressed) {
+        regressions.add(name);
+      }
+      System.out.printf(
+          "%s%-24s %10.2f ms -> %10.2f ms (%+.1f%%)%s%n",
+          regressed ? RED : GREEN, name, before, median, change, RESET);
+    }
+    return regressions;
+  }
+
+  private static double median(double[] values) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int middle = sorted.length / 2;
+    if (sorted.length % 2 == 1) {
+      return sorted[middle];
+    }
+    return (sorted[middle - 1] + sorted[middle]) / 2;
+  }
+
+  public static Properties readBaseline(Path path) throws IOException {
+    Properties baseline = new Properties();
+    try (Reader reader = new FileReader(path.toFile())) {
+      baseline.load(reader);
+    }
+    return baseline;
+  }
+
+  public static void writeBaseline(Path path, Map<String, Double> medians) throws IOException {
+    Properties baseline = new Properties();
+    for (Map.Entry<String, Double> entry : medians.entrySet()) {
+      baseline.setProperty(entry.getKey(), String.format(Locale.ROOT, "%.3f", entry.getValue()));
+    }
+    try (Writer writer = new FileWriter(path.toFile())) {
+      baseline.store(writer, "Median solving times in milliseconds");
+    }
+  }
+}
@@ -4,26 +4,68 @@ import me.paultristanwagner.satchecking.Config;
 
 import java.util.*;
 
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.negate;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
 /**
+ * An assignment of the variables of a {@link VariableTable}, organized as a trail. The trail holds
+ * the true int literals in the order in which they were assigned, and every decision level starts
+ * at a recorded trail position with its decision literal. Values are stored per literal, levels and
+ * reasons per variable. A reason is a clause reference of the solver that propagated the literal,
+ * or {@link #NO_REASON} for decisions.
+ *
+ * <p>Literals may be propagated on a level below the current one, for example when the solver
+ * backtracks chronologically. Such out-of-order literals stay on the trail when the levels above
+ * theirs are undone.
+ *
  * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
  * @version 1.0
  */
 public class Assignment {
 
+  public static final int NO_REASON = -1;
+
+  private static final byte UNASSIGNED = 0;
+  private static final byte TRUE = 1;
+  private static final byte FALSE = -1;
+
+  protected VariableTable variables;
+  protected byte[] literalValues;
+  protected int[] levels;
+  protected int[] reasons;
+  protected int[] trail;
+  protected int trailSize;
+  protected int[] levelStarts;
+  protected boolean[] flippedLevels;
   protected int decisionLevel;
-  protected Stack<List<LiteralAssignment>> decisionLevels;
-  protected Map<String, LiteralAssignment> literalAssignments;
-  protected Map<String, Integer> literalAssignmentLevel;
 
   public Assignment() {
-    decisionLevel = 0;
-    decisionLevels = new Stack<>();
-    decisionLevels.add(new ArrayList<>());
-    literalAssignments = new HashMap<>();
-    literalAssignmentLevel = new HashMap<>();
+    this(new VariableTable());
+  }
+
+  public Assignment(VariableTable variables) {
+    this.variables = variables;
+    int capacity = Math.max(16, variables.size());
+    this.literalValues = new byte[2 * capacity];
+    this.levels = new int[capacity];
+    this.reasons = new int[capacity];
+    this.trail = new int[capacity];
+    this.trailSize = 0;
+    this.levelStarts = new int[capacity + 1];
+    this.flippedLevels = new boolean[capacity + 1];
+    this.decisionLevel = 0;
+
+    // Level 0 has no decision that could be flipped
+    this.flippedLevels[0] = true;
   }
 
   public boolean fits(CNF cnf) {
+    if (cnf.getVariableTable() == variables) {
+      return trailSize == variables.size();
+    }
+
     List<Literal> literals = cnf.getLiterals();
     for (Literal literal : literals) {
       if (!assigns(literal)) {
@@ -34,93 +76,204 @@ public class Assignment {
   }
 
   public boolean assigns(Literal literal) {
-    return literalAssignments.containsKey(literal.getName());
+    int variable = variables.indexOf(literal.getName());
+    return variable != -1 && assigns(variable);
+  }
+
+  public boolean assigns(int variable) {
+    int literal = literal(variable, false);
+    return literal < literalValues.length && literalValues[literal] != UNASSIGNED;
   }
 
   public boolean getValue(String literalName) {
-    return literalAssignments.get(literalName).getValue();
+    return getValue(variables.indexOf(literalName));
+  }
+
+  public boolean getValue(int variable) {
+    return literalValues[literal(variable, false)] == TRUE;
   }
 
   public void assign(Literal literal, boolean value) {
-    List<LiteralAssignment> dl = new ArrayList<>();
-    LiteralAssignment la = new LiteralAssignment(literal.getName(), value, false, null);
-    dl.add(la);
-    decisionLevels.push(dl);
+    assign(variables.intern(literal.getName()), value);
+  }
+
+  /** Opens a new decision level on which {@code variable} is assigned to {@code value}. */
+  public void assign(int variable, boolean value) {
+    ensureCapacity(variable);
     decisionLevel++;
-    literalAssignments.put(literal.getName(), la);
-    literalAssignmentLevel.put(literal.getName(), decisionLevel);
+    levelStarts[decisionLevel] = trailSize;
+    flippedLevels[decisionLevel] = false;
+    set(literal(variable, !value), NO_REASON);
+  }
+
+  public void propagate(Literal literal) {
+    propagate(variables.encode(literal), NO_REASON);
+  }
+
+  /** Assigns the int literal {@code literal} to true on the current decision level. */
+  public void propagate(int literal, int reason) {
+    propagate(literal, reason, decisionLevel);
+  }
+
+  /**
+   * Assigns the int literal {@code literal} to true on {@code level}, which must not be above the
+   * current decision level.
+   */
+  public void propagate(int literal, int reason, int level) {
+    ensureCapacity(variable(literal));
+    set(literal, reason, level);
+  }
+
+  private void set(int literal, int reason) {
+    set(literal, reason, decisionLevel);
   }
 
-  public void propagate(Literal literal, Clause antecedent) {
-    List<LiteralAssignment> dl = decisionLevels.peek();
-    LiteralAssignment la =
-        new LiteralAssignment(literal.getName(), !literal.isNegated(), true, antecedent);
-    dl.add(la);
-    literalAssignments.put(literal.getName(), la);
-    literalAssignmentLevel.put(literal.getName(), decisionLevel);
+  private void set(int literal, int reason, int level) {
+    int variable = variable(literal);
+    literalValues[literal] = TRUE;
+    literalValues[negate(literal)] = FALSE;
+    levels[variable] = level;
+    reasons[variable] = reason;
+    trail[trailSize++] = literal;
+  }
+
+  private void ensureCapacity(int variable) {
+    if (variable < levels.length) {
+      return;
+    }
+
+    int capacity = Math.max(variable + 1, levels.length * 2);
+    literalValues = Arrays.copyOf(literalValues, 2 * capacity);
+    levels = Arrays.copyOf(levels, capacity);
+    reasons = Arrays.copyOf(reasons, capacity);
+    trail = Arrays.copyOf(trail, capacity);
+    levelStarts = Arrays.copyOf(levelStarts, capacity + 1);
+    flippedLevels = Arrays.copyOf(flippedLevels, capacity + 1);
   }
 
   public boolean isEmpty() {
-    return literalAssignments.isEmpty();
+    return trailSize == 0;
   }
 
   public LiteralAssignment getLastDecision() {
-    return decisionLevels.peek().get(0);
+    return view(getLevelStart(decisionLevel));
   }
 
-  public LiteralAssignment getLastAssignmentOnCurrentLevel(Clause clause) {
-    List<LiteralAssignment> assignmentsOnCurrentLevel = getAssignmentsOnCurrentLevel();
-    for (int i = assignmentsOnCurrentLevel.size() - 1; i >= 0; i--) {
-      LiteralAssignment literalAssignment = assignmentsOnCurrentLevel.get(i);
-      if (clause.contains(literalAssignment.getLiteralName())) {
-        return literalAssignment;
-      }
-    }
+  /** Whether the decision of the current level was already flipped by {@link #flipLastDecision()}. */
+  public boolean isLastDecisionFlipped() {
+    return flippedLevels[decisionLevel];
+  }
 
-    throw new IllegalStateException("Clause has no literal assigned on the current level");
+  /**
+   * Assigns the decision variable of the current level to the opposite value. All propagations of
+   * the level have to be undone before.
+   */
+  public void flipLastDecision() {
+    int position = levelStarts[decisionLevel];
+    int literal = negate(trail[position]);
+    literalValues[literal] = TRUE;
+    literalValues[negate(literal)] = FALSE;
+    trail[position] = literal;
+    flippedLevels[decisionLevel] = true;
   }
 
   public int getAssignmentLevelOf(Literal literal) {
-    return literalAssignmentLevel.getOrDefault(literal.getName(), -1);
+    int variable = variables.indexOf(literal.getName());
+    return variable == -1 ? -1 : getAssignmentLevelOf(variable);
+  }
+
+  public int getAssignmentLevelOf(int variable) {
+    return assigns(variable) ? levels[variable] : -1;
+  }
+
+  public int getReason(int variable) {
+    return reasons[variable];
+  }
+
+  /** Replaces the reason of an assigned variable, for example after clause references moved. */
+  public void setReason(int variable, int reason) {
+    reasons[variable] = reason;
+  }
+
+  public int getTrailSize() {
+    return trailSize;
+  }
+
+  /** Returns the true int literal at position {@code index} of the trail. */
+  public int getTrailLiteral(int index) {
+    return trail[index];
+  }
+
+  /** Returns the trail position at which {@code level} starts. */
+  public int getLevelStart(int level) {
+    return level == 0 ? 0 : levelStarts[level];
   }
 
   public Clause not() {
     List<Literal> literals = new ArrayList<>();
-    for (int i = 1; i < decisionLevels.size(); i++) {
-      List<LiteralAssignment> level = decisionLevels.get(i);
-      LiteralAssignment la = level.get(0);
-      literals.add(new Literal(la.getLiteralName(), la.getValue()));
+    for (int level = 1; level <= decisionLevel; level++) {
+      int literal = trail[levelStarts[level]];
+      literals.add(new Literal(variables.getName(variable(literal)), !isNegated(literal)));
     }
 
     return new Clause(literals);
   }
 
-  public void undoLastDecision() {
-    List<LiteralAssignment> dl = decisionLevels.peek();
-    while (!dl.isEmpty()) {
-      LiteralAssignment la = dl.get(dl.size() - 1);
-      dl.remove(dl.size() - 1);
-      literalAssignments.remove(la.getLiteralName());
-      literalAssignmentLevel.remove(la.getLiteralName());
+  /**
+   * Undoes all assignments above {@code level}. Literals on {@code level} or below that were
+   * assigned after a higher level had started stay assigned, in their order on the trail.
+   */
+  public void backtrack(int level) {
+    if (level >= decisionLevel) {
+      return;
+    }
+
+    int kept = levelStarts[level + 1];
+    for (int i = kept; i < trailSize; i++) {
+      int literal = trail[i];
+      if (levels[variable(literal)] <= level) {
+        trail[kept++] = literal;
+      } else {
+        literalValues[literal] = UNASSIGNED;
+        literalValues[negate(literal)] = UNASSIGNED;
+      }
     }
-    decisionLevels.pop();
-    decisionLevel--;
+    trailSize = kept;
+    decisionLevel = level;
+  }
+
+  public void undoLastDecision() {
+    unassignFrom(getLevelStart(decisionLevel));
+    decisionLevel = Math.max(0, decisionLevel - 1);
   }
 
   public void undoPropagations() {
-    List<LiteralAssignment> dl = decisionLevels.peek();
-    while (dl.size() > 1) {
-      LiteralAssignment la = dl.get(dl.size() - 1);
-      dl.remove(dl.size() - 1);
-      literalAssignments.remove(la.getLiteralName());
-      literalAssignmentLevel.remove(la.getLiteralName());
+    unassignFrom(decisionLevel == 0 ? 0 : levelStarts[decisionLevel] + 1);
+  }
+
+  private void unassignFrom(int position) {
+    for (int i = trailSize - 1; i >= position; i--) {
+      int literal = trail[i];
+      literalValues[literal] = UNASSIGNED;
+      literalValues[negate(literal)] = UNASSIGNED;
     }
+    trailSize = Math.min(trailSize, position);
   }
 
   public boolean evaluate(Literal literal) {
     return getValue(literal.getName()) ^ literal.isNegated();
   }
 
+  /** Returns whether the int literal {@code literal} is assigned and true. */
+  public boolean isTrue(int literal) {
+    return literal < literalValues.length && literalValues[literal] == TRUE;
+  }
+
+  /** Returns whether the int literal {@code literal} is assigned and false. */
+  public boolean isFalse(int literal) {
+    return literal < literalValues.length && literalValues[literal] == FALSE;
+  }
+
   public boolean evaluate(Clause clause) {
     for (Literal literal : clause.getLiterals()) {
       if (evaluate(literal)) {
@@ -139,8 +292,50 @@ public class Assignment {
     return true;
   }
 
+  /** Returns a snapshot of the assignments of the current decision level in trail order. */
   public List<LiteralAssignment> getAssignmentsOnCurrentLevel() {
-    return decisionLevels.peek();
+    return views(getLevelStart(decisionLevel), trailSize);
+  }
+
+  private List<LiteralAssignment> views(int from, int to) {
+    List<LiteralAssignment> las = new ArrayList<>();
+    for (int i = from; i < to; i++) {
+      las.add(view(i));
+    }
+    return las;
+  }
+
+  private LiteralAssignment view(int position) {
+    int literal = trail[position];
+    int variable = variable(literal);
+    int level = levels[variable];
+    boolean decision = level > 0 && levelStarts[level] == position;
+    return new LiteralAssignment(
+        variable,
+        variables.getName(variable),
+        !isNegated(literal),
+        !decision || flippedLevels[level],
+        reasons[variable]);
+  }
+
+  /**
+   * Returns the assignments of the variables with the given names on decision level 0, for example
+   * to print a model projected onto them.
+   */
+  public Assignment project(Collection<String> variableNames) {
+    Set<String> names = new HashSet<>(variableNames);
+    Assignment projection = new Assignment(variables);
+    for (int i = 0; i < trailSize; i++) {
+      int literal = trail[i];
+      if (names.contains(variables.getName(variable(literal)))) {
+        projection.propagate(literal, NO_REASON);
+      }
+    }
+    return projection;
+  }
+
+  public VariableTable getVariableTable() {
+    return variables;
   }
 
   @Override
@@ -152,7 +347,7 @@ public class Assignment {
     StringBuilder sb = new StringBuilder();
 
     boolean anyTrue = false;
-    List<LiteralAssignment> las = new ArrayList<>(literalAssignments.values());
+    List<LiteralAssignment> las = views(0, trailSize);
     las.sort(Comparator.comparing(LiteralAssignment::getLiteralName));
     for (LiteralAssignment la : las) {
       if (Config.get().reducedAssignments()) {
@@ -177,28 +372,22 @@ public class Assignment {
   }
 
   public List<Literal> getTrueLiterals() {
-    // todo: proof of concept
-    List<Literal> trueLiterals = new ArrayList<>();
-    this.literalAssignments.forEach(
-        (name, la) -> {
-          if (la.getValue()) {
-            trueLiterals.add(new Literal(name, false));
-          }
-        });
-
-    return trueLiterals;
+    return getTrueLiterals(0);
   }
 
-  // todo: Proof of concept
   public List<Literal> getTrueLiteralsOnCurrentLevel() {
-    List<Literal> result = new ArrayList<>();
-    List<LiteralAssignment> assignmentsOnCurrentLevel = getAssignmentsOnCurrentLevel();
-    for (LiteralAssignment literalAssignment : assignmentsOnCurrentLevel) {
-      if (literalAssignment.getValue()) {
-        result.add(new Literal(literalAssignment.getLiteralName()));
+    return getTrueLiterals(getLevelStart(decisionLevel));
+  }
+
+  private List<Literal> getTrueLiterals(int from) {
+    List<Literal> trueLiterals = new ArrayList<>();
+    for (int i = from; i < trailSize; i++) {
+      int literal = trail[i];
+      if (!isNegated(literal)) {
+        trueLiterals.add(new Literal(variables.getName(variable(literal))));
       }
     }
 
-    return result;
+    return trueLiterals;
   }
 }
@@ -20,28 +20,42 @@ public class CNF {
   private final List<Clause> clauses;
   private final List<Literal> orderedLiterals;
   private final Set<Literal> literals;
+  private final VariableTable variables;
 
   public CNF(List<Clause> clauses) {
+    this(clauses, new VariableTable());
+  }
+
+  /**
+   * Creates a CNF over the given variable table, which may already know the variables of the
+   * clauses. Clauses that were decoded by the table keep their cached encoding.
+   */
+  public CNF(List<Clause> clauses, VariableTable variables) {
     this.initialClauses = new ArrayList<>(clauses);
-    this.clauses = clauses;
+    this.clauses = new ArrayList<>(clauses);
     this.orderedLiterals = new ArrayList<>();
     this.literals = new HashSet<>();
+    this.variables = variables;
 
     for (Clause clause : clauses) {
-      for (Literal literal : clause.getLiterals()) {
-        if (!literals.contains(literal)) {
-          literals.add(literal);
-          orderedLiterals.add(literal);
-        }
-      }
+      addLiterals(clause);
+      clause.encode(variables);
     }
   }
 
+  /**
+   * Adds a clause that is implied by the problem, for example a theory lemma. Clauses learned by
+   * conflict analysis are kept by the solver and never added here.
+   */
   public void learnClause(Clause clause) {
     clauses.add(clause);
+    addLiterals(clause);
+    clause.encode(variables);
+  }
 
+  private void addLiterals(Clause clause) {
     for (Literal literal : clause.getLiterals()) {
-      if (!orderedLiterals.contains(literal)) {
+      if (literals.add(literal)) {
         orderedLiterals.add(literal);
       }
     }
@@ -55,6 +69,10 @@ public class CNF {
     return orderedLiterals;
   }
 
+  public VariableTable getVariableTable() {
+    return variables;
+  }
+
   /*
      Grammar:
      S -> ( D ) & S
@@ -10,10 +10,19 @@ public class Clause {
 
   private final List<Literal> literals;
 
+  private VariableTable encodingTable;
+  private int[] encoding;
+
   public Clause(List<Literal> literals) {
     this.literals = literals;
   }
 
+  Clause(List<Literal> literals, VariableTable encodingTable, int[] encoding) {
+    this.literals = literals;
+    this.encodingTable = encodingTable;
+    this.encoding = encoding;
+  }
+
   public static Clause parse(String string) {
     CNF cnf = CNF.parse("(" + string + ")");
     return cnf.getClauses().stream().findFirst().get();
@@ -23,6 +32,18 @@ public class Clause {
     return literals;
   }
 
+  /**
+   * Returns the int literals of this clause with respect to the given variable table. The encoding
+   * is computed once per table and cached, so solvers can ask for it on every visit.
+   */
+  public int[] encode(VariableTable table) {
+    if (encodingTable != table) {
+      encoding = table.encode(this);
+      encodingTable = table;
+    }
+    return encoding;
+  }
+
   public boolean contains(String literalName) {
     for (Literal literal : literals) {
       if (literal.getName().equals(literalName)) {
@@ -0,0 +1,210 @@
+package me.paultristanwagner.satchecking.sat;
+
+import java.util.Arrays;
+
+/**
+ * Stores clauses contiguously in a single {@code int[]}. A clause is addressed by a clause
+ * reference, which is the offset of its header in the arena. The header holds the number of
+ * literals, a flag word, the LBD and the activity of the clause, followed by the int literals of
+ * the clause (see {@link VariableTable}). LBD, activity, tier and the used flag are only maintained
+ * for learned clauses.
+ *
+ * <p>Solvers may reorder the literals of a clause in place (for example to keep the watched
+ * literals at positions 0 and 1), but the length of a clause never changes after it was added.
+ * Deleted clauses keep occupying their space until the arena is {@link #compact() compacted}.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class ClauseArena {
+
+  public static final int NO_CLAUSE = Assignment.NO_REASON;
+  public static final int HEADER_SIZE = 4;
+
+  public static final int CORE_TIER = 0;
+  public static final int TIER2 = 1;
+  public static final int LOCAL_TIER = 2;
+
+  private static final int SIZE_OFFSET = 0;
+  private static final int FLAGS_OFFSET = 1;
+  private static final int LBD_OFFSET = 2;
+  private static final int ACTIVITY_OFFSET = 3;
+
+  private static final int LEARNED_FLAG = 1;
+  private static final int DELETED_FLAG = 1 << 1;
+  private static final int USED_FLAG = 1 << 2;
+  private static final int TIER_SHIFT = 3;
+  private static final int TIER_MASK = 3 << TIER_SHIFT;
+  private static final int VIVIFIED_FLAG = 1 << 5;
+
+  private int[] data;
+  private int size;
+  private int wasted;
+
+  public ClauseArena() {
+    this(1024);
+  }
+
+  public ClauseArena(int capacity) {
+    this.data = new int[Math.max(capacity, HEADER_SIZE)];
+    this.size = 0;
+  }
+
+  /** Copies the first {@code length} literals of {@code literals} into the arena. */
+  public int add(int[] literals, int length, boolean learned) {
+    ensureCapacity(size + HEADER_SIZE + length);
+
+    int ref = size;
+    data[ref + SIZE_OFFSET] = length;
+    data[ref + FLAGS_OFFSET] = learned ? LEARNED_FLAG : 0;
+    data[ref + LBD_OFFSET] = 0;
+    data[ref + ACTIVITY_OFFSET] = Float.floatToRawIntBits(0f);
+    System.arraycopy(literals, 0, data, ref + HEADER_SIZE, length);
+    size += HEADER_SIZE + length;
+    return ref;
+  }
+
+  private void ensureCapacity(int capacity) {
+    if (capacity <= data.length) {
+      return;
+    }
+
+    data = Arrays.copyOf(data, Math.max(capacity, data.length * 2));
+  }
+
+  public int size(int ref) {
+    return data[ref + SIZE_OFFSET];
+  }
+
+  public int literal(int ref, int index) {
+    return data[ref + HEADER_SIZE + index];
+  }
+
+  public void setLiteral(int ref, int index, int literal) {
+    data[ref + HEADER_SIZE + index] = literal;
+  }
+
+  public void swapLiterals(int ref, int i, int j) {
+    int offset = ref + HEADER_SIZE;
+    int tmp = data[offset + i];
+    data[offset + i] = data[offset + j];
+    data[offset + j] = tmp;
+  }
+
+  public boolean isLearned(int ref) {
+    return (data[ref + FLAGS_OFFSET] & LEARNED_FLAG) != 0;
+  }
+
+  public boolean isDeleted(int ref) {
+    return (data[ref + FLAGS_OFFSET] & DELETED_FLAG) != 0;
+  }
+
+  /** Marks the clause as deleted. The caller is responsible for detaching its watches. */
+  public void delete(int ref) {
+    if (isDeleted(ref)) {
+      return;
+    }
+    data[ref + FLAGS_OFFSET] |= DELETED_FLAG;
+    wasted += HEADER_SIZE + size(ref);
+  }
+
+  public boolean isUsed(int ref) {
+    return (data[ref + FLAGS_OFFSET] & USED_FLAG) != 0;
+  }
+
+  public void setUsed(int ref, boolean used) {
+    if (used) {
+      data[ref + FLAGS_OFFSET] |= USED_FLAG;
+    } else {
+      data[ref + FLAGS_OFFSET] &= ~USED_FLAG;
+    }
+  }
+
+  /** Whether the clause was already vivified by inprocessing. */
+  public boolean isVivified(int ref) {
+    return (data[ref + FLAGS_OFFSET] & VIVIFIED_FLAG) != 0;
+  }
+
+  public void setVivified(int ref) {
+    data[ref + FLAGS_OFFSET] |= VIVIFIED_FLAG;
+  }
+
+  public int getTier(int ref) {
+    return (data[ref + FLAGS_OFFSET] & TIER_MASK) >> TIER_SHIFT;
+  }
+
+  public void setTier(int ref, int tier) {
+    data[ref + FLAGS_OFFSET] = (data[ref + FLAGS_OFFSET] & ~TIER_MASK) | (tier << TIER_SHIFT);
+  }
+
+  public int getLbd(int ref) {
+    return data[ref + LBD_OFFSET];
+  }
+
+  public void setLbd(int ref, int lbd) {
+    data[ref + LBD_OFFSET] = lbd;
+  }
+
+  public float getActivity(int ref) {
+    return Float.intBitsToFloat(data[ref + ACTIVITY_OFFSET]);
+  }
+
+  public void setActivity(int ref, float activity) {
+    data[ref + ACTIVITY_OFFSET] = Float.floatToRawIntBits(activity);
+  }
+
+  public int[] getLiterals(int ref) {
+    int offset = ref + HEADER_SIZE;
+    return Arrays.copyOfRange(data, offset, offset + data[ref + SIZE_OFFSET]);
+  }
+
+  /**
+   * Returns the backing array for tight loops. The array is replaced whenever the arena grows, so it
+   * must not be held across calls to {@link #add(int[], int, boolean)}.
+   */
+  public int[] getData() {
+    return data;
+  }
+
+  /** Returns the number of {@code int}s in use, headers included. */
+  public int getSize() {
+    return size;
+  }
+
+  /** Returns the number of {@code int}s occupied by deleted clauses. */
+  public int getWasted() {
+    return wasted;
+  }
+
+  /** Returns the reference of the clause stored after {@code ref}. */
+  public int next(int ref) {
+    return ref + HEADER_SIZE + size(ref);
+  }
+
+  /**
+   * Copies all clauses that are not deleted into a new arena, keeping their order. Afterwards this
+   * arena must only be used to translate old clause references with {@link #forward(int)}.
+   */
+  public ClauseArena compact() {
+    ClauseArena compacted = new ClauseArena(size - wasted);
+    for (int ref = 0; ref < size; ref = next(ref)) {
+      int length = HEADER_SIZE + size(ref);
+      int newRef = NO_CLAUSE;
+      if (!isDeleted(ref)) {
+        newRef = compacted.size;
+        System.arraycopy(data, ref, compacted.data, newRef, length);
+        compacted.size += length;
+      }
+      data[ref + ACTIVITY_OFFSET] = newRef;
+    }
+    return compacted;
+  }
+
+  /**
+   * Returns the reference a clause of this arena has in the arena returned by {@link #compact()},
+   * or {@code NO_CLAUSE} if the clause was deleted.
+   */
+  public int forward(int ref) {
+    return data[ref + ACTIVITY_OFFSET];
+  }
+}
@@ -1,22 +1,35 @@
 package me.paultristanwagner.satchecking.sat;
 
 /**
+ * A read-only view of one entry of the trail of an {@link Assignment}.
+ *
  * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
  * @version 1.0
  */
 public class LiteralAssignment {
 
+  private final int variable;
   private final String literalName;
-  private boolean value;
-  private boolean previouslyAssigned;
-  private Clause antecedent;
+  private final boolean value;
+  private final boolean previouslyAssigned;
+  private final int reason;
 
   public LiteralAssignment(
-      String literalName, boolean value, boolean previouslyAssigned, Clause antecedent) {
+      int variable, String literalName, boolean value, boolean previouslyAssigned, int reason) {
+    this.variable = variable;
     this.literalName = literalName;
     this.value = value;
     this.previouslyAssigned = previouslyAssigned;
-    this.antecedent = antecedent;
+    this.reason = reason;
+  }
+
+  public int getVariable() {
+    return variable;
+  }
+
+  /** Returns the int literal that this assignment makes true. */
+  public int getLiteral() {
+    return VariableTable.literal(variable, !value);
   }
 
   public String getLiteralName() {
@@ -27,24 +40,13 @@ public class LiteralAssignment {
     return value;
   }
 
+  /** Whether this is a propagation or a decision whose other value was already tried. */
   public boolean wasPreviouslyAssigned() {
     return previouslyAssigned;
   }
 
-  public boolean toggleValue() {
-    this.value = !value;
-    return value;
-  }
-
-  public void setPreviouslyAssigned() {
-    this.previouslyAssigned = true;
-  }
-
-  public void setAntecedent(Clause antecedent) {
-    this.antecedent = antecedent;
-  }
-
-  public Clause getAntecedent() {
-    return antecedent;
+  /** Returns the clause reference of the antecedent, or {@link Assignment#NO_REASON}. */
+  public int getReason() {
+    return reason;
   }
 }
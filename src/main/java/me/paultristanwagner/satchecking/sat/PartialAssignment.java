@@ -9,10 +9,15 @@ public class PartialAssignment extends Assignment {
   private boolean complete;
 
   public PartialAssignment(Assignment other) {
+    this.variables = other.variables;
+    this.literalValues = other.literalValues;
+    this.levels = other.levels;
+    this.reasons = other.reasons;
+    this.trail = other.trail;
+    this.trailSize = other.trailSize;
+    this.levelStarts = other.levelStarts;
+    this.flippedLevels = other.flippedLevels;
     this.decisionLevel = other.decisionLevel;
-    this.decisionLevels = other.decisionLevels;
-    this.literalAssignments = other.literalAssignments;
-    this.literalAssignmentLevel = other.literalAssignmentLevel;
 
     complete = false;
   }
@@ -0,0 +1,114 @@
+package me.paultristanwagner.satchecking.sat;
+
+import java.util.Arrays;
+
+/**
+ * An indexed binary max-heap of variables ordered by an external activity array. Every variable is
+ * contained at most once; its position in the heap is tracked so that it can be moved up in {@code
+ * O(log n)} when its activity increases.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class VariableHeap {
+
+  private double[] activity;
+  private int[] heap;
+  private int[] positions;
+  private int size;
+
+  public VariableHeap(double[] activity) {
+    this.activity = activity;
+    this.heap = new int[activity.length];
+    this.positions = new int[activity.length];
+    Arrays.fill(positions, -1);
+    this.size = 0;
+  }
+
+  /** Replaces the activity array, for example after it was grown. */
+  public void setActivity(double[] activity) {
+    this.activity = activity;
+    if (positions.length < activity.length) {
+      int oldLength = positions.length;
+      heap = Arrays.copyOf(heap, activity.length);
+      positions = Arrays.copyOf(positions, activity.length);
+      Arrays.fill(positions, oldLength, positions.length, -1);
+    }
+  }
+
+  public boolean contains(int variable) {
+    return positions[variable] != -1;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public void insert(int variable) {
+    if (contains(variable)) {
+      return;
+    }
+
+    heap[size] = variable;
+    positions[variable] = size;
+    size++;
+    siftUp(size - 1);
+  }
+
+  public int removeMax() {
+    int max = heap[0];
+    positions[max] = -1;
+    size--;
+    if (size > 0) {
+      heap[0] = heap[size];
+      positions[heap[0]] = 0;
+      siftDown(0);
+    }
+    return max;
+  }
+
+  /** Restores the heap property after the activity of {@code variable} has increased. */
+  public void increased(int variable) {
+    if (contains(variable)) {
+      siftUp(positions[variable]);
+    }
+  }
+
+  private void siftUp(int position) {
+    int variable = heap[position];
+    while (position > 0) {
+      int parentPosition = (position - 1) >> 1;
+      int parent = heap[parentPosition];
+      if (activity[parent] >= activity[variable]) {
+        break;
+      }
+      heap[position] = parent;
+      positions[parent] = position;
+      position = parentPosition;
+    }
+    heap[position] = variable;
+    positions[variable] = position;
+  }
+
+  private void siftDown(int position) {
+    int variable = heap[position];
+    while (true) {
+      int childPosition = 2 * position + 1;
+      if (childPosition >= size) {
+        break;
+      }
+      if (childPosition + 1 < size && activity[heap[childPosition + 1]] > activity[heap[childPosition]]) {
+        childPosition++;
+      }
+      int child = heap[childPosition];
+      if (activity[child] <= activity[variable]) {
+        break;
+      }
+      heap[position] = child;
+      positions[child] = position;
+      position = childPosition;
+    }
+    heap[position] = variable;
+    positions[variable] = position;
+  }
+}
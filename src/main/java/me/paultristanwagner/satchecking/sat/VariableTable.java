@@ -0,0 +1,112 @@
+package me.paultristanwagner.satchecking.sat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps literal names to dense variable indices {@code 0..size()-1}.
+ *
+ * <p>Names are interned once when a {@link CNF} is loaded; from then on the solvers work on int
+ * literals only. A literal of variable {@code v} is encoded as {@code 2 * v} if it is positive and
+ * {@code 2 * v + 1} if it is negated, so the negation of a literal is {@code literal ^ 1} and
+ * per-literal data can live in arrays of length {@code 2 * size()}. Names are only looked up again
+ * when a model is printed or queried by name.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class VariableTable {
+
+  private final Map<String, Integer> indices;
+  private final List<String> names;
+
+  // Decoded literals are immutable, so every literal of the table is decoded to the same object
+  private Literal[] decodedLiterals;
+
+  public VariableTable() {
+    this.indices = new HashMap<>();
+    this.names = new ArrayList<>();
+    this.decodedLiterals = new Literal[0];
+  }
+
+  /**
+   * Returns the index of the variable with the given name, registering it if it is not known yet.
+   */
+  public int intern(String name) {
+    Integer index = indices.get(name);
+    if (index != null) {
+      return index;
+    }
+
+    int newIndex = names.size();
+    indices.put(name, newIndex);
+    names.add(name);
+    return newIndex;
+  }
+
+  /** Returns the index of the variable with the given name or {@code -1} if it is unknown. */
+  public int indexOf(String name) {
+    Integer index = indices.get(name);
+    return index == null ? -1 : index;
+  }
+
+  public String getName(int variable) {
+    return names.get(variable);
+  }
+
+  public int size() {
+    return names.size();
+  }
+
+  public int encode(Literal literal) {
+    return literal(intern(literal.getName()), literal.isNegated());
+  }
+
+  public int[] encode(Clause clause) {
+    List<Literal> literals = clause.getLiterals();
+    int[] encoded = new int[literals.size()];
+    for (int i = 0; i < encoded.length; i++) {
+      encoded[i] = encode(literals.get(i));
+    }
+    return encoded;
+  }
+
+  public Literal decode(int literal) {
+    if (literal >= decodedLiterals.length) {
+      decodedLiterals = Arrays.copyOf(decodedLiterals, Math.max(literal + 1, 2 * decodedLiterals.length));
+    }
+    Literal decoded = decodedLiterals[literal];
+    if (decoded == null) {
+      decoded = new Literal(names.get(variable(literal)), isNegated(literal));
+      decodedLiterals[literal] = decoded;
+    }
+    return decoded;
+  }
+
+  public Clause decode(int[] literals) {
+    List<Literal> decoded = new ArrayList<>(literals.length);
+    for (int literal : literals) {
+      decoded.add(decode(literal));
+    }
+    return new Clause(decoded, this, literals);
+  }
+
+  public static int literal(int variable, boolean negated) {
+    return (variable << 1) | (negated ? 1 : 0);
+  }
+
+  public static int variable(int literal) {
+    return literal >> 1;
+  }
+
+  public static boolean isNegated(int literal) {
+    return (literal & 1) == 1;
+  }
+
+  public static int negate(int literal) {
+    return literal ^ 1;
+  }
+}
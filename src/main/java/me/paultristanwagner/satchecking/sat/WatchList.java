@@ -0,0 +1,51 @@
+package me.paultristanwagner.satchecking.sat;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints holding the watchers of one literal, for example pairs of a clause
+ * reference and a blocker literal. Removing entries is done by compacting in place and calling
+ * {@link #truncate(int)}, so propagation never allocates.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class WatchList {
+
+  private static final int[] EMPTY = new int[0];
+
+  private int[] entries;
+  private int size;
+
+  public WatchList() {
+    this.entries = EMPTY;
+    this.size = 0;
+  }
+
+  public void add(int entry) {
+    if (size == entries.length) {
+      entries = Arrays.copyOf(entries, Math.max(4, size * 2));
+    }
+    entries[size++] = entry;
+  }
+
+  public int get(int index) {
+    return entries[index];
+  }
+
+  public void set(int index, int entry) {
+    entries[index] = entry;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public void truncate(int newSize) {
+    size = newSize;
+  }
+
+  public void clear() {
+    size = 0;
+  }
+}
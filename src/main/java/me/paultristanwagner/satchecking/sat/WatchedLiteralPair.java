@@ -1,23 +1,27 @@
 package me.paultristanwagner.satchecking.sat;
 
 /**
+ * The two watched literals of a clause. Literals are int literals as defined by {@link
+ * VariableTable}; {@code -1} is used wherever no literal exists.
+ *
  * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
  * @version 1.0
  */
 public class WatchedLiteralPair {
 
   private final Clause clause;
-  private final Literal[] watched;
+  private final int[] literals;
+  private final int[] watched;
 
-  public WatchedLiteralPair(Clause clause, Assignment assignment) {
+  public WatchedLiteralPair(Clause clause, int[] literals, Assignment assignment) {
     this.clause = clause;
-    this.watched = new Literal[Math.min(2, clause.getLiterals().size())];
+    this.literals = literals;
+    this.watched = new int[Math.min(2, literals.length)];
 
     int correct = 0;
     int incorrect = 0;
-    for (int i = 0; i < clause.getLiterals().size(); i++) {
-      Literal literal = clause.getLiterals().get(i);
-      if (!assignment.assigns(literal) || assignment.evaluate(literal)) {
+    for (int literal : literals) {
+      if (!assignment.isFalse(literal)) {
         watched[correct] = literal;
         correct++;
         if (correct == watched.length) {
@@ -35,112 +39,88 @@ public class WatchedLiteralPair {
   }
 
   public boolean isConflicting(Assignment assignment) {
-    for (Literal literal : watched) {
-      if (!assignment.assigns(literal) || assignment.evaluate(literal)) {
+    for (int literal : watched) {
+      if (!assignment.isFalse(literal)) {
         return false;
       }
     }
     return true;
   }
 
-  // todo: Remove this, just for testing
-  private void checkActuallyConflicting(Assignment assignment) {
-    System.out.println("Debug code: checkActuallyConflicting");
-    for (Literal literal : clause.getLiterals()) {
-      if (!assignment.assigns(literal) || assignment.evaluate(literal)) {
-        System.out.println("not actually conflicting!");
-        return;
-      }
-    }
-  }
-
-  public Literal getUnitLiteral(Assignment assignment) {
+  public int getUnitLiteral(Assignment assignment) {
     int unassignedCount = 0;
-    Literal unassignedLiteral = null;
-    for (Literal literal : watched) {
-      if (!assignment.assigns(literal)) {
+    int unassignedLiteral = -1;
+    for (int literal : watched) {
+      if (!assignment.assigns(VariableTable.variable(literal))) {
         unassignedCount++;
         unassignedLiteral = literal;
-      } else if (assignment.evaluate(literal)) {
-        return null;
+      } else if (assignment.isTrue(literal)) {
+        return -1;
       }
     }
 
     if (unassignedCount == 1) {
       return unassignedLiteral;
     }
-    return null;
-  }
-
-  // todo: Remove this, just for testing
-  private void checkActuallyUnit(Assignment assignment) {
-    System.out.println("Debug code: checkActuallyUnit");
-    int unassignedCount = 0;
-    for (Literal literal : clause.getLiterals()) {
-      if (!assignment.assigns(literal)) {
-        unassignedCount++;
-      } else if (assignment.evaluate(literal)) {
-        System.out.println(clause + " not actually unit. reason: clause is true");
-        return;
-      }
-    }
-
-    if (unassignedCount != 1) {
-      System.out.println(clause + " not actually unit. reason: " + unassignedCount + " unassigned");
-    }
+    return -1;
   }
 
-  public Literal attemptReplace(Literal literal, Assignment assignment) {
-    Literal other = getOther(literal);
-    if (other != null && assignment.assigns(other) && assignment.evaluate(other)) {
-      return null;
+  public int attemptReplace(int literal, Assignment assignment) {
+    int other = getOther(literal);
+    if (other != -1 && assignment.isTrue(other)) {
+      return -1;
     }
 
-    Literal replacement = null;
-    for (Literal lit : clause.getLiterals()) {
-      if (!lit.equals(literal)
-          && !isWatched(lit)
-          && (!assignment.assigns(lit) || assignment.evaluate(lit))) {
+    int replacement = -1;
+    for (int lit : literals) {
+      if (lit != literal && !isWatched(lit) && !assignment.isFalse(lit)) {
         replacement = lit;
         break;
       }
     }
 
-    if (replacement != null) {
+    if (replacement != -1) {
       replace(literal, replacement);
     }
     return replacement;
   }
 
-  private void replace(Literal replaced, Literal replacement) {
+  private void replace(int replaced, int replacement) {
     for (int i = 0; i < watched.length; i++) {
-      Literal lit = watched[i];
-      if (lit.equals(replaced)) {
+      if (watched[i] == replaced) {
         watched[i] = replacement;
         break;
       }
     }
   }
 
-  public boolean isWatched(Literal literal) {
-    for (Literal lit : watched) {
-      if (lit.equals(literal)) {
+  public boolean isWatched(int literal) {
+    for (int lit : watched) {
+      if (lit == literal) {
         return true;
       }
     }
     return false;
   }
 
-  public Literal getOther(Literal one) {
-    for (Literal literal : watched) {
-      if (!literal.equals(one)) {
+  public int getOther(int one) {
+    for (int literal : watched) {
+      if (literal != one) {
         return literal;
       }
     }
-    return null;
+    return -1;
   }
 
-  public Literal[] getWatched() {
+  public int[] getWatched() {
     return watched;
   }
+
+  public Clause getClause() {
+    return clause;
+  }
+
+  public int[] getLiterals() {
+    return literals;
+  }
 }
@@ -0,0 +1,598 @@
+package me.paultristanwagner.satchecking.sat.count;
+
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+
+import java.math.BigInteger;
+import java.util.*;
+import java.util.concurrent.CancellationException;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.negate;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Counts the models of a CNF exactly, in the style of sharpSAT. The search is a DPLL that splits
+ * the formula into connected components after every decision: components share no variables, so
+ * the count of the formula is the product of the counts of its components. Counts of components
+ * are cached, keyed by their variables and clauses, which determine the remaining formula. The
+ * cache is bounded by an estimate of its memory usage and evicts the least recently used
+ * components.
+ *
+ * <p>After unit propagation, literals of clauses that just became binary are propagated on trial
+ * (implicit BCP). If one fails, its negation is implied, which finds conflicts before the formula
+ * is split any further.
+ *
+ * <p>Counting can be projected onto a set of variables, in which case assignments of these
+ * variables are counted that can be extended to a model. Variables of the projection are branched
+ * on first, and components without them only count as satisfiable or not.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class ModelCounter {
+
+  public static final long DEFAULT_CACHE_SIZE = Runtime.getRuntime().maxMemory() / 4;
+
+  // Trial propagations after a decision, to keep implicit BCP cheap on large components
+  private static final int MAX_IMPLICIT_PROBES = 32;
+
+  // Rough memory usage of a cache entry besides its key
+  private static final int ENTRY_OVERHEAD = 96;
+
+  // The search recurses once per decision and component
+  private static final long STACK_SIZE = 1L << 28;
+
+  private final CNF cnf;
+  private final long cacheSize;
+  private Set<String> projectionNames;
+
+  private int variableCount;
+  private int[][] clauses;
+  private int[][] occurrences;
+  private boolean containsEmptyClause;
+  private boolean[] projected;
+
+  private byte[] values;
+  private int[] trail;
+  private int trailSize;
+  private int propagationHead;
+
+  // Literals of clauses that became binary during the last propagation, to be probed
+  private int[] probeCandidates;
+  private int probeCandidateCount;
+  private boolean probing;
+
+  // Scratch space of the component search
+  private int[] variableStamps;
+  private int[] clauseStamps;
+  private int[] scores;
+  private int stamp;
+
+  private ComponentCache cache;
+
+  private long decisionCount;
+  private long componentCount;
+  private long cacheHitCount;
+  private long failedLiteralCount;
+
+  public ModelCounter(CNF cnf) {
+    this(cnf, DEFAULT_CACHE_SIZE);
+  }
+
+  /** @param cacheSize the approximate number of bytes the component cache may use */
+  public ModelCounter(CNF cnf, long cacheSize) {
+    this.cnf = cnf;
+    this.cacheSize = cacheSize;
+  }
+
+  /**
+   * Projects the count onto the variables with the given names. Names that do not occur in the CNF
+   * are ignored. Passing {@code null} counts all models again.
+   */
+  public void setProjection(Collection<String> variableNames) {
+    this.projectionNames = variableNames == null ? null : new HashSet<>(variableNames);
+  }
+
+  /**
+   * Returns the number of assignments of the variables of the CNF that satisfy it, or of the
+   * projection variables that can be extended to a model if a projection is set.
+   */
+  public BigInteger count() {
+    BigInteger[] result = new BigInteger[1];
+    Throwable[] failure = new Throwable[1];
+    Thread thread =
+        new Thread(
+            null,
+            () -> {
+              try {
+                result[0] = search();
+              } catch (Throwable t) {
+                failure[0] = t;
+              }
+            },
+            "model-counter",
+            STACK_SIZE);
+    thread.start();
+    try {
+      thread.join();
+    } catch (InterruptedException e) {
+      thread.interrupt();
+      Thread.currentThread().interrupt();
+      throw new CancellationException("Model counting was interrupted");
+    }
+
+    if (failure[0] instanceof RuntimeException exception) {
+      throw exception;
+    } else if (failure[0] instanceof Error error) {
+      throw error;
+    }
+    return result[0];
+  }
+
+  private BigInteger search() {
+    load();
+    if (containsEmptyClause) {
+      return BigInteger.ZERO;
+    }
+
+    for (int[] clause : clauses) {
+      if (clause.length == 1 && !assign(clause[0])) {
+        return BigInteger.ZERO;
+      }
+    }
+    if (!propagateImplicitly()) {
+      return BigInteger.ZERO;
+    }
+
+    int[] allVariables = new int[variableCount];
+    for (int variable = 0; variable < variableCount; variable++) {
+      allVariables[variable] = variable;
+    }
+    int[] allClauses = new int[clauses.length];
+    for (int i = 0; i < clauses.length; i++) {
+      allClauses[i] = i;
+    }
+    return countComponents(allVariables, allClauses);
+  }
+
+  private void load() {
+    VariableTable variables = cnf.getVariableTable();
+    List<int[]> normalizedClauses = new ArrayList<>();
+    containsEmptyClause = false;
+    for (Clause clause : cnf.getClauses()) {
+      int[] literals = normalize(clause.encode(variables));
+      if (literals == null) {
+        continue;
+      }
+      if (literals.length == 0) {
+        containsEmptyClause = true;
+      }
+      normalizedClauses.add(literals);
+    }
+
+    variableCount = variables.size();
+    clauses = normalizedClauses.toArray(new int[0][]);
+
+    int[] occurrenceCounts = new int[2 * variableCount];
+    for (int[] clause : clauses) {
+      for (int literal : clause) {
+        occurrenceCounts[literal]++;
+      }
+    }
+    occurrences = new int[2 * variableCount][];
+    for (int literal = 0; literal < occurrences.length; literal++) {
+      occurrences[literal] = new int[occurrenceCounts[literal]];
+    }
+    Arrays.fill(occurrenceCounts, 0);
+    for (int i = 0; i < clauses.length; i++) {
+      for (int literal : clauses[i]) {
+        occurrences[literal][occurrenceCounts[literal]++] = i;
+      }
+    }
+
+    projected = new boolean[variableCount];
+    for (int variable = 0; variable < variableCount; variable++) {
+      projected[variable] =
+          projectionNames == null || projectionNames.contains(variables.getName(variable));
+    }
+
+    values = new byte[variableCount];
+    trail = new int[variableCount];
+    trailSize = 0;
+    propagationHead = 0;
+    probeCandidates = new int[16];
+    probeCandidateCount = 0;
+    probing = false;
+    variableStamps = new int[variableCount];
+    clauseStamps = new int[clauses.length];
+    scores = new int[variableCount];
+    stamp = 0;
+    cache = new ComponentCache(cacheSize);
+    decisionCount = 0;
+    componentCount = 0;
+    cacheHitCount = 0;
+    failedLiteralCount = 0;
+  }
+
+  /** Sorts a clause and removes duplicate literals, or returns {@code null} for a tautology. */
+  private static int[] normalize(int[] literals) {
+    int[] sorted = literals.clone();
+    Arrays.sort(sorted);
+    int length = 0;
+    for (int literal : sorted) {
+      if (length > 0 && sorted[length - 1] == literal) {
+        continue;
+      }
+      if (length > 0 && sorted[length - 1] == negate(literal)) {
+        return null;
+      }
+      sorted[length++] = literal;
+    }
+    return Arrays.copyOf(sorted, length);
+  }
+
+  private boolean isTrue(int literal) {
+    byte value = values[variable(literal)];
+    return value != 0 && (value > 0) != isNegated(literal);
+  }
+
+  private boolean isAssigned(int variable) {
+    return values[variable] != 0;
+  }
+
+  /** Assigns {@code literal} to true, or returns {@code false} if it is already false. */
+  private boolean assign(int literal) {
+    int variable = variable(literal);
+    if (isAssigned(variable)) {
+      return isTrue(literal);
+    }
+    values[variable] = isNegated(literal) ? (byte) -1 : (byte) 1;
+    trail[trailSize++] = literal;
+    return true;
+  }
+
+  private void undo(int mark) {
+    while (trailSize > mark) {
+      values[variable(trail[--trailSize])] = 0;
+    }
+    propagationHead = Math.min(propagationHead, mark);
+  }
+
+  /** Propagates the clauses that became unit. Returns {@code false} on a conflict. */
+  private boolean propagate() {
+    while (propagationHead < trailSize) {
+      int falseLiteral = negate(trail[propagationHead++]);
+      for (int index : occurrences[falseLiteral]) {
+        int[] clause = clauses[index];
+        int unassigned = 0;
+        int first = -1;
+        int second = -1;
+        boolean satisfied = false;
+        for (int literal : clause) {
+          if (isAssigned(variable(literal))) {
+            if (isTrue(literal)) {
+              satisfied = true;
+              break;
+            }
+          } else {
+            unassigned++;
+            second = first;
+            first = literal;
+          }
+        }
+
+        if (satisfied) {
+          continue;
+        }
+        if (unassigned == 0) {
+          return false;
+        }
+        if (unassigned == 1) {
+          assign(first);
+        } else if (unassigned == 2 && !probing) {
+          addProbeCandidate(first);
+          addProbeCandidate(second);
+        }
+      }
+    }
+    return true;
+  }
+
+  private void addProbeCandidate(int literal) {
+    if (probeCandidateCount == probeCandidates.length) {
+      probeCandidates = Arrays.copyOf(probeCandidates, 2 * probeCandidates.length);
+    }
+    probeCandidates[probeCandidateCount++] = literal;
+  }
+
+  /**
+   * Propagates and then propagates the candidate literals on trial. The negation of a literal whose
+   * propagation fails is assigned. Returns {@code false} on a conflict.
+   */
+  private boolean propagateImplicitly() {
+    probeCandidateCount = 0;
+    if (!propagate()) {
+      return false;
+    }
+
+    int probes = 0;
+    while (probeCandidateCount > 0 && probes < MAX_IMPLICIT_PROBES) {
+      int literal = probeCandidates[--probeCandidateCount];
+      if (isAssigned(variable(literal))) {
+        continue;
+      }
+
+      probes++;
+      int mark = trailSize;
+      probing = true;
+      assign(literal);
+      boolean consistent = propagate();
+      probing = false;
+      undo(mark);
+
+      if (!consistent) {
+        failedLiteralCount++;
+        assign(negate(literal));
+        if (!propagate()) {
+          return false;
+        }
+      }
+    }
+    probeCandidateCount = 0;
+    return true;
+  }
+
+  /**
+   * Counts the formula made up of the clauses in {@code clauseIndices} that are not satisfied yet,
+   * over the unassigned variables in {@code variables}. It is split into its components, which
+   * are counted separately. Unassigned variables that occur in no remaining clause are free.
+   */
+  private BigInteger countComponents(int[] variables, int[] clauseIndices) {
+    stamp += 2;
+    int active = stamp;
+    int visited = stamp + 1;
+    for (int index : clauseIndices) {
+      if (!isSatisfied(index)) {
+        clauseStamps[index] = active;
+      }
+    }
+
+    BigInteger freeFactor = BigInteger.ONE;
+    List<Component> components = new ArrayList<>();
+    for (int variable : variables) {
+      if (isAssigned(variable) || variableStamps[variable] == visited) {
+        continue;
+      }
+
+      Component component = collectComponent(variable, active, visited);
+      if (component == null) {
+        if (projected[variable]) {
+          freeFactor = freeFactor.shiftLeft(1);
+        }
+      } else {
+        components.add(component);
+      }
+    }
+
+    // Small components first, so that unsatisfiable ones are found cheaply
+    components.sort(Comparator.comparingInt(component -> component.clauses().length));
+    BigInteger result = freeFactor;
+    for (Component component : components) {
+      BigInteger count = countComponent(component);
+      if (count.signum() == 0) {
+        return BigInteger.ZERO;
+      }
+      result = result.multiply(count);
+    }
+    return result;
+  }
+
+  private boolean isSatisfied(int index) {
+    for (int literal : clauses[index]) {
+      if (isTrue(literal)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Collects the variables and active clauses connected to {@code start} by a breadth-first
+   * search, or returns {@code null} if {@code start} occurs in no active clause. The branching
+   * variable is the one occurring in most clauses of the component, preferring projection
+   * variables.
+   */
+  private Component collectComponent(int start, int active, int visited) {
+    List<Integer> componentVariables = new ArrayList<>();
+    List<Integer> componentClauses = new ArrayList<>();
+    variableStamps[start] = visited;
+    scores[start] = 0;
+    componentVariables.add(start);
+
+    for (int i = 0; i < componentVariables.size(); i++) {
+      int variable = componentVariables.get(i);
+      for (int polarity = 0; polarity < 2; polarity++) {
+        for (int index : occurrences[literal(variable, polarity == 1)]) {
+          if (clauseStamps[index] != active) {
+            continue;
+          }
+
+          clauseStamps[index] = visited;
+          componentClauses.add(index);
+          for (int literal : clauses[index]) {
+            int other = variable(literal);
+            if (isAssigned(other)) {
+              continue;
+            }
+            if (variableStamps[other] != visited) {
+              variableStamps[other] = visited;
+              scores[other] = 0;
+              componentVariables.add(other);
+            }
+            scores[other]++;
+          }
+        }
+      }
+    }
+
+    if (componentClauses.isEmpty()) {
+      return null;
+    }
+
+    int branchVariable = -1;
+    for (int variable : componentVariables) {
+      if (branchVariable == -1
+          || (projected[variable] && !projected[branchVariable])
+          || (projected[variable] == projected[branchVariable]
+              && scores[variable] > scores[branchVariable])) {
+        branchVariable = variable;
+      }
+    }
+
+    int[] variableArray = componentVariables.stream().mapToInt(Integer::intValue).toArray();
+    int[] clauseArray = componentClauses.stream().mapToInt(Integer::intValue).toArray();
+    Arrays.sort(variableArray);
+    Arrays.sort(clauseArray);
+    return new Component(variableArray, clauseArray, branchVariable);
+  }
+
+  /**
+   * Counts a component by branching on its branching variable. A component without projection
+   * variables is only checked for satisfiability, so its count is 0 or 1.
+   */
+  private BigInteger countComponent(Component component) {
+    if (Thread.currentThread().isInterrupted()) {
+      throw new CancellationException("Model counting was interrupted");
+    }
+
+    componentCount++;
+    ComponentKey key = ComponentKey.of(component);
+    BigInteger cached = cache.get(key);
+    if (cached != null) {
+      cacheHitCount++;
+      return cached;
+    }
+
+    int branchVariable = component.branchVariable();
+    boolean existential = !projected[branchVariable];
+    BigInteger result = BigInteger.ZERO;
+    for (int polarity = 0; polarity < 2; polarity++) {
+      decisionCount++;
+      int mark = trailSize;
+      assign(literal(branchVariable, polarity == 1));
+      if (propagateImplicitly()) {
+        result = result.add(countComponents(component.variables(), component.clauses()));
+      }
+      undo(mark);
+
+      if (existential && result.signum() > 0) {
+        break;
+      }
+    }
+
+    cache.put(key, result);
+    return result;
+  }
+
+  public long getDecisionCount() {
+    return decisionCount;
+  }
+
+  public long getComponentCount() {
+    return componentCount;
+  }
+
+  public long getCacheHitCount() {
+    return cacheHitCount;
+  }
+
+  public long getCacheEvictionCount() {
+    return cache == null ? 0 : cache.evictionCount;
+  }
+
+  public int getCacheEntryCount() {
+    return cache == null ? 0 : cache.size();
+  }
+
+  public long getFailedLiteralCount() {
+    return failedLiteralCount;
+  }
+
+  private record Component(int[] variables, int[] clauses, int branchVariable) {}
+
+  /** The sorted variables and clauses of a component, separated by {@code -1}. */
+  private record ComponentKey(int[] data, int hash) {
+
+    static ComponentKey of(Component component) {
+      int[] data = new int[component.variables().length + 1 + component.clauses().length];
+      System.arraycopy(component.variables(), 0, data, 0, component.variables().length);
+      data[component.variables().length] = -1;
+      System.arraycopy(
+          component.clauses(),
+          0,
+          data,
+          component.variables().length + 1,
+          component.clauses().length);
+      return new ComponentKey(data, Arrays.hashCode(data));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ComponentKey other)) {
+        return false;
+      }
+      return hash == other.hash && Arrays.equals(data, other.data);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+
+  /** A least recently used cache of component counts that is bounded by its estimated size. */
+  private static class ComponentCache {
+
+    private final Map<ComponentKey, BigInteger> counts = new LinkedHashMap<>(16, 0.75f, true);
+    private final long capacity;
+    private long bytes;
+    private long evictionCount;
+
+    private ComponentCache(long capacity) {
+      this.capacity = capacity;
+    }
+
+    private BigInteger get(ComponentKey key) {
+      return counts.get(key);
+    }
+
+    private void put(ComponentKey key, BigInteger count) {
+      BigInteger previous = counts.put(key, count);
+      if (previous == null) {
+        bytes += sizeOf(key, count);
+      }
+
+      Iterator<Map.Entry<ComponentKey, BigInteger>> iterator = counts.entrySet().iterator();
+      while (bytes > capacity && iterator.hasNext()) {
+        Map.Entry<ComponentKey, BigInteger> eldest = iterator.next();
+        bytes -= sizeOf(eldest.getKey(), eldest.getValue());
+        iterator.remove();
+        evictionCount++;
+      }
+    }
+
+    private int size() {
+      return counts.size();
+    }
+
+    private static long sizeOf(ComponentKey key, BigInteger count) {
+      return ENTRY_OVERHEAD + 4L * key.data().length + count.bitLength() / 8;
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package me.paultristanwagner.satchecking.sat.parallel;
+
+import me.paultristanwagner.satchecking.sat.solver.ClauseExchange;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A lock-free ring buffer through which parallel solvers broadcast short learned clauses with a low
+ * LBD. Writers claim a sequence number with a single atomic increment and publish their clause in
+ * the slot of that number. Every reader keeps its own cursor, so no reader can hold up a writer.
+ * Readers that fall behind by more than the capacity skip the overwritten clauses, and a slot that
+ * is claimed but not yet published when it is read is skipped as well. Losing a shared clause only
+ * costs the reader some work, it never affects correctness.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class ClauseRingBuffer {
+
+  private final AtomicReferenceArray<SharedClause> slots;
+  private final AtomicLong head = new AtomicLong();
+  private final int maximumSize;
+  private final int maximumLbd;
+
+  public ClauseRingBuffer(int capacity, int maximumSize, int maximumLbd) {
+    if (capacity <= 0) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    this.slots = new AtomicReferenceArray<>(capacity);
+    this.maximumSize = maximumSize;
+    this.maximumLbd = maximumLbd;
+  }
+
+  /** Returns the view of the buffer for the solver with the given id. */
+  public ClauseExchange connect(int solverId) {
+    return new Connection(solverId);
+  }
+
+  private void publish(int solverId, int[] clause) {
+    long sequence = head.getAndIncrement();
+    slots.set(index(sequence), new SharedClause(sequence, solverId, clause));
+  }
+
+  private int index(long sequence) {
+    return (int) (sequence % slots.length());
+  }
+
+  private record SharedClause(long sequence, int solverId, int[] literals) {}
+
+  private class Connection implements ClauseExchange {
+
+    private final int solverId;
+    private long cursor;
+
+    private Connection(int solverId) {
+      this.solverId = solverId;
+      this.cursor = head.get();
+    }
+
+    @Override
+    public void learned(int[] clause, int lbd) {
+      if (clause.length <= maximumSize && lbd <= maximumLbd) {
+        publish(solverId, clause);
+      }
+    }
+
+    @Override
+    public int[] poll() {
+      long end = head.get();
+      cursor = Math.max(cursor, end - slots.length());
+      while (cursor < end) {
+        SharedClause shared = slots.get(index(cursor));
+        long sequence = cursor++;
+        if (shared != null && shared.sequence() == sequence && shared.solverId() != solverId) {
+          return shared.literals();
+        }
+      }
+      return null;
+    }
+  }
+}
@@ -0,0 +1,249 @@
+package me.paultristanwagner.satchecking.sat.parallel;
+
+import me.paultristanwagner.satchecking.Config;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.Result;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Cube-and-conquer: a {@link CubeSplitter} partitions the CNF into disjoint cubes, which are then
+ * solved as assumptions by {@link DPLLCDCLSolver}s on a {@link ForkJoinPool}. The cubes are split
+ * into halves recursively, so idle threads steal the remaining halves of busy ones. Every thread
+ * borrows one of {@code threadCount} incremental solvers, which keep their learned clauses from
+ * cube to cube.
+ *
+ * <p>All models of every cube are enumerated in the background and handed out by {@link
+ * #nextModel()} in the order they are found. Since the cubes are disjoint, every model is found
+ * exactly once. The formula is unsatisfiable if no cube has a model. Only a limited number of
+ * models is buffered, so the search pauses while nobody asks for models.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class CubeAndConquerSolver implements SATSolver {
+
+  public static final int DEFAULT_DEPTH = 12;
+  public static final int DEFAULT_CANDIDATE_COUNT = 32;
+
+  private static final int MODEL_BUFFER_SIZE = 64;
+
+  // Marks the end of the models of a conquest
+  private static final Assignment NO_MORE_MODELS = new Assignment();
+
+  private final int threadCount;
+  private final int depth;
+  private final int candidateCount;
+
+  private CNF cnf;
+  private Conquest conquest;
+
+  public CubeAndConquerSolver() {
+    this(Config.get().getThreadCount(), DEFAULT_DEPTH, DEFAULT_CANDIDATE_COUNT);
+  }
+
+  /**
+   * @param depth the maximum depth of the split tree, so there are at most {@code 2^depth} cubes
+   * @param candidateCount the number of variables evaluated by lookahead at every split
+   */
+  public CubeAndConquerSolver(int threadCount, int depth, int candidateCount) {
+    if (threadCount <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive");
+    }
+    this.threadCount = threadCount;
+    this.depth = depth;
+    this.candidateCount = candidateCount;
+  }
+
+  @Override
+  public void load(CNF cnf) {
+    stop();
+    this.cnf = cnf;
+  }
+
+  @Override
+  public Assignment nextModel() {
+    if (conquest == null) {
+      List<List<Literal>> cubes = new CubeSplitter(cnf, depth, candidateCount).split();
+      conquest = new Conquest(cubes);
+    }
+    return conquest.nextModel();
+  }
+
+  /** Stops the background search. */
+  public void stop() {
+    if (conquest != null) {
+      conquest.stop();
+      conquest = null;
+    }
+  }
+
+  /** Returns the number of cubes of the current CNF, or {@code 0} before the first model. */
+  public int getCubeCount() {
+    return conquest == null ? 0 : conquest.cubes.size();
+  }
+
+  private class Conquest {
+
+    private final List<List<Literal>> cubes;
+    private final BlockingQueue<DPLLCDCLSolver> idleSolvers = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Assignment> models = new ArrayBlockingQueue<>(MODEL_BUFFER_SIZE);
+    private final ForkJoinPool pool;
+    private volatile boolean stopped;
+    private volatile Throwable failure;
+    private boolean finished;
+
+    private Conquest(List<List<Literal>> cubes) {
+      this.cubes = cubes;
+
+      // Solvers are created here, since loading encodes the shared clauses
+      for (int i = 0; i < threadCount; i++) {
+        DPLLCDCLSolver solver = new DPLLCDCLSolver();
+        solver.setStopCondition(() -> stopped);
+        solver.load(new CNF(cnf.getClauses()));
+        idleSolvers.add(solver);
+      }
+
+      this.pool = new ForkJoinPool(threadCount);
+      pool.execute(
+          () -> {
+            try {
+              new CubeTask(0, cubes.size()).invoke();
+            } catch (Throwable t) {
+              failure = t;
+            } finally {
+              publish(NO_MORE_MODELS);
+            }
+          });
+    }
+
+    private Assignment nextModel() {
+      if (finished) {
+        return null;
+      }
+
+      Assignment model;
+      try {
+        model = models.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for a model", e);
+      }
+
+      if (model == NO_MORE_MODELS) {
+        finished = true;
+        pool.shutdown();
+        if (failure != null) {
+          throw new IllegalStateException("Cube-and-conquer failed", failure);
+        }
+        return null;
+      }
+      return model;
+    }
+
+    private void stop() {
+      stopped = true;
+      pool.shutdownNow();
+    }
+
+    private void solve(List<Literal> cube) {
+      DPLLCDCLSolver solver;
+      try {
+        solver = idleSolvers.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+
+      try {
+        while (!stopped) {
+          Result result = solver.solve(cube);
+          if (!result.isSatisfiable()) {
+            break;
+          }
+
+          Assignment model = result.getAssignment();
+          publish(copy(model));
+          solver.addClause(model.not());
+        }
+      } catch (CancellationException ignored) {
+        // stopped
+      } finally {
+        idleSolvers.add(solver);
+      }
+    }
+
+    /** Waits until the model buffer has room, unless the conquest is stopped. */
+    private void publish(Assignment model) {
+      try {
+        while (!stopped) {
+          if (models.offer(model, 100, TimeUnit.MILLISECONDS)) {
+            return;
+          }
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    private class CubeTask extends RecursiveAction {
+
+      private static final long serialVersionUID = 1L;
+
+      private final int from;
+      private final int to;
+
+      private CubeTask(int from, int to) {
+        this.from = from;
+        this.to = to;
+      }
+
+      @Override
+      protected void compute() {
+        if (stopped) {
+          return;
+        }
+
+        if (to - from == 1) {
+          solve(cubes.get(from));
+        } else if (to - from > 1) {
+          int middle = (from + to) >>> 1;
+          invokeAll(new CubeTask(from, middle), new CubeTask(middle, to));
+        }
+      }
+    }
+  }
+
+  /**
+   * Copies a model with its decision levels, so that {@link Assignment#not()} still works, since the
+   * solver that found it goes on with other cubes.
+   */
+  private static Assignment copy(Assignment model) {
+    Assignment copy = new Assignment(model.getVariableTable());
+    int level = 1;
+    for (int i = 0; i < model.getTrailSize(); i++) {
+      int literal = model.getTrailLiteral(i);
+      if (level <= model.getDecisionLevel() && model.getLevelStart(level) == i) {
+        copy.assign(variable(literal), !isNegated(literal));
+        level++;
+      } else {
+        copy.propagate(literal, Assignment.NO_REASON);
+      }
+    }
+    return copy;
+  }
+}
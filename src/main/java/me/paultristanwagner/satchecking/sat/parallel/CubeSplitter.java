@@ -0,0 +1,140 @@
+package me.paultristanwagner.satchecking.sat.parallel;
+
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.NoRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.StaticDecisionHeuristic;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Splits a CNF into cubes by lookahead. At every node of the split tree, both values of the most
+ * frequent unassigned variables are propagated and the variable whose values imply the most
+ * literals, measured by the product of both counts, is split on. A value whose propagation fails
+ * is forced to the opposite value within the cube, and a node where both values of a variable
+ * fail is dropped. The cubes are therefore pairwise disjoint, and together they cover all models
+ * of the CNF.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class CubeSplitter {
+
+  private final DPLLCDCLSolver engine;
+  private final VariableTable variables;
+  private final List<Integer> candidates;
+  private final int maximumDepth;
+  private final int candidateCount;
+
+  private final List<Integer> cube = new ArrayList<>();
+  private final List<List<Literal>> cubes = new ArrayList<>();
+
+  public CubeSplitter(CNF cnf, int maximumDepth, int candidateCount) {
+    this.maximumDepth = maximumDepth;
+    this.candidateCount = candidateCount;
+    this.variables = cnf.getVariableTable();
+
+    this.engine = new DPLLCDCLSolver(new StaticDecisionHeuristic(), new NoRestartStrategy());
+    engine.setInprocessing(false);
+    engine.load(cnf);
+
+    int[] occurrences = new int[variables.size()];
+    for (Clause clause : cnf.getClauses()) {
+      for (int literal : clause.encode(variables)) {
+        occurrences[variable(literal)]++;
+      }
+    }
+    this.candidates = new ArrayList<>();
+    for (int variable = 0; variable < variables.size(); variable++) {
+      candidates.add(variable);
+    }
+    candidates.sort(Comparator.comparingInt((Integer variable) -> -occurrences[variable]));
+  }
+
+  /** Returns the cubes, each as a list of literals to be assumed. */
+  public List<List<Literal>> split() {
+    cubes.clear();
+    split(0);
+    return cubes;
+  }
+
+  private void split(int depth) {
+    int forced = 0;
+    int branchVariable = -1;
+    long bestScore = -1;
+    int evaluated = 0;
+    for (int i = 0; i < candidates.size() && evaluated < candidateCount; i++) {
+      int variable = candidates.get(i);
+      if (engine.isAssigned(variable)) {
+        continue;
+      }
+      if (depth == maximumDepth) {
+        branchVariable = variable;
+        break;
+      }
+      evaluated++;
+
+      int positive = engine.lookahead(literal(variable, false));
+      int negative = engine.lookahead(literal(variable, true));
+      if (positive == -1 || negative == -1) {
+        int forcedLiteral = literal(variable, positive == -1);
+        if ((positive == -1 && negative == -1) || engine.assume(forcedLiteral) == -1) {
+          retract(forced);
+          return;
+        }
+        cube.add(forcedLiteral);
+        forced++;
+
+        // The forced literal may have assigned the candidates seen so far, so start over
+        i = -1;
+        evaluated = 0;
+        branchVariable = -1;
+        bestScore = -1;
+        continue;
+      }
+
+      long score = (long) (positive + 1) * (negative + 1);
+      if (score > bestScore) {
+        bestScore = score;
+        branchVariable = variable;
+      }
+    }
+
+    if (depth == maximumDepth || branchVariable == -1) {
+      // Leaves with unassigned variables and fully assigned nodes are handed to the solvers
+      List<Literal> literals = new ArrayList<>();
+      for (int literal : cube) {
+        literals.add(variables.decode(literal));
+      }
+      cubes.add(literals);
+    } else {
+      for (boolean negated : new boolean[] {false, true}) {
+        int literal = literal(branchVariable, negated);
+        if (engine.assume(literal) == -1) {
+          continue;
+        }
+        cube.add(literal);
+        split(depth + 1);
+        cube.remove(cube.size() - 1);
+        engine.retract();
+      }
+    }
+
+    retract(forced);
+  }
+
+  private void retract(int forced) {
+    for (int i = 0; i < forced; i++) {
+      cube.remove(cube.size() - 1);
+      engine.retract();
+    }
+  }
+}
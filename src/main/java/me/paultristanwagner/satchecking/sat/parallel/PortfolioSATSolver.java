@@ -0,0 +1,199 @@
+package me.paultristanwagner.satchecking.sat.parallel;
+
+import me.paultristanwagner.satchecking.Config;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Result;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.GeometricRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.GlucoseRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.LubyRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.RestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+import me.paultristanwagner.satchecking.sat.solver.VSIDSDecisionHeuristic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Runs several differently configured {@link DPLLCDCLSolver}s on the same CNF in parallel. The
+ * workers differ in their restart strategy, the decay of their VSIDS activities, their initial
+ * phase and the seed that breaks ties between variables. The first worker that finds a model or
+ * proves unsatisfiability wins and the others are interrupted. Short learned clauses with a low LBD
+ * are shared between the workers through a {@link ClauseRingBuffer}.
+ *
+ * <p>Every worker loads its own copy of the CNF. The copies intern the variables in the same order,
+ * so all workers agree on the int literals of the shared clauses. To enumerate models, the previous
+ * model is blocked in every worker, which keeps the learned clauses of all workers.
+ *
+ * <p>The workers run on a pool of daemon threads that lives from {@link #load(CNF)} until the next
+ * load or {@link #stop()}. A model is returned as soon as it is found, the losing workers stop in
+ * the background and are waited for before they are used again.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class PortfolioSATSolver implements SATSolver {
+
+  private static final int SHARED_CLAUSE_CAPACITY = 1 << 14;
+  private static final int MAXIMUM_SHARED_SIZE = 8;
+  private static final int MAXIMUM_SHARED_LBD = 4;
+
+  private static final double[] DECAY_FACTORS = {0.95, 0.85, 0.99, 0.9};
+
+  private final int threadCount;
+
+  private List<DPLLCDCLSolver> workers;
+  private ExecutorService executor;
+  private final List<Future<Result>> running = new ArrayList<>();
+  private volatile boolean raceFinished;
+  private Assignment model;
+  private boolean unsatisfiable;
+
+  public PortfolioSATSolver() {
+    this(Config.get().getThreadCount());
+  }
+
+  public PortfolioSATSolver(int threadCount) {
+    if (threadCount <= 0) {
+      throw new IllegalArgumentException("Thread count must be positive");
+    }
+    this.threadCount = threadCount;
+  }
+
+  @Override
+  public void load(CNF cnf) {
+    stop();
+    ClauseRingBuffer sharedClauses =
+        new ClauseRingBuffer(SHARED_CLAUSE_CAPACITY, MAXIMUM_SHARED_SIZE, MAXIMUM_SHARED_LBD);
+
+    workers = new ArrayList<>();
+    for (int i = 0; i < threadCount; i++) {
+      // Worker 0 is configured like a sequential solver
+      VSIDSDecisionHeuristic heuristic =
+          new VSIDSDecisionHeuristic(DECAY_FACTORS[i % DECAY_FACTORS.length], i % 2 == 1, i);
+      DPLLCDCLSolver worker = new DPLLCDCLSolver(heuristic, restartStrategy(i));
+      worker.setClauseExchange(sharedClauses.connect(i));
+      worker.setStopCondition(() -> raceFinished);
+      worker.load(new CNF(cnf.getClauses()));
+      workers.add(worker);
+    }
+    executor =
+        Executors.newFixedThreadPool(
+            threadCount,
+            runnable -> {
+              Thread thread = new Thread(runnable, "portfolio-worker");
+              thread.setDaemon(true);
+              return thread;
+            });
+    model = null;
+    unsatisfiable = false;
+  }
+
+  private static RestartStrategy restartStrategy(int worker) {
+    return switch (worker % 4) {
+      case 0 -> new GlucoseRestartStrategy();
+      case 1 -> new LubyRestartStrategy();
+      case 2 -> new GeometricRestartStrategy();
+      default -> new LubyRestartStrategy(512);
+    };
+  }
+
+  @Override
+  public Assignment nextModel() {
+    if (unsatisfiable) {
+      return null;
+    }
+
+    awaitWorkers();
+    if (model != null) {
+      Clause blockingClause = model.not();
+      for (DPLLCDCLSolver worker : workers) {
+        worker.addClause(blockingClause);
+      }
+    }
+
+    Result result = race();
+    if (!result.isSatisfiable()) {
+      unsatisfiable = true;
+      model = null;
+      return null;
+    }
+    model = result.getAssignment();
+    return model;
+  }
+
+  /** Solves with all workers and returns the first result, the others are told to stop. */
+  private Result race() {
+    raceFinished = false;
+    CompletionService<Result> completion = new ExecutorCompletionService<>(executor);
+    for (DPLLCDCLSolver worker : workers) {
+      running.add(completion.submit(() -> worker.solve(List.of())));
+    }
+
+    try {
+      ExecutionException failure = null;
+      for (int i = 0; i < workers.size(); i++) {
+        try {
+          return completion.take().get();
+        } catch (ExecutionException e) {
+          failure = e;
+        }
+      }
+      throw new IllegalStateException("All portfolio workers failed", failure.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while waiting for the portfolio", e);
+    } finally {
+      raceFinished = true;
+    }
+  }
+
+  /** Waits until the workers of the last race have stopped. */
+  private void awaitWorkers() {
+    boolean interrupted = false;
+    for (Future<Result> future : running) {
+      while (true) {
+        try {
+          future.get();
+          break;
+        } catch (InterruptedException e) {
+          interrupted = true;
+        } catch (ExecutionException e) {
+          // the worker lost the race or failed
+          break;
+        }
+      }
+    }
+    running.clear();
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /** Stops the workers and shuts down their threads. */
+  public void stop() {
+    if (executor != null) {
+      raceFinished = true;
+      awaitWorkers();
+      executor.shutdown();
+      executor = null;
+    }
+  }
+
+  public int getThreadCount() {
+    return threadCount;
+  }
+
+  public long getConflictCount() {
+    awaitWorkers();
+    return workers.stream().mapToLong(DPLLCDCLSolver::getConflictCount).sum();
+  }
+}
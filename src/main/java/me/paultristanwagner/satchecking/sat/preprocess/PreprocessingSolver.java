@@ -0,0 +1,43 @@
+package me.paultristanwagner.satchecking.sat.preprocess;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+
+/**
+ * Runs a {@link Preprocessor} on every loaded CNF and hands the simplified CNF to another solver.
+ * Models are extended to all variables of the original CNF. When enumerating, the models are
+ * distinct on the variables that survived preprocessing, so models that only differ on eliminated
+ * variables are reported once.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class PreprocessingSolver implements SATSolver {
+
+  private final SATSolver solver;
+  private Preprocessor preprocessor;
+
+  public PreprocessingSolver(SATSolver solver) {
+    this.solver = solver;
+  }
+
+  @Override
+  public void load(CNF cnf) {
+    preprocessor = new Preprocessor(cnf);
+    solver.load(preprocessor.preprocess());
+  }
+
+  @Override
+  public Assignment nextModel() {
+    Assignment model = solver.nextModel();
+    if (model == null) {
+      return null;
+    }
+    return preprocessor.reconstruct(model);
+  }
+
+  public Preprocessor getPreprocessor() {
+    return preprocessor;
+  }
+}
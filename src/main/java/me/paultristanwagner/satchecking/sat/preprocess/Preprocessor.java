@@ -0,0 +1,569 @@
+package me.paultristanwagner.satchecking.sat.preprocess;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+import me.paultristanwagner.satchecking.sat.proof.DratWriter;
+
+import java.util.*;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.negate;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * SatELite-style simplification of a CNF before search. The preprocessor removes duplicate
+ * literals, tautologies and duplicate clauses, propagates unit clauses, removes subsumed clauses,
+ * strengthens clauses by self-subsuming resolution and eliminates variables by resolution as long
+ * as this does not increase the number of clauses. All of this works on occurrence lists over the
+ * int literals of the CNF's {@link VariableTable}. Removed clauses and removed literals stay in the
+ * occurrence lists until the list is visited next, so removals take constant time.
+ *
+ * <p>The simplified CNF is equisatisfiable to the original one. Models of it are extended to the
+ * original variables with {@link #reconstruct(Assignment)}. Variables that will be referred to by
+ * clauses added later must be {@link #freeze(String) frozen}, so that they are not eliminated.
+ *
+ * <p>Strengthened clauses and resolvents are implied by the original clauses, so all steps can be
+ * logged to a DRAT proof, which then continues with the proof of the solver.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class Preprocessor {
+
+  // Variables are only eliminated if every resolvent is at most this long
+  private static final int MAX_RESOLVENT_LENGTH = 20;
+
+  // Variables whose positive and negative occurrences multiply to more than this are not eliminated
+  private static final int MAX_RESOLUTION_PAIRS = 400;
+
+  private final CNF cnf;
+  private final VariableTable variables;
+
+  private final List<int[]> clauses = new ArrayList<>();
+  private long[] signatures = new long[16];
+
+  // occurrences[l] holds the indices of the clauses containing l in its first occurrenceSizes[l]
+  // entries, plus stale entries of clauses that were removed or lost l since the last compaction.
+  // occurrenceCounts[l] is the number of clauses that still contain l.
+  private int[][] occurrences;
+  private int[] occurrenceSizes;
+  private int[] occurrenceCounts;
+  private final Deque<Integer> subsumptionQueue = new ArrayDeque<>();
+  private final Deque<Integer> unitQueue = new ArrayDeque<>();
+
+  private DratWriter proof;
+
+  private final Set<Integer> frozen = new HashSet<>();
+  private boolean[] eliminated;
+  private byte[] values;
+  private boolean unsatisfiable;
+
+  private final ReconstructionStack reconstructionStack = new ReconstructionStack();
+
+  private int[] literalStamps;
+  private int stamp;
+
+  private int removedClauseCount;
+  private int strengthenedClauseCount;
+
+  public Preprocessor(CNF cnf) {
+    this.cnf = cnf;
+    this.variables = cnf.getVariableTable();
+  }
+
+  /** Prevents the variable with the given name from being eliminated. */
+  public void freeze(String name) {
+    int variable = variables.indexOf(name);
+    if (variable != -1) {
+      frozen.add(variable);
+    }
+  }
+
+  /** Logs the clauses added and removed by preprocessing to {@code proof}. */
+  public void setProof(DratWriter proof) {
+    this.proof = proof;
+  }
+
+  /** Simplifies the CNF. The original CNF is left unchanged. */
+  public CNF preprocess() {
+    if (proof != null) {
+      proof.setVariableTable(variables);
+    }
+
+    int variableCount = variables.size();
+    occurrences = new int[2 * variableCount][];
+    for (int literal = 0; literal < 2 * variableCount; literal++) {
+      occurrences[literal] = new int[4];
+    }
+    occurrenceSizes = new int[2 * variableCount];
+    occurrenceCounts = new int[2 * variableCount];
+    eliminated = new boolean[variableCount];
+    values = new byte[variableCount];
+    literalStamps = new int[2 * variableCount];
+
+    // Duplicates are found by open addressing over the hashes of the sorted clauses
+    List<int[]> distinctClauses = new ArrayList<>();
+    int[] distinctTable = new int[Integer.highestOneBit(Math.max(1, cnf.getClauses().size())) << 2];
+    Arrays.fill(distinctTable, -1);
+    for (Clause clause : cnf.getClauses()) {
+      int[] literals = normalize(clause.encode(variables));
+      if (literals == null || !addDistinct(literals, distinctClauses, distinctTable)) {
+        removedClauseCount++;
+        continue;
+      }
+      addClause(literals);
+    }
+
+    propagateUnits();
+    subsume();
+    eliminateVariables();
+
+    return buildCNF();
+  }
+
+  /**
+   * Sorts the literals of a clause and removes duplicates. Returns {@code null} if the clause is a
+   * tautology.
+   */
+  private static int[] normalize(int[] literals) {
+    int[] sorted = literals.clone();
+    Arrays.sort(sorted);
+    int length = 0;
+    for (int literal : sorted) {
+      if (length > 0 && sorted[length - 1] == literal) {
+        continue;
+      }
+      if (length > 0 && sorted[length - 1] == negate(literal)) {
+        return null;
+      }
+      sorted[length++] = literal;
+    }
+    return Arrays.copyOf(sorted, length);
+  }
+
+  /**
+   * Adds the sorted clause to {@code distinct} and the hash table {@code table} of their indices,
+   * which must have room for it. Returns {@code false} if an equal clause was added before.
+   */
+  private static boolean addDistinct(int[] literals, List<int[]> distinct, int[] table) {
+    int mask = table.length - 1;
+    int hash = Arrays.hashCode(literals) * 0x9E3779B9;
+    int slot = (hash ^ hash >>> 16) & mask;
+    while (table[slot] != -1) {
+      if (Arrays.equals(distinct.get(table[slot]), literals)) {
+        return false;
+      }
+      slot = (slot + 1) & mask;
+    }
+    table[slot] = distinct.size();
+    distinct.add(literals);
+    return true;
+  }
+
+  private void addClause(int[] literals) {
+    if (unsatisfiable) {
+      return;
+    }
+
+    if (literals.length == 0) {
+      unsatisfiable = true;
+      return;
+    }
+
+    if (literals.length == 1) {
+      enqueueUnit(literals[0]);
+      return;
+    }
+
+    int index = clauses.size();
+    clauses.add(literals);
+    if (index == signatures.length) {
+      signatures = Arrays.copyOf(signatures, 2 * index);
+    }
+    signatures[index] = signature(literals);
+    for (int literal : literals) {
+      addOccurrence(literal, index);
+    }
+    subsumptionQueue.add(index);
+  }
+
+  private void addOccurrence(int literal, int index) {
+    int size = occurrenceSizes[literal];
+    if (size == occurrences[literal].length) {
+      // Only grow the list if it is mostly live
+      size = compactOccurrences(literal);
+      if (2 * size > occurrences[literal].length) {
+        occurrences[literal] = Arrays.copyOf(occurrences[literal], 2 * occurrences[literal].length);
+      }
+    }
+    occurrences[literal][size] = index;
+    occurrenceSizes[literal] = size + 1;
+    occurrenceCounts[literal]++;
+  }
+
+  /**
+   * Removes the stale entries from the occurrence list of {@code literal} and returns its size. The
+   * clauses are sorted, so whether a clause still contains the literal is a binary search.
+   */
+  private int compactOccurrences(int literal) {
+    int[] list = occurrences[literal];
+    int size = occurrenceSizes[literal];
+    if (size == occurrenceCounts[literal]) {
+      return size;
+    }
+
+    int j = 0;
+    for (int i = 0; i < size; i++) {
+      int[] clause = clauses.get(list[i]);
+      if (clause != null && Arrays.binarySearch(clause, literal) >= 0) {
+        list[j++] = list[i];
+      }
+    }
+    occurrenceSizes[literal] = j;
+    return j;
+  }
+
+  private boolean isOccurrence(int index, int literal) {
+    int[] clause = clauses.get(index);
+    return clause != null && Arrays.binarySearch(clause, literal) >= 0;
+  }
+
+  private void removeClause(int index) {
+    int[] clause = clauses.get(index);
+    if (proof != null) {
+      proof.delete(clause);
+    }
+    clauses.set(index, null);
+    for (int literal : clause) {
+      occurrenceCounts[literal]--;
+    }
+  }
+
+  /** Removes {@code literal} from the clause at {@code index}. */
+  private void strengthen(int index, int literal) {
+    int[] clause = clauses.get(index);
+    int[] strengthened = new int[clause.length - 1];
+    int length = 0;
+    for (int l : clause) {
+      if (l != literal) {
+        strengthened[length++] = l;
+      }
+    }
+    if (proof != null) {
+      proof.add(strengthened);
+    }
+    occurrenceCounts[literal]--;
+    strengthenedClauseCount++;
+
+    if (strengthened.length == 1) {
+      removeClause(index);
+      enqueueUnit(strengthened[0]);
+      return;
+    }
+
+    if (proof != null) {
+      proof.delete(clause);
+    }
+    clauses.set(index, strengthened);
+    signatures[index] = signature(strengthened);
+    subsumptionQueue.add(index);
+  }
+
+  private static long signature(int[] clause) {
+    long signature = 0;
+    for (int literal : clause) {
+      signature |= 1L << (variable(literal) & 63);
+    }
+    return signature;
+  }
+
+  private void enqueueUnit(int literal) {
+    int variable = variable(literal);
+    byte value = isNegated(literal) ? (byte) -1 : (byte) 1;
+    if (values[variable] == -value) {
+      unsatisfiable = true;
+    } else if (values[variable] == 0) {
+      values[variable] = value;
+      unitQueue.add(literal);
+    }
+  }
+
+  /** Removes clauses satisfied by unit clauses and false literals from the remaining clauses. */
+  private void propagateUnits() {
+    while (!unsatisfiable && !unitQueue.isEmpty()) {
+      int literal = unitQueue.poll();
+      int[] satisfied = occurrences[literal];
+      for (int i = 0, size = compactOccurrences(literal); i < size; i++) {
+        if (clauses.get(satisfied[i]) != null) {
+          removeClause(satisfied[i]);
+        }
+      }
+      int falseLiteral = negate(literal);
+      int[] falsified = occurrences[falseLiteral];
+      for (int i = 0, size = compactOccurrences(falseLiteral); i < size; i++) {
+        if (isOccurrence(falsified[i], falseLiteral)) {
+          strengthen(falsified[i], falseLiteral);
+        }
+      }
+    }
+  }
+
+  /**
+   * Uses every queued clause to remove the clauses it subsumes and to strengthen the clauses it
+   * self-subsumes, until the queue is empty.
+   */
+  private void subsume() {
+    while (!unsatisfiable && !subsumptionQueue.isEmpty()) {
+      int index = subsumptionQueue.poll();
+      int[] clause = clauses.get(index);
+      if (clause == null) {
+        continue;
+      }
+
+      markLiterals(clause);
+      long signature = signatures[index];
+
+      // Clauses that contain all literals of this one, or all but one which they contain negated,
+      // must contain the literal of this clause with the fewest occurrences or its negation
+      int pivot = clause[0];
+      for (int literal : clause) {
+        if (occurrenceCount(variable(literal)) < occurrenceCount(variable(pivot))) {
+          pivot = literal;
+        }
+      }
+
+      checkCandidates(index, pivot, signature, -1);
+      checkCandidates(index, negate(pivot), signature, pivot);
+
+      // Self-subsumption on the other literals needs candidates from their negated occurrences
+      for (int literal : clause) {
+        if (literal != pivot) {
+          checkCandidates(index, negate(literal), signature, literal);
+        }
+      }
+
+      propagateUnits();
+    }
+  }
+
+  /**
+   * Checks the subsumption of the clauses containing {@code literal} by the marked clause at {@code
+   * index}, with {@code flipped} as in {@link #checkSubsumption(int[], int, int)}. Checking only
+   * removes and shortens clauses, so the occurrence list is visited in place.
+   */
+  private void checkCandidates(int index, int literal, long signature, int flipped) {
+    int[] clause = clauses.get(index);
+    int[] list = occurrences[literal];
+    for (int i = 0, size = compactOccurrences(literal); i < size; i++) {
+      int other = list[i];
+      if (other != index && isCandidate(clause, other, signature) && isOccurrence(other, literal)) {
+        checkSubsumption(clause, other, flipped);
+      }
+    }
+  }
+
+  private int occurrenceCount(int variable) {
+    return occurrenceCounts[literal(variable, false)] + occurrenceCounts[literal(variable, true)];
+  }
+
+  private boolean isCandidate(int[] clause, int other, long signature) {
+    int[] otherClause = clauses.get(other);
+    return otherClause != null
+        && otherClause.length >= clause.length
+        && (signature & ~signatures[other]) == 0;
+  }
+
+  private void markLiterals(int[] clause) {
+    stamp++;
+    for (int literal : clause) {
+      literalStamps[literal] = stamp;
+    }
+  }
+
+  /**
+   * Checks whether the marked clause {@code clause} subsumes the clause at {@code other}, or, if
+   * {@code flipped} is not {@code -1}, whether it does so with {@code flipped} negated. In the
+   * first case the other clause is removed, in the second one the negation of {@code flipped} is
+   * removed from it.
+   */
+  private void checkSubsumption(int[] clause, int other, int flipped) {
+    int[] otherClause = clauses.get(other);
+    int matched = 0;
+    boolean containsFlipped = false;
+    for (int literal : otherClause) {
+      if (flipped != -1 && literal == negate(flipped)) {
+        containsFlipped = true;
+      } else if (literalStamps[literal] == stamp) {
+        matched++;
+      }
+    }
+
+    if (flipped == -1 && matched == clause.length) {
+      removeClause(other);
+      removedClauseCount++;
+    } else if (flipped != -1 && containsFlipped && matched == clause.length - 1) {
+      strengthen(other, negate(flipped));
+    }
+  }
+
+  /**
+   * Eliminates variables by replacing all clauses that contain them with their non-tautological
+   * resolvents, as long as there are not more resolvents than clauses. Cheap variables go first.
+   */
+  private void eliminateVariables() {
+    // The cost of a variable is kept in the upper half of its key, ties are broken by the variable
+    long[] candidates = new long[variables.size()];
+    for (int variable = 0; variable < candidates.length; variable++) {
+      long cost =
+          Math.min(
+              (long) occurrenceCounts[literal(variable, false)]
+                  * occurrenceCounts[literal(variable, true)],
+              Integer.MAX_VALUE);
+      candidates[variable] = cost << 32 | variable;
+    }
+    Arrays.sort(candidates);
+
+    for (long candidate : candidates) {
+      int variable = (int) candidate;
+      if (unsatisfiable) {
+        return;
+      }
+      if (frozen.contains(variable) || values[variable] != 0) {
+        continue;
+      }
+
+      if (tryElimination(variable)) {
+        subsume();
+      }
+    }
+  }
+
+  private boolean tryElimination(int variable) {
+    int[] positive = liveOccurrences(literal(variable, false));
+    int[] negative = liveOccurrences(literal(variable, true));
+    if (positive.length == 0 && negative.length == 0) {
+      return false;
+    }
+    if ((long) positive.length * negative.length > MAX_RESOLUTION_PAIRS) {
+      return false;
+    }
+
+    List<int[]> resolvents = new ArrayList<>();
+    int limit = positive.length + negative.length;
+    for (int p : positive) {
+      for (int n : negative) {
+        int[] resolvent = resolve(clauses.get(p), clauses.get(n), variable);
+        if (resolvent == null) {
+          continue;
+        }
+        if (resolvent.length > MAX_RESOLVENT_LENGTH || resolvents.size() == limit) {
+          return false;
+        }
+        resolvents.add(resolvent);
+      }
+    }
+
+    // The resolvents must be in the proof before the clauses they are derived from are deleted
+    if (proof != null) {
+      for (int[] resolvent : resolvents) {
+        proof.add(resolvent);
+      }
+    }
+
+    List<int[]> positiveClauses = new ArrayList<>();
+    for (int p : positive) {
+      positiveClauses.add(clauses.get(p));
+      removeClause(p);
+    }
+    for (int n : negative) {
+      removeClause(n);
+    }
+    reconstructionStack.push(variable, positiveClauses);
+    eliminated[variable] = true;
+
+    for (int[] resolvent : resolvents) {
+      addClause(resolvent);
+    }
+    propagateUnits();
+    return true;
+  }
+
+  private int[] liveOccurrences(int literal) {
+    return Arrays.copyOf(occurrences[literal], compactOccurrences(literal));
+  }
+
+  /** Returns the resolvent of two clauses on {@code variable}, or {@code null} if tautological. */
+  private int[] resolve(int[] positive, int[] negative, int variable) {
+    int[] literals = new int[positive.length + negative.length - 2];
+    int length = 0;
+    for (int literal : positive) {
+      if (variable(literal) != variable) {
+        literals[length++] = literal;
+      }
+    }
+    for (int literal : negative) {
+      if (variable(literal) != variable) {
+        literals[length++] = literal;
+      }
+    }
+    return normalize(Arrays.copyOf(literals, length));
+  }
+
+  private CNF buildCNF() {
+    List<Clause> result = new ArrayList<>();
+    if (unsatisfiable) {
+      result.add(new Clause(new ArrayList<>()));
+      return new CNF(result);
+    }
+
+    for (int variable = 0; variable < values.length; variable++) {
+      if (values[variable] != 0) {
+        result.add(variables.decode(new int[] {literal(variable, values[variable] < 0)}));
+      }
+    }
+    for (int[] clause : clauses) {
+      if (clause != null) {
+        result.add(variables.decode(clause));
+      }
+    }
+    return new CNF(result);
+  }
+
+  /**
+   * Extends a model of the simplified CNF to an assignment of all variables of the original CNF.
+   * Variables that no longer occur in the simplified CNF and were not eliminated are assigned to
+   * false.
+   */
+  public Assignment reconstruct(Assignment model) {
+    boolean[] modelValues = new boolean[variables.size()];
+    for (int variable = 0; variable < variables.size(); variable++) {
+      String name = variables.getName(variable);
+      int modelVariable = model.getVariableTable().indexOf(name);
+      if (modelVariable != -1 && model.assigns(modelVariable)) {
+        modelValues[variable] = model.getValue(modelVariable);
+      }
+    }
+    reconstructionStack.extend(modelValues);
+
+    Assignment assignment = new Assignment(variables);
+    for (int variable = 0; variable < variables.size(); variable++) {
+      assignment.propagate(literal(variable, !modelValues[variable]), Assignment.NO_REASON);
+    }
+    return assignment;
+  }
+
+  public int getEliminatedVariableCount() {
+    return reconstructionStack.size();
+  }
+
+  public int getRemovedClauseCount() {
+    return removedClauseCount;
+  }
+
+  public int getStrengthenedClauseCount() {
+    return strengthenedClauseCount;
+  }
+}
@@ -0,0 +1,60 @@
+package me.paultristanwagner.satchecking.sat.preprocess;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Remembers the clauses removed by variable elimination, so that a model of the simplified formula
+ * can be extended to the eliminated variables. For every eliminated variable only the clauses in
+ * which it occurs positively are kept: if one of them is not satisfied by the other literals, the
+ * variable is set to true, otherwise to false. Since all resolvents on the variable are satisfied,
+ * the clauses with the negative literal are satisfied in both cases.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class ReconstructionStack {
+
+  private final List<Integer> eliminatedVariables = new ArrayList<>();
+  private final List<List<int[]>> positiveClauses = new ArrayList<>();
+
+  public void push(int variable, List<int[]> clauses) {
+    eliminatedVariables.add(variable);
+    positiveClauses.add(clauses);
+  }
+
+  /**
+   * Assigns the eliminated variables in {@code values}, which is indexed by variable and must
+   * already hold the values of all other variables. Variables are handled in reverse order of
+   * elimination.
+   */
+  public void extend(boolean[] values) {
+    for (int i = eliminatedVariables.size() - 1; i >= 0; i--) {
+      int variable = eliminatedVariables.get(i);
+      boolean value = false;
+      for (int[] clause : positiveClauses.get(i)) {
+        if (!isSatisfiedWithout(clause, variable, values)) {
+          value = true;
+          break;
+        }
+      }
+      values[variable] = value;
+    }
+  }
+
+  private static boolean isSatisfiedWithout(int[] clause, int variable, boolean[] values) {
+    for (int literal : clause) {
+      if (variable(literal) != variable && values[variable(literal)] != isNegated(literal)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  public int size() {
+    return eliminatedVariables.size();
+  }
+}
@@ -0,0 +1,167 @@
+package me.paultristanwagner.satchecking.sat.proof;
+
+import me.paultristanwagner.satchecking.sat.VariableTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Writes a DRAT proof in the binary format understood by {@code drat-trim}. Every added or deleted
+ * clause is a byte {@code 'a'} or {@code 'd'} followed by its literals and a terminating {@code 0}.
+ * A literal of DIMACS variable {@code v} is written as the unsigned number {@code 2v}, or {@code
+ * 2v + 1} if negated, in 7-bit groups with the least significant group first and the high bit set
+ * on all groups but the last.
+ *
+ * <p>Clauses are given as int literals of the current {@link #setVariableTable(VariableTable)
+ * variable table}. A variable named {@code l<n>}, as created by the DIMACS parser, is written as
+ * DIMACS variable {@code n}, so proofs refer to the numbering of the original file even if the
+ * clauses went through a preprocessor with its own table. Other variables are numbered by their
+ * index in the table, starting at 1.
+ *
+ * <p>The proof is collected in a large buffer that is written to the channel whenever it is full,
+ * so logging a clause costs about as much as copying it. Write errors are rethrown as {@link
+ * UncheckedIOException}s.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class DratWriter implements Closeable {
+
+  private static final int BUFFER_SIZE = 1 << 20;
+
+  // A literal takes at most five 7-bit groups
+  private static final int MAX_LITERAL_BYTES = 5;
+
+  private static final byte ADDITION = 'a';
+  private static final byte DELETION = 'd';
+
+  private final WritableByteChannel channel;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+
+  private VariableTable variables;
+  private int[] dimacsVariables = new int[0];
+
+  private long addedClauseCount;
+  private long deletedClauseCount;
+
+  public DratWriter(Path path) throws IOException {
+    this(FileChannel.open(path, CREATE, WRITE, TRUNCATE_EXISTING));
+  }
+
+  public DratWriter(WritableByteChannel channel) {
+    this.channel = channel;
+  }
+
+  /** Sets the table the int literals of subsequent clauses refer to. */
+  public void setVariableTable(VariableTable variables) {
+    if (this.variables != variables) {
+      this.variables = variables;
+      this.dimacsVariables = new int[0];
+    }
+  }
+
+  /** Logs the addition of a clause that is implied by the formula and all clauses added so far. */
+  public void add(int[] literals, int length) {
+    write(ADDITION, literals, length);
+    addedClauseCount++;
+  }
+
+  public void add(int[] literals) {
+    add(literals, literals.length);
+  }
+
+  /** Logs the deletion of a clause. */
+  public void delete(int[] literals, int length) {
+    write(DELETION, literals, length);
+    deletedClauseCount++;
+  }
+
+  public void delete(int[] literals) {
+    delete(literals, literals.length);
+  }
+
+  private void write(byte kind, int[] literals, int length) {
+    ensureRemaining(2);
+    buffer.put(kind);
+    for (int i = 0; i < length; i++) {
+      ensureRemaining(MAX_LITERAL_BYTES + 1);
+      int literal = literals[i];
+      int encoded = 2 * dimacsVariable(variable(literal)) + (isNegated(literal) ? 1 : 0);
+      while ((encoded & ~0x7f) != 0) {
+        buffer.put((byte) ((encoded & 0x7f) | 0x80));
+        encoded >>>= 7;
+      }
+      buffer.put((byte) encoded);
+    }
+    buffer.put((byte) 0);
+  }
+
+  private int dimacsVariable(int variable) {
+    if (variable >= dimacsVariables.length) {
+      int oldLength = dimacsVariables.length;
+      dimacsVariables = Arrays.copyOf(dimacsVariables, Math.max(variable + 1, variables.size()));
+      for (int i = oldLength; i < dimacsVariables.length; i++) {
+        dimacsVariables[i] = parseDimacsVariable(i);
+      }
+    }
+    return dimacsVariables[variable];
+  }
+
+  private int parseDimacsVariable(int variable) {
+    String name = variables.getName(variable);
+    if (name.length() > 1 && name.charAt(0) == 'l') {
+      try {
+        return Integer.parseInt(name.substring(1));
+      } catch (NumberFormatException ignored) {
+        // not a DIMACS variable
+      }
+    }
+    return variable + 1;
+  }
+
+  private void ensureRemaining(int bytes) {
+    if (buffer.remaining() < bytes) {
+      flush();
+    }
+  }
+
+  /** Writes the buffered part of the proof to the channel. */
+  public void flush() {
+    buffer.flip();
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not write DRAT proof", e);
+    } finally {
+      buffer.clear();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+    channel.close();
+  }
+
+  public long getAddedClauseCount() {
+    return addedClauseCount;
+  }
+
+  public long getDeletedClauseCount() {
+    return deletedClauseCount;
+  }
+}
@@ -0,0 +1,22 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+/**
+ * Connects a {@link DPLLCDCLSolver} to other solvers working on the same problem. The solver
+ * offers every clause it learns and imports the clauses of the others whenever it restarts.
+ * Literals are int literals of the {@link me.paultristanwagner.satchecking.sat.VariableTable}, so
+ * all solvers that exchange clauses must number their variables the same way.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public interface ClauseExchange {
+
+  /**
+   * Called for every learned clause. The exchange decides whether the clause is worth sharing. The
+   * array is not modified afterwards and may be kept.
+   */
+  void learned(int[] clause, int lbd);
+
+  /** Returns the next clause learned by another solver, or {@code null} if there is none. */
+  int[] poll();
+}
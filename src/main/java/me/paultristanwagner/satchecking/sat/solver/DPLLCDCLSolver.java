@@ -1,261 +1,1841 @@
 package me.paultristanwagner.satchecking.sat.solver;
 
+import me.paultristanwagner.satchecking.Config;
+import me.paultristanwagner.satchecking.SolverStatistics;
 import me.paultristanwagner.satchecking.sat.*;
-import org.apache.commons.lang3.tuple.Pair;
+import me.paultristanwagner.satchecking.sat.proof.DratWriter;
+import me.paultristanwagner.satchecking.sat.xor.GaussJordanElimination;
+import me.paultristanwagner.satchecking.sat.xor.XorConstraint;
+import me.paultristanwagner.satchecking.sat.xor.XorExplanation;
+import me.paultristanwagner.satchecking.sat.xor.XorRecovery;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
 
+import static me.paultristanwagner.satchecking.sat.ClauseArena.HEADER_SIZE;
+import static me.paultristanwagner.satchecking.sat.ClauseArena.NO_CLAUSE;
 import static me.paultristanwagner.satchecking.sat.Result.SAT;
 import static me.paultristanwagner.satchecking.sat.Result.UNSAT;
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.negate;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
 
-public class DPLLCDCLSolver implements SATSolver {
+public class DPLLCDCLSolver implements IncrementalSATSolver {
 
-  private static final boolean DEFAULT_DECISION_VALUE = false;
+  // Learned clauses up to this LBD are kept forever
+  private static final int CORE_LBD = 2;
+
+  // Learned clauses up to this LBD are kept as long as they take part in conflict analysis
+  private static final int TIER2_LBD = 6;
+
+  private static final int FIRST_REDUCTION = 2000;
+  private static final int REDUCTION_INCREMENT = 300;
+
+  private static final float CLAUSE_DECAY_FACTOR = 0.999f;
+  private static final float CLAUSE_RESCALE_LIMIT = 1e20f;
+
+  private static final int FIRST_INPROCESSING = 1000;
+  private static final int INPROCESSING_INCREMENT = 1000;
+
+  // Inprocessing may spend this fraction of the ticks the search used since the last inprocessing
+  private static final double INPROCESSING_EFFORT = 0.1;
+  private static final long MIN_INPROCESSING_TICKS = 10000;
+
+  private static final int FIRST_REPHASING = 1000;
+  private static final int REPHASING_INCREMENT = 1000;
+
+  // Local search may make a flip for this fraction of the ticks the search used since rephasing
+  private static final double REPHASING_EFFORT = 0.1;
+  private static final long MIN_REPHASING_FLIPS = 10000;
+
+  // Reasons of XOR propagation lie below this bound, far below the binary reasons
+  private static final int XOR_CONFLICT = Integer.MIN_VALUE;
+  private static final int XOR_REASON_LIMIT = Integer.MIN_VALUE / 2;
+
+  // Conflicts between two reports to the solver statistics
+  private static final int STATISTICS_INTERVAL = 256;
+
+  private final DecisionHeuristic heuristic;
+  private final RestartStrategy restartStrategy;
+  private boolean inprocessing;
+  private int chronologicalBacktrackingLimit;
+  private boolean rephasing;
+  private boolean xorReasoning;
+  private ClauseExchange clauseExchange;
+  private BooleanSupplier stopCondition;
+  private DratWriter proof;
+  private SolverStatistics statistics = SolverStatistics.get();
 
   private CNF cnf;
+  private VariableTable variables;
   private Assignment assignment;
 
-  private Map<Literal, List<Clause>> watchedInMap;
-  private Map<Clause, WatchedLiteralPair> watchedLiteralsMap;
+  // All clauses live in one arena; the two watched literals of a clause are kept at positions 0/1
+  private ClauseArena clauses;
+
+  // Watch lists indexed by int literal: watches[l] holds pairs of a clause watching l and a blocker
+  // literal of that clause. If the blocker is true the clause is satisfied and need not be visited.
+  private WatchList[] watches;
+
+  // Binary clauses are not watched but kept as implications indexed by int literal: if l becomes
+  // false, binaryImplications[l] holds pairs of the other literal and the clause reference. The
+  // reason of a literal implied this way is encoded inline, see binaryReason(int).
+  private WatchList[] binaryImplications;
+
+  private int conflictingClause = NO_CLAUSE;
+
+  // References of all learned clauses with more than two literals, whatever their tier
+  private final List<Integer> learnedClauses = new ArrayList<>();
+  private float clauseBumpAmount;
+  private long reductionInterval;
+  private long nextReduction;
+
+  // Whether nextModel() has returned a model that must be blocked before searching for the next
+  private boolean modelReturned;
+
+  // Literals assumed by solve(List). All assumptions before the cursor are true.
+  private int[] assumptions = new int[0];
+  private int assumptionCursor;
+  private final List<Literal> failedAssumptions = new ArrayList<>();
+
+  // Names of the variables models are projected onto, or null if models are not projected. The
+  // projection variables are decided before all others, in the order of their indices, and the
+  // cursor points to the first one that may be unassigned.
+  private Set<String> projectionNames;
+  private int[] projection = new int[0];
+  private boolean[] projected = new boolean[0];
+  private int projectionCursor;
+
+  // Literals that were assigned true but whose watches have not been visited yet. Binary
+  // implications of the queued literals are propagated ahead of the long clauses.
+  private int[] propagationQueue;
+  private int binaryQueueHead;
+  private int queueHead;
+  private int queueTail;
+
+  // Unit clauses added above decision level 0. Their literal is lost on backjumping, so they are
+  // re-asserted until they hold on level 0.
+  private final List<Integer> pendingUnitClauses = new ArrayList<>();
+
+  // Scratch space used while adding clauses
+  private int[] literalBuffer = new int[16];
+  private int[] literalStamps;
+  private int stamp;
+
+  // Scratch space of conflict analysis. A variable is seen if its entry equals the current stamp.
+  private int[] seen;
+  private int seenStamp;
+  private int[] learnedBuffer = new int[16];
+  private int[] minimizationStack = new int[16];
+  private int[] markedVariables = new int[16];
+
+  // Scratch space used to compute the LBD of learned clauses, indexed by decision level
+  private int[] levelStamps;
+  private int levelStamp;
+
+  // Number of watches and binary implications visited by unit propagation, used as a measure of work
+  private long ticks;
+  private long lastInprocessingTicks;
+  private long inprocessingInterval;
+  private long nextInprocessing;
+  private int probeCursor;
+
+  // Propagates the XOR constraints encoded by the clauses, null if there are none
+  private GaussJordanElimination gaussJordan;
+  private final List<XorExplanation> xorPropagations = new ArrayList<>();
+
+  // Literals implied by XOR propagation keep the explanation as a lazy reason, encoded like
+  // binary reasons as a number below NO_CLAUSE, see xorReason(int). The clause of the explanation
+  // is built the first time the reason is read and cached by variable.
+  private XorExplanation[] xorExplanations = new XorExplanation[0];
+  private int[][] xorReasonClauses = new int[0][];
+  private int[] xorConflict;
+
+  // The int literals of the clauses of the problem, which local search walks on. The shared clause
+  // objects are only encoded on load, since portfolio workers encode them with their own tables.
+  private final List<int[]> problemClauses = new ArrayList<>();
+
+  private LocalSearchSolver localSearch;
+  private int localSearchClauseCount;
+  private int localSearchVariableCount;
+  private long lastRephasingTicks;
+  private long rephasingInterval;
+  private long nextRephasing;
+
+  private long conflictCount;
+  private long restartCount;
+  private long deletedClauseCount;
+  private long inprocessingCount;
+  private long failedLiteralCount;
+  private long equivalentLiteralCount;
+  private long vivifiedClauseCount;
+  private long vivifiedLiteralCount;
+  private long decisionCount;
+  private long propagationCount;
+  private long totalLearnedClauseCount;
+  private long chronologicalBacktrackCount;
+  private long rephaseCount;
+  private long xorPropagationCount;
+  private long xorExplanationCount;
+
+  // Counts already added to the statistics
+  private long reportedDecisions;
+  private long reportedPropagations;
+  private long reportedConflicts;
+  private long reportedRestarts;
+  private long reportedLearnedClauses;
+  private long reportedDeletedClauses;
+  private long nextReport;
+
+  public DPLLCDCLSolver() {
+    this(Config.get().getDecisionHeuristic(), Config.get().getRestartStrategy());
+  }
+
+  public DPLLCDCLSolver(DecisionHeuristic heuristic) {
+    this(heuristic, Config.get().getRestartStrategy());
+  }
+
+  public DPLLCDCLSolver(DecisionHeuristic heuristic, RestartStrategy restartStrategy) {
+    this.heuristic = heuristic;
+    this.restartStrategy = restartStrategy;
+    this.inprocessing = Config.get().inprocessing();
+    this.chronologicalBacktrackingLimit = Config.get().getChronologicalBacktrackingLimit();
+    this.rephasing = Config.get().rephasing();
+    this.xorReasoning = Config.get().xorReasoning();
+  }
+
+  /** Shares learned clauses with other solvers through {@code clauseExchange}. */
+  public void setClauseExchange(ClauseExchange clauseExchange) {
+    this.clauseExchange = clauseExchange;
+  }
+
+  /**
+   * Makes the search stop with a {@link CancellationException} as soon as {@code stopCondition}
+   * holds, like it does when the thread is interrupted.
+   */
+  public void setStopCondition(BooleanSupplier stopCondition) {
+    this.stopCondition = stopCondition;
+  }
+
+  /**
+   * Logs every clause the solver derives or deletes to {@code proof}, so that unsatisfiability of
+   * the loaded CNF can be certified. Clauses added from the outside, like blocking clauses of
+   * enumerated models, are not part of the proof, hence it only certifies the first result. The
+   * caller closes the proof.
+   */
+  public void setProof(DratWriter proof) {
+    this.proof = proof;
+    if (proof != null && variables != null) {
+      proof.setVariableTable(variables);
+    }
+  }
+
+  /**
+   * Reports the work of this solver to {@code statistics} instead of the statistics of the process,
+   * or to nowhere if it is {@code null}.
+   */
+  public void setStatistics(SolverStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Enumerates models projected onto the variables with the given names: {@link #nextModel()}
+   * returns one model for every assignment of these variables that can be extended to a model,
+   * and assigns the other variables to some extension. The projection variables are decided
+   * before all others, so their values are determined by the decisions taken on them. Blocking
+   * just these decisions excludes exactly the current projected model, which keeps the blocking
+   * clauses short. Passing {@code null} enumerates all models again.
+   */
+  public void setProjection(Collection<String> variableNames) {
+    this.projectionNames = variableNames == null ? null : new LinkedHashSet<>(variableNames);
+    if (variables != null) {
+      loadProjection();
+    }
+  }
+
+  private void loadProjection() {
+    projected = new boolean[variables.size()];
+    if (projectionNames == null) {
+      projection = new int[0];
+      return;
+    }
+
+    List<Integer> projectionVariables = new ArrayList<>();
+    for (String name : projectionNames) {
+      int variable = variables.indexOf(name);
+      if (variable != -1 && !projected[variable]) {
+        projected[variable] = true;
+        projectionVariables.add(variable);
+      }
+    }
+    Collections.sort(projectionVariables);
+    projection = projectionVariables.stream().mapToInt(Integer::intValue).toArray();
+    projectionCursor = 0;
+  }
+
+  /** Enables or disables failed literal probing and vivification between restarts. */
+  public void setInprocessing(boolean inprocessing) {
+    this.inprocessing = inprocessing;
+  }
+
+  /**
+   * Makes the solver backtrack only a single level after a conflict whose learned clause would jump
+   * back more than {@code limit} levels, so that the assignments in between are not lost. Implied
+   * literals are then assigned on the highest level of their reason, which may lie below the
+   * current level. A negative limit disables chronological backtracking.
+   */
+  public void setChronologicalBacktrackingLimit(int limit) {
+    this.chronologicalBacktrackingLimit = limit;
+  }
+
+  /**
+   * Enables or disables rephasing: every now and then at a restart, local search starts from the
+   * saved phases and the best assignment it finds becomes the new saved phases.
+   */
+  public void setRephasing(boolean rephasing) {
+    this.rephasing = rephasing;
+  }
+
+  /**
+   * Enables or disables the propagation of XOR constraints that are recovered from the clauses on
+   * {@link #load(CNF)}. It only takes effect on the next load.
+   */
+  public void setXorReasoning(boolean xorReasoning) {
+    this.xorReasoning = xorReasoning;
+  }
+
+  @Override
+  public void load(CNF cnf) {
+    this.cnf = cnf;
+    this.variables = cnf.getVariableTable();
+    this.assignment = new Assignment(variables);
+    this.clauses = new ClauseArena();
+    this.watches = new WatchList[0];
+    this.binaryImplications = new WatchList[0];
+    this.literalStamps = new int[0];
+    this.levelStamps = new int[0];
+    this.seen = new int[0];
+    this.propagationQueue = new int[0];
+    this.binaryQueueHead = 0;
+    this.queueHead = 0;
+    this.queueTail = 0;
+    this.conflictingClause = NO_CLAUSE;
+    this.modelReturned = false;
+    this.assumptions = new int[0];
+    this.assumptionCursor = 0;
+    this.failedAssumptions.clear();
+    this.pendingUnitClauses.clear();
+    this.learnedClauses.clear();
+    this.problemClauses.clear();
+    this.clauseBumpAmount = 1f;
+    this.reductionInterval = FIRST_REDUCTION;
+    this.nextReduction = FIRST_REDUCTION;
+    this.ticks = 0;
+    this.lastInprocessingTicks = 0;
+    this.inprocessingInterval = FIRST_INPROCESSING;
+    this.nextInprocessing = FIRST_INPROCESSING;
+    this.probeCursor = 0;
+    this.localSearch = null;
+    this.lastRephasingTicks = 0;
+    this.rephasingInterval = FIRST_REPHASING;
+    this.nextRephasing = FIRST_REPHASING;
+    this.conflictCount = 0;
+    this.restartCount = 0;
+    this.deletedClauseCount = 0;
+    this.inprocessingCount = 0;
+    this.failedLiteralCount = 0;
+    this.equivalentLiteralCount = 0;
+    this.vivifiedClauseCount = 0;
+    this.vivifiedLiteralCount = 0;
+    this.decisionCount = 0;
+    this.propagationCount = 0;
+    this.totalLearnedClauseCount = 0;
+    this.chronologicalBacktrackCount = 0;
+    this.rephaseCount = 0;
+    this.xorPropagationCount = 0;
+    this.xorExplanationCount = 0;
+    this.reportedDecisions = 0;
+    this.reportedPropagations = 0;
+    this.reportedConflicts = 0;
+    this.reportedRestarts = 0;
+    this.reportedLearnedClauses = 0;
+    this.reportedDeletedClauses = 0;
+    this.nextReport = STATISTICS_INTERVAL;
+    this.heuristic.load(variables.size());
+    this.restartStrategy.reset();
+    ensureVariableCapacity();
+    loadProjection();
+    if (proof != null) {
+      proof.setVariableTable(variables);
+    }
+
+    for (Clause clause : cnf.getClauses()) {
+      int[] literals = clause.encode(variables);
+      problemClauses.add(literals);
+      addClause(literals, false);
+    }
+    loadXorConstraints();
+  }
+
+  /**
+   * Recovers the XOR constraints encoded by the clauses and sets up their Gauss-Jordan elimination,
+   * unless there are only equivalences, which binary clauses propagate just as well. The clauses
+   * explaining XOR propagation are not RUP, so nothing is recovered if a proof is written.
+   */
+  private void loadXorConstraints() {
+    gaussJordan = null;
+    xorPropagations.clear();
+    xorConflict = null;
+    if (!xorReasoning || proof != null) {
+      return;
+    }
+
+    List<XorConstraint> constraints = XorRecovery.recover(cnf);
+    if (constraints.stream().allMatch(constraint -> constraint.size() <= 2)) {
+      return;
+    }
+    gaussJordan = new GaussJordanElimination(constraints, variables.size());
+    xorExplanations = new XorExplanation[variables.size()];
+    xorReasonClauses = new int[variables.size()][];
+    xorPropagations.addAll(gaussJordan.initialExplanations());
+    propagateXor();
+  }
+
+  /**
+   * Assigns the literals implied by XOR propagation with their explanation as reason, until one of
+   * the explanations is conflicting. No clauses are added, so the explanations neither take up
+   * space in the arena nor count as learned clauses.
+   */
+  private void propagateXor() {
+    for (XorExplanation explanation : xorPropagations) {
+      if (conflictingClause != NO_CLAUSE) {
+        break;
+      }
+
+      int literal = explanation.getLiteral();
+      if (explanation.isConflict() || assignment.isFalse(literal)) {
+        xorConflict = explanation.toClause(assignment);
+        xorExplanationCount++;
+        conflictingClause = XOR_CONFLICT;
+      } else if (!assignment.isTrue(literal)) {
+        xorExplanations[variable(literal)] = explanation;
+        xorReasonClauses[variable(literal)] = null;
+        xorPropagationCount++;
+        enqueue(literal, xorReason(variable(literal)));
+      }
+    }
+    xorPropagations.clear();
+  }
+
+  private void ensureVariableCapacity() {
+    int variableCount = variables.size();
+    heuristic.ensureCapacity(variableCount);
+    if (projectionNames != null && projected.length < variableCount) {
+      // Clauses added from the outside may introduce projection variables
+      loadProjection();
+    }
+    if (seen.length >= variableCount) {
+      return;
+    }
+
+    int oldLiteralCount = watches.length;
+    watches = Arrays.copyOf(watches, 2 * variableCount);
+    binaryImplications = Arrays.copyOf(binaryImplications, 2 * variableCount);
+    for (int i = oldLiteralCount; i < watches.length; i++) {
+      watches[i] = new WatchList();
+      binaryImplications[i] = new WatchList();
+    }
+    literalStamps = Arrays.copyOf(literalStamps, 2 * variableCount);
+    levelStamps = Arrays.copyOf(levelStamps, variableCount + 1);
+    seen = Arrays.copyOf(seen, variableCount);
+    propagationQueue = Arrays.copyOf(propagationQueue, variableCount);
+  }
+
+  /**
+   * Adds a clause to the arena and watches it according to the current assignment. Duplicate
+   * literals are removed and tautologies are dropped, in which case {@code NO_CLAUSE} is returned.
+   * If the clause is conflicting it becomes the conflicting clause, if it is unit its literal is
+   * propagated.
+   */
+  private int addClause(int[] literals, boolean learned) {
+    int length = removeDuplicateLiterals(literals);
+    if (length == -1) {
+      return NO_CLAUSE;
+    }
+
+    int ref = clauses.add(literalBuffer, length, learned);
+    if (length == 0) {
+      conflictingClause = ref;
+      return ref;
+    }
+
+    if (length == 1) {
+      int literal = clauses.literal(ref, 0);
+      if (assignment.isFalse(literal)) {
+        conflictingClause = ref;
+      } else if (!assignment.isTrue(literal)) {
+        enqueue(literal, ref);
+      }
+
+      if (assignment.getDecisionLevel() > 0) {
+        pendingUnitClauses.add(ref);
+      }
+      return ref;
+    }
+
+    moveWatchCandidatesToFront(ref);
+    watch(ref);
+
+    int first = clauses.literal(ref, 0);
+    int second = clauses.literal(ref, 1);
+    if (assignment.isFalse(first)) {
+      conflictingClause = ref;
+    } else if (!assignment.isTrue(first) && assignment.isFalse(second)) {
+      enqueue(first, length == 2 ? binaryReason(second) : ref);
+    }
+    return ref;
+  }
+
+  /**
+   * Copies {@code literals} into the literal buffer without duplicates and returns the resulting
+   * length, or {@code -1} if the clause contains a literal and its negation.
+   */
+  private int removeDuplicateLiterals(int[] literals) {
+    if (literalBuffer.length < literals.length) {
+      literalBuffer = new int[Math.max(literals.length, 2 * literalBuffer.length)];
+    }
+
+    stamp++;
+    int length = 0;
+    for (int literal : literals) {
+      if (literalStamps[negate(literal)] == stamp) {
+        return -1;
+      }
+      if (literalStamps[literal] != stamp) {
+        literalStamps[literal] = stamp;
+        literalBuffer[length++] = literal;
+      }
+    }
+    return length;
+  }
+
+  /**
+   * Moves the two literals that are best suited to be watched to positions 0 and 1: true and
+   * unassigned literals first, then false literals with the highest decision level.
+   */
+  private void moveWatchCandidatesToFront(int ref) {
+    int size = clauses.size(ref);
+    for (int position = 0; position < 2; position++) {
+      int best = position;
+      for (int i = position + 1; i < size; i++) {
+        if (watchRank(clauses.literal(ref, i)) > watchRank(clauses.literal(ref, best))) {
+          best = i;
+        }
+      }
+      clauses.swapLiterals(ref, position, best);
+    }
+  }
+
+  private int watchRank(int literal) {
+    if (!assignment.isFalse(literal)) {
+      return Integer.MAX_VALUE;
+    }
+    return assignment.getAssignmentLevelOf(variable(literal));
+  }
+
+  private void watch(int ref) {
+    int first = clauses.literal(ref, 0);
+    int second = clauses.literal(ref, 1);
+    if (clauses.size(ref) == 2) {
+      binaryImplications[first].add(second);
+      binaryImplications[first].add(ref);
+      binaryImplications[second].add(first);
+      binaryImplications[second].add(ref);
+      return;
+    }
+
+    watches[first].add(ref);
+    watches[first].add(second);
+    watches[second].add(ref);
+    watches[second].add(first);
+  }
+
+  /**
+   * Encodes the reason of a literal implied by a binary clause as a negative number below {@code
+   * NO_CLAUSE}. Only the other literal of the clause is needed for conflict analysis.
+   */
+  private static int binaryReason(int otherLiteral) {
+    return -2 - otherLiteral;
+  }
+
+  private static boolean isBinaryReason(int reason) {
+    return reason < NO_CLAUSE && reason > XOR_REASON_LIMIT;
+  }
+
+  /**
+   * Encodes the reason of a literal implied by XOR propagation as a number far below the binary
+   * reasons. The explanation itself is kept in {@code xorExplanations} by variable.
+   */
+  private static int xorReason(int variable) {
+    return XOR_CONFLICT + 1 + variable;
+  }
+
+  private static boolean isXorReason(int reason) {
+    return reason <= XOR_REASON_LIMIT;
+  }
+
+  /** Returns the clause of an XOR reason or of the XOR conflict, building it on first use. */
+  private int[] xorClause(int reason) {
+    if (reason == XOR_CONFLICT) {
+      return xorConflict;
+    }
+    int variable = reason - XOR_CONFLICT - 1;
+    int[] clause = xorReasonClauses[variable];
+    if (clause == null) {
+      clause = xorExplanations[variable].toClause(assignment);
+      xorReasonClauses[variable] = clause;
+      xorExplanationCount++;
+    }
+    return clause;
+  }
+
+  /** Returns the number of literals of a reason, without the literal it implied for binaries. */
+  private int reasonSize(int reason) {
+    if (isXorReason(reason)) {
+      return xorClause(reason).length;
+    }
+    return isBinaryReason(reason) ? 1 : clauses.size(reason);
+  }
+
+  private int reasonLiteral(int reason, int index) {
+    if (isXorReason(reason)) {
+      return xorClause(reason)[index];
+    }
+    return isBinaryReason(reason) ? -2 - reason : clauses.literal(reason, index);
+  }
+
+  /**
+   * Assigns {@code literal} to true with the given antecedent, on the current decision level or,
+   * with chronological backtracking, on the highest level among the other literals of the reason.
+   */
+  private void enqueue(int literal, int reason) {
+    if (chronologicalBacktrackingLimit < 0) {
+      assignment.propagate(literal, reason);
+    } else {
+      assignment.propagate(literal, reason, impliedLevel(literal, reason));
+    }
+    propagationQueue[queueTail++] = literal;
+  }
+
+  private int impliedLevel(int literal, int reason) {
+    if (isXorReason(reason)) {
+      // Keeps the explanation lazy
+      return xorExplanations[variable(literal)].getLevel(assignment);
+    }
+
+    int currentLevel = assignment.getDecisionLevel();
+    int level = 0;
+    int size = reasonSize(reason);
+    for (int i = 0; i < size && level < currentLevel; i++) {
+      int other = reasonLiteral(reason, i);
+      if (other != literal) {
+        level = Math.max(level, assignment.getAssignmentLevelOf(variable(other)));
+      }
+    }
+    return level;
+  }
+
+  private boolean hasPendingPropagations() {
+    return queueHead < queueTail;
+  }
+
+  @Override
+  public void addClause(Clause clause) {
+    if (cnf == null) {
+      load(new CNF(new ArrayList<>()));
+    }
+
+    // The clause is added on level 0, so that it cannot be lost by backjumping
+    backToLevelZero();
+    modelReturned = false;
+    learnExternalClause(clause);
+  }
+
+  /**
+   * Decides the assumptions before any other variable, in the given order. If an assumption is
+   * false when it is about to be decided, the assumptions it depends on are collected as failed
+   * assumptions. Learned clauses and the state of the decision heuristic are kept.
+   */
+  @Override
+  public Result solve(List<Literal> assumptions) {
+    if (cnf == null) {
+      load(new CNF(new ArrayList<>()));
+    }
+
+    backToLevelZero();
+    modelReturned = false;
+    failedAssumptions.clear();
+    this.assumptions = new int[assumptions.size()];
+    for (int i = 0; i < this.assumptions.length; i++) {
+      this.assumptions[i] = variables.encode(assumptions.get(i));
+    }
+    this.assumptionCursor = 0;
+    ensureVariableCapacity();
+
+    return check();
+  }
+
+  /**
+   * Undoes all decisions. On level 0 nothing is undone, since backjumping would drop the
+   * propagations that are still queued.
+   */
+  private void backToLevelZero() {
+    if (assignment.getDecisionLevel() > 0) {
+      backjump(0);
+    }
+  }
+
+  @Override
+  public List<Literal> getFailedAssumptions() {
+    return new ArrayList<>(failedAssumptions);
+  }
+
+  @Override
+  public Assignment nextModel() {
+    // Models are enumerated without assumptions
+    assumptions = new int[0];
+    assumptionCursor = 0;
+
+    if (modelReturned) {
+      // block the last assignment
+      blockCurrentAssignment();
+      resolveConflict();
+    }
+
+    Result result = check();
+    if (!result.isSatisfiable()) {
+      modelReturned = false;
+      return null;
+    }
+    modelReturned = true;
+    return result.getAssignment();
+  }
+
+  private void blockCurrentAssignment() {
+    int[] blockingClause;
+    if (projectionNames == null) {
+      blockingClause = assignment.not().encode(variables);
+    } else {
+      blockingClause = projectedBlockingClause();
+    }
+    int ref = addClause(blockingClause, false);
+    if (ref != NO_CLAUSE) {
+      conflictingClause = ref;
+    }
+  }
+
+  /**
+   * Returns the negations of the decisions on projection variables. These are the lowest decisions,
+   * and all projection variables are assigned on their levels or below.
+   */
+  private int[] projectedBlockingClause() {
+    int[] blockingClause = new int[assignment.getDecisionLevel()];
+    int length = 0;
+    for (int level = 1; level <= assignment.getDecisionLevel(); level++) {
+      int decision = assignment.getTrailLiteral(assignment.getLevelStart(level));
+      int variable = variable(decision);
+      if (variable >= projected.length || !projected[variable]) {
+        break;
+      }
+      blockingClause[length++] = negate(decision);
+    }
+    return Arrays.copyOf(blockingClause, length);
+  }
+
+  public PartialAssignment nextPartialAssignment() {
+    // Propagate the consequences of clauses excluded since the last call before deciding again
+    if (!assignment.isEmpty() && !hasPendingPropagations()) {
+      int decision = heuristic.nextDecision(assignment);
+      if (decision == -1) {
+        throw new IllegalStateException("Cannot decide because all literals are assigned");
+      }
+      decide(decision);
+    }
+
+    while (!bcp()) {
+      if (!resolveConflict()) {
+        reportStatistics();
+        return null;
+      }
+    }
+
+    reportStatistics();
+    if (assignment.fits(cnf)) {
+      return PartialAssignment.complete(assignment);
+    } else {
+      return PartialAssignment.incomplete(assignment);
+    }
+  }
+
+  public static Result check(CNF cnf) {
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.load(cnf);
+    return solver.check();
+  }
+
+  /**
+   * Searches for a model or a proof of unsatisfiability. If the thread is interrupted, the search
+   * stops with a {@link CancellationException} at a point where no conflict is pending, so the
+   * solver can be used again afterwards. The same happens if the stop condition holds.
+   */
+  private Result check() {
+    try {
+      return search();
+    } finally {
+      reportStatistics();
+    }
+  }
+
+  private Result search() {
+    while (!bcp()) {
+      if (!resolveConflict()) {
+        return UNSAT;
+      }
+    }
+
+    while (true) {
+      if (Thread.currentThread().isInterrupted()
+          || (stopCondition != null && stopCondition.getAsBoolean())) {
+        throw new CancellationException("The search was interrupted");
+      }
+
+      if (conflictCount >= nextReduction) {
+        reduceLearnedClauses();
+      }
+
+      if (conflictCount >= nextReport) {
+        reportStatistics();
+      }
+
+      if (inprocessing && conflictCount >= nextInprocessing) {
+        restart();
+        if (!inprocess()) {
+          return UNSAT;
+        }
+      } else if (rephasing && conflictCount >= nextRephasing) {
+        restart();
+        rephase();
+      } else if (restartStrategy.shouldRestart()) {
+        restart();
+      } else {
+        while (assumptionCursor < assumptions.length
+            && assignment.isTrue(assumptions[assumptionCursor])) {
+          assumptionCursor++;
+        }
+
+        if (assumptionCursor < assumptions.length) {
+          int assumption = assumptions[assumptionCursor];
+          if (assignment.isFalse(assumption)) {
+            analyzeFailedAssumption(assumption);
+            return UNSAT;
+          }
+          decide(assumption);
+        } else {
+          int decision = nextProjectionDecision();
+          if (decision == -1) {
+            decision = heuristic.nextDecision(assignment);
+          }
+          if (decision == -1) {
+            return SAT(assignment);
+          }
+          decide(decision);
+        }
+      }
+
+      while (!bcp()) {
+        if (!resolveConflict()) {
+          return UNSAT;
+        }
+      }
+    }
+  }
+
+  /** Adds the work done since the last report to the statistics. */
+  private void reportStatistics() {
+    nextReport = conflictCount + STATISTICS_INTERVAL;
+    if (statistics == null) {
+      return;
+    }
+
+    statistics.recordSearch(
+        decisionCount - reportedDecisions,
+        propagationCount - reportedPropagations,
+        conflictCount - reportedConflicts,
+        restartCount - reportedRestarts,
+        totalLearnedClauseCount - reportedLearnedClauses,
+        deletedClauseCount - reportedDeletedClauses);
+    reportedDecisions = decisionCount;
+    reportedPropagations = propagationCount;
+    reportedConflicts = conflictCount;
+    reportedRestarts = restartCount;
+    reportedLearnedClauses = totalLearnedClauseCount;
+    reportedDeletedClauses = deletedClauseCount;
+  }
+
+  /** Returns the negative literal of the first unassigned projection variable, if any. */
+  private int nextProjectionDecision() {
+    while (projectionCursor < projection.length
+        && assignment.assigns(projection[projectionCursor])) {
+      projectionCursor++;
+    }
+    if (projectionCursor == projection.length) {
+      return -1;
+    }
+    return literal(projection[projectionCursor], true);
+  }
+
+  /**
+   * Undoes all decisions. Learned clauses are kept and the decision heuristic remembers the
+   * activities and phases of the unassigned variables.
+   */
+  private void restart() {
+    restartStrategy.restarted();
+    if (assignment.getDecisionLevel() > 0) {
+      backjump(0);
+      restartCount++;
+    }
+    importSharedClauses();
+  }
+
+  /**
+   * Adds the clauses other solvers have shared as learned clauses. This happens on decision level
+   * 0, where they cannot be conflicting or unit on a higher level. Their LBD is not known, so the
+   * length of a clause is used instead.
+   */
+  private void importSharedClauses() {
+    if (clauseExchange == null) {
+      return;
+    }
+
+    int[] shared;
+    while ((shared = clauseExchange.poll()) != null) {
+      int ref = addClause(shared, true);
+      if (ref != NO_CLAUSE && clauses.size(ref) > 2) {
+        int lbd = Math.min(clauses.size(ref), TIER2_LBD);
+        clauses.setLbd(ref, lbd);
+        clauses.setTier(ref, tierOf(lbd));
+        learnedClauses.add(ref);
+      }
+    }
+  }
+
+  private void decide(int literal) {
+    // Open a new decision level with the chosen literal and watch out for its consequences
+    int variable = variable(literal);
+    assignment.assign(variable, !isNegated(literal));
+    propagationQueue[queueTail++] = literal;
+    decisionCount++;
+  }
+
+  private boolean bcp() {
+    while (conflictingClause == NO_CLAUSE && queueHead < queueTail) {
+      while (conflictingClause == NO_CLAUSE && binaryQueueHead < queueTail) {
+        propagateBinary(negate(propagationQueue[binaryQueueHead++]));
+      }
+      if (conflictingClause != NO_CLAUSE) {
+        break;
+      }
+
+      int literal = propagationQueue[queueHead++];
+      propagate(negate(literal));
+      propagationCount++;
+
+      if (gaussJordan != null && conflictingClause == NO_CLAUSE) {
+        gaussJordan.assign(variable(literal), !isNegated(literal), xorPropagations);
+        propagateXor();
+      }
+    }
+
+    if (conflictingClause != NO_CLAUSE) {
+      return false;
+    }
+
+    binaryQueueHead = 0;
+    queueHead = 0;
+    queueTail = 0;
+    return true;
+  }
+
+  /** Assigns the literals implied by binary clauses now that {@code falseLiteral} is false. */
+  private void propagateBinary(int falseLiteral) {
+    WatchList implications = binaryImplications[falseLiteral];
+    int size = implications.size();
+    ticks += size >> 1;
+    for (int i = 0; i < size; i += 2) {
+      int literal = implications.get(i);
+      if (assignment.isTrue(literal)) {
+        continue;
+      }
+
+      if (assignment.isFalse(literal)) {
+        conflictingClause = implications.get(i + 1);
+        return;
+      }
+      enqueue(literal, binaryReason(falseLiteral));
+    }
+  }
+
+  /**
+   * Visits all clauses watching {@code falseLiteral}, which has just been assigned false. Each
+   * clause either finds a new watch, is satisfied by its other watch, becomes unit or conflicting.
+   */
+  private void propagate(int falseLiteral) {
+    WatchList watchList = watches[falseLiteral];
+    int[] data = clauses.getData();
+
+    int size = watchList.size();
+    ticks += size >> 1;
+    int i = 0;
+    int j = 0;
+    while (i < size) {
+      int ref = watchList.get(i);
+      int blocker = watchList.get(i + 1);
+      i += 2;
+      if (assignment.isTrue(blocker)) {
+        watchList.set(j++, ref);
+        watchList.set(j++, blocker);
+        continue;
+      }
+
+      int offset = ref + HEADER_SIZE;
+
+      // Make sure the false literal is at position 1
+      if (data[offset] == falseLiteral) {
+        data[offset] = data[offset + 1];
+        data[offset + 1] = falseLiteral;
+      }
+
+      int first = data[offset];
+      if (first != blocker && assignment.isTrue(first)) {
+        watchList.set(j++, ref);
+        watchList.set(j++, first);
+        continue;
+      }
+
+      // Look for a new literal to watch
+      int clauseSize = clauses.size(ref);
+      boolean foundWatch = false;
+      for (int k = 2; k < clauseSize; k++) {
+        int literal = data[offset + k];
+        if (!assignment.isFalse(literal)) {
+          data[offset + 1] = literal;
+          data[offset + k] = falseLiteral;
+          watches[literal].add(ref);
+          watches[literal].add(first);
+          foundWatch = true;
+          break;
+        }
+      }
+      if (foundWatch) {
+        continue;
+      }
+
+      // The clause is unit or conflicting and keeps watching the false literal
+      watchList.set(j++, ref);
+      watchList.set(j++, first);
+      if (assignment.isFalse(first)) {
+        conflictingClause = ref;
+        while (i < size) {
+          watchList.set(j++, watchList.get(i++));
+        }
+      } else {
+        enqueue(first, ref);
+      }
+    }
+    watchList.truncate(j);
+  }
+
+  private boolean resolveConflict() {
+    int conflict = conflictingClause;
+
+    // A clause added from the outside may be falsified entirely below the current decision level.
+    // Jump to the highest level among its literals first so that the analysis below is well-formed.
+    int conflictLevel = 0;
+    for (int i = 0; i < reasonSize(conflict); i++) {
+      int level = assignment.getAssignmentLevelOf(variable(reasonLiteral(conflict, i)));
+      conflictLevel = Math.max(conflictLevel, level);
+    }
+    if (conflictLevel == 0) {
+      if (proof != null) {
+        proof.add(new int[0]);
+      }
+      return false;
+    }
+    if (conflictLevel < assignment.getDecisionLevel()) {
+      backjump(conflictLevel);
+    }
+    // Re-asserting unit clauses on this backjump may have flagged the conflict again
+    conflictingClause = NO_CLAUSE;
+
+    int[] currentClause = analyze(conflict);
+    int assertingLiteral = currentClause[0];
+
+    // Move the literal with the second-highest assignment level to position 1, so that it is
+    // watched together with the asserting literal
+    int targetLevel = 0;
+    for (int i = 1; i < currentClause.length; i++) {
+      int literal = currentClause[i];
+      int level = assignment.getAssignmentLevelOf(variable(literal));
+      if (level > targetLevel) {
+        targetLevel = level;
+        currentClause[i] = currentClause[1];
+        currentClause[1] = literal;
+      }
+    }
+
+    for (int literal : currentClause) {
+      heuristic.bump(variable(literal));
+    }
+    heuristic.decay();
+    conflictCount++;
+    int lbd = computeLBD(currentClause, 0, currentClause.length);
+    restartStrategy.conflict(lbd);
+
+    // Backtracking chronologically keeps the levels in between, the asserting literal is then
+    // assigned out of order on the target level
+    int backtrackLevel = targetLevel;
+    if (chronologicalBacktrackingLimit >= 0
+        && assignment.getDecisionLevel() - targetLevel > chronologicalBacktrackingLimit) {
+      backtrackLevel = assignment.getDecisionLevel() - 1;
+      chronologicalBacktrackCount++;
+    }
+    backjump(backtrackLevel);
+
+    int ref = clauses.add(currentClause, currentClause.length, true);
+    totalLearnedClauseCount++;
+    if (proof != null) {
+      proof.add(currentClause);
+    }
+    if (clauseExchange != null) {
+      clauseExchange.learned(currentClause, lbd);
+    }
+    int reason = ref;
+    if (currentClause.length == 2) {
+      watch(ref);
+      reason = binaryReason(currentClause[1]);
+    } else if (currentClause.length > 2) {
+      watch(ref);
+      clauses.setLbd(ref, lbd);
+      clauses.setTier(ref, tierOf(lbd));
+      bumpClause(ref);
+      learnedClauses.add(ref);
+    }
+    clauseBumpAmount /= CLAUSE_DECAY_FACTOR;
+
+    // Re-asserted unit clauses may already have decided the asserting literal
+    if (assignment.isFalse(assertingLiteral)) {
+      conflictingClause = ref;
+    } else if (!assignment.isTrue(assertingLiteral)) {
+      enqueue(assertingLiteral, reason);
+    }
 
-  private Clause conflictingClause;
-  private final Queue<Pair<Clause, Literal>> unitClauses = new ArrayDeque<>();
+    return true;
+  }
 
-  @Override
-  public void load(CNF cnf) {
-    this.cnf = cnf;
-    this.assignment = new Assignment();
-    this.watchedInMap = new HashMap<>();
-    this.watchedLiteralsMap = new HashMap<>();
+  private void backjump(int level) {
+    int keptFrom = assignment.getTrailSize();
+    if (assignment.getDecisionLevel() > level) {
+      keptFrom = assignment.getLevelStart(level + 1);
+      for (int i = keptFrom; i < assignment.getTrailSize(); i++) {
+        int literal = assignment.getTrailLiteral(i);
+        if (assignment.getAssignmentLevelOf(variable(literal)) > level) {
+          heuristic.unassigned(variable(literal), !isNegated(literal));
+        }
+      }
+      // Kept literals are propagated again below, XOR propagation included
+      unassignXor(keptFrom);
+      assignment.backtrack(level);
+    }
 
-    initializeWatchedLiterals();
-  }
+    binaryQueueHead = 0;
+    queueHead = 0;
+    queueTail = 0;
+    projectionCursor = 0;
 
-  private void initializeWatchedLiterals() {
-    for (Clause clause : cnf.getClauses()) {
-      initializeWatchedLiterals(clause);
+    // Out-of-order literals that stay assigned are propagated again, since clauses watching them
+    // may have lost their true literal
+    for (int i = keptFrom; i < assignment.getTrailSize(); i++) {
+      propagationQueue[queueTail++] = assignment.getTrailLiteral(i);
+    }
+
+    // An assumption with index i is true on a level of at most i + 1, so the first ones still hold
+    assumptionCursor = Math.min(assumptionCursor, level);
+
+    for (Iterator<Integer> iterator = pendingUnitClauses.iterator(); iterator.hasNext(); ) {
+      int ref = iterator.next();
+      int literal = clauses.literal(ref, 0);
+      if (assignment.isFalse(literal)) {
+        conflictingClause = ref;
+      } else if (!assignment.isTrue(literal)) {
+        enqueue(literal, ref);
+      }
+      if (level == 0) {
+        iterator.remove();
+      }
     }
   }
 
-  private void initializeWatchedLiterals(Clause clause) {
-    WatchedLiteralPair wlp = new WatchedLiteralPair(clause, assignment);
-    watchedLiteralsMap.put(clause, wlp);
+  /**
+   * Marks a learned clause that takes part in conflict analysis as used, bumps its activity and
+   * moves it to a better tier if its LBD has decreased.
+   */
+  private void touchClause(int ref) {
+    if (ref < 0 || !clauses.isLearned(ref) || clauses.size(ref) <= 2) {
+      return;
+    }
 
-    for (Literal literal : wlp.getWatched()) {
-      List<Clause> watchedIn = watchedInMap.getOrDefault(literal, new ArrayList<>());
-      watchedIn.add(clause);
-      watchedInMap.put(literal, watchedIn);
+    clauses.setUsed(ref, true);
+    bumpClause(ref);
+
+    int lbd = computeLBD(clauses.getData(), ref + HEADER_SIZE, clauses.size(ref));
+    if (lbd < clauses.getLbd(ref)) {
+      clauses.setLbd(ref, lbd);
+      clauses.setTier(ref, Math.min(clauses.getTier(ref), tierOf(lbd)));
     }
+  }
 
-    Literal unitLiteral = wlp.getUnitLiteral(assignment);
-    if (unitLiteral != null) {
-      unitClauses.add(Pair.of(clause, unitLiteral));
+  private void bumpClause(int ref) {
+    float activity = clauses.getActivity(ref) + clauseBumpAmount;
+    clauses.setActivity(ref, activity);
+    if (activity > CLAUSE_RESCALE_LIMIT) {
+      for (int learned : learnedClauses) {
+        clauses.setActivity(learned, clauses.getActivity(learned) / CLAUSE_RESCALE_LIMIT);
+      }
+      clauses.setActivity(ref, clauses.getActivity(ref) / CLAUSE_RESCALE_LIMIT);
+      clauseBumpAmount /= CLAUSE_RESCALE_LIMIT;
     }
   }
 
-  @Override
-  public Assignment nextModel() {
-    if (!assignment.isEmpty()) {
-      unitClauses.clear();
+  private static int tierOf(int lbd) {
+    if (lbd <= CORE_LBD) {
+      return ClauseArena.CORE_TIER;
+    } else if (lbd <= TIER2_LBD) {
+      return ClauseArena.TIER2;
+    }
+    return ClauseArena.LOCAL_TIER;
+  }
 
-      conflictingClause = assignment.not(); // blocking last assignment
-      resolveConflict();
+  /**
+   * Deletes the less active half of the local tier. Tier 2 clauses that were not used since the
+   * last reduction are moved to the local tier, core clauses are never deleted. Clauses that are
+   * the antecedent of an assigned literal are kept as well.
+   */
+  private void reduceLearnedClauses() {
+    reductionInterval += REDUCTION_INCREMENT;
+    nextReduction = conflictCount + reductionInterval;
+
+    List<Integer> candidates = new ArrayList<>();
+    for (int ref : learnedClauses) {
+      int tier = clauses.getTier(ref);
+      if (tier == ClauseArena.TIER2 && !clauses.isUsed(ref)) {
+        clauses.setTier(ref, ClauseArena.LOCAL_TIER);
+      } else if (tier == ClauseArena.LOCAL_TIER && !isLocked(ref)) {
+        candidates.add(ref);
+      }
+      clauses.setUsed(ref, false);
     }
 
-    Result result = check();
-    if (!result.isSatisfiable()) {
-      return null;
+    candidates.sort(
+        Comparator.comparingDouble((Integer ref) -> clauses.getActivity(ref))
+            .thenComparing(ref -> -clauses.getLbd(ref)));
+    for (int i = 0; i < candidates.size() / 2; i++) {
+      deleteClause(candidates.get(i));
+      deletedClauseCount++;
     }
-    return result.getAssignment();
-  }
+    learnedClauses.removeIf(clauses::isDeleted);
 
-  public PartialAssignment nextPartialAssignment() {
-    if (assignment.isEmpty()) {
-      while (!bcp()) {
-        if (!resolveConflict()) {
-          return null;
+    for (WatchList watchList : watches) {
+      int j = 0;
+      for (int i = 0; i < watchList.size(); i += 2) {
+        int ref = watchList.get(i);
+        if (!clauses.isDeleted(ref)) {
+          watchList.set(j++, ref);
+          watchList.set(j++, watchList.get(i + 1));
         }
       }
+      watchList.truncate(j);
+    }
 
-      if (assignment.fits(cnf)) {
-        return PartialAssignment.complete(assignment);
-      } else {
-        return PartialAssignment.incomplete(assignment);
-      }
+    if (clauses.getWasted() > clauses.getSize() / 2) {
+      collectGarbage();
     }
+  }
 
-    decide(assignment);
-    while (!bcp()) {
-      if (!resolveConflict()) {
-        return null;
-      }
+  private void deleteClause(int ref) {
+    if (proof != null) {
+      proof.delete(clauses.getLiterals(ref));
     }
+    clauses.delete(ref);
+  }
 
-    if (assignment.fits(cnf)) {
-      return PartialAssignment.complete(assignment);
-    } else {
-      return PartialAssignment.incomplete(assignment);
+  /** Adds a clause derived by inprocessing on level 0 and logs it to the proof. */
+  private int addDerivedClause(int[] literals) {
+    if (proof != null) {
+      proof.add(literals);
     }
+    return addClause(literals, true);
   }
 
-  public static Result check(CNF cnf) {
-    DPLLCDCLSolver solver = new DPLLCDCLSolver();
-    solver.load(cnf);
-    return solver.check();
+  /** Whether the clause is the antecedent of its first literal, which is then true. */
+  private boolean isLocked(int ref) {
+    int literal = clauses.literal(ref, 0);
+    return assignment.isTrue(literal) && assignment.getReason(variable(literal)) == ref;
   }
 
-  private Result check() {
+  /**
+   * Runs failed literal probing and vivification on decision level 0. Both stop once they have used
+   * up their share of the tick budget, which is a fraction of the work done by the search since the
+   * last inprocessing. Returns {@code false} if the formula turned out to be unsatisfiable.
+   */
+  private boolean inprocess() {
+    inprocessingInterval += INPROCESSING_INCREMENT;
+    nextInprocessing = conflictCount + inprocessingInterval;
+    inprocessingCount++;
+
+    if (!propagateOnLevelZero()) {
+      return false;
+    }
+
+    long budget =
+        Math.max(
+            MIN_INPROCESSING_TICKS, (long) ((ticks - lastInprocessingTicks) * INPROCESSING_EFFORT));
+    boolean consistent =
+        probeFailedLiterals(ticks + budget / 2) && vivifyClauses(ticks + budget / 2);
+    learnedClauses.removeIf(clauses::isDeleted);
+    lastInprocessingTicks = ticks;
+    return consistent;
+  }
+
+  /**
+   * Runs local search from the saved phases, with the values of variables fixed on decision level
+   * 0, and saves the phases of the best assignment it finds. Like inprocessing, the number of flips
+   * is a fraction of the work done by the search since the last rephasing.
+   */
+  private void rephase() {
+    rephasingInterval += REPHASING_INCREMENT;
+    nextRephasing = conflictCount + rephasingInterval;
+    rephaseCount++;
+
+    int variableCount = variables.size();
+    if (localSearch == null
+        || localSearchClauseCount != problemClauses.size()
+        || localSearchVariableCount != variableCount) {
+      localSearch = new LocalSearchSolver(0, 1, rephaseCount);
+      localSearch.load(variables, problemClauses);
+      localSearchClauseCount = problemClauses.size();
+      localSearchVariableCount = variableCount;
+    }
+
+    boolean[] phases = new boolean[variableCount];
+    for (int variable = 0; variable < variableCount; variable++) {
+      phases[variable] =
+          assignment.assigns(variable) ? assignment.getValue(variable) : heuristic.getPhase(variable);
+    }
+
+    long flips =
+        Math.max(MIN_REPHASING_FLIPS, (long) ((ticks - lastRephasingTicks) * REPHASING_EFFORT));
+    boolean[] best = localSearch.walk(phases, flips);
+    for (int variable = 0; variable < variableCount; variable++) {
+      if (!assignment.assigns(variable)) {
+        heuristic.setPhase(variable, best[variable]);
+      }
+    }
+    lastRephasingTicks = ticks;
+  }
+
+  private boolean propagateOnLevelZero() {
     while (!bcp()) {
       if (!resolveConflict()) {
-        return UNSAT;
+        return false;
       }
     }
+    return true;
+  }
 
-    while (true) {
-      if (assignment.fits(cnf)) {
-        return SAT(assignment);
+  /**
+   * Assigns both values to variables that occur in binary clauses, continuing where the last probing
+   * stopped. If propagating a literal fails, its negation is a unit. Literals implied by both values
+   * are units as well, and a literal that is implied by one value and whose negation is implied by
+   * the other is equivalent to the variable, which is recorded by two binary clauses.
+   */
+  private boolean probeFailedLiterals(long tickLimit) {
+    int variableCount = variables.size();
+    List<Integer> units = new ArrayList<>();
+    List<Integer> equivalences = new ArrayList<>();
+    for (int n = 0; n < variableCount && ticks < tickLimit; n++) {
+      int variable = probeCursor;
+      probeCursor = (probeCursor + 1) % variableCount;
+
+      int positive = literal(variable, false);
+      int negative = literal(variable, true);
+      if (assignment.assigns(variable)
+          || binaryImplications[positive].size() + binaryImplications[negative].size() == 0) {
+        continue;
       }
-      decide(assignment);
-      while (!bcp()) {
-        if (!resolveConflict()) {
-          return UNSAT;
+
+      if (!probe(positive)) {
+        cancelProbe(0);
+        failedLiteralCount++;
+        addDerivedClause(new int[] {negative});
+        if (!propagateOnLevelZero()) {
+          return false;
+        }
+        continue;
+      }
+
+      // Remember the literals implied by the positive literal. Clauses added while probing the
+      // negative literal, which explain XOR propagation, move the stamp on and may only erase marks
+      int positiveStamp = ++stamp;
+      for (int i = assignment.getLevelStart(1) + 1; i < assignment.getTrailSize(); i++) {
+        literalStamps[assignment.getTrailLiteral(i)] = positiveStamp;
+      }
+      cancelProbe(0);
+
+      if (!probe(negative)) {
+        cancelProbe(0);
+        failedLiteralCount++;
+        addDerivedClause(new int[] {positive});
+        if (!propagateOnLevelZero()) {
+          return false;
+        }
+        continue;
+      }
+
+      units.clear();
+      equivalences.clear();
+      for (int i = assignment.getLevelStart(1) + 1; i < assignment.getTrailSize(); i++) {
+        int literal = assignment.getTrailLiteral(i);
+        if (literalStamps[literal] == positiveStamp) {
+          units.add(literal);
+        } else if (literalStamps[negate(literal)] == positiveStamp) {
+          equivalences.add(literal);
+        }
+      }
+      cancelProbe(0);
+
+      for (int unit : units) {
+        if (!assignment.isTrue(unit)) {
+          failedLiteralCount++;
+          addLiftedUnit(variable, unit);
         }
       }
+      for (int literal : equivalences) {
+        // The negative literal implies the literal and the positive one implies its negation
+        if (!assignment.assigns(variable(literal)) && !hasBinaryClause(positive, literal)) {
+          equivalentLiteralCount++;
+          addDerivedClause(new int[] {positive, literal});
+          addDerivedClause(new int[] {negative, negate(literal)});
+        }
+      }
+      if (!propagateOnLevelZero()) {
+        return false;
+      }
     }
+    return true;
   }
 
-  private void decide(Assignment assignment) {
-    Optional<Literal> unassignedOptional =
-        cnf.getLiterals().stream().filter(lit -> !assignment.assigns(lit)).findFirst();
-    if (unassignedOptional.isEmpty()) {
-      throw new IllegalStateException("Cannot decide because all literals are assigned");
+  /**
+   * Adds the unit {@code unit}, which is implied by both values of {@code variable}. Unit
+   * propagation alone cannot derive it from the negation of the unit, so the proof first adds the
+   * two implications found by probing and deletes them afterwards.
+   */
+  private void addLiftedUnit(int variable, int unit) {
+    int[] positiveImplication = {literal(variable, true), unit};
+    int[] negativeImplication = {literal(variable, false), unit};
+    if (proof != null) {
+      proof.add(positiveImplication);
+      proof.add(negativeImplication);
+    }
+    addDerivedClause(new int[] {unit});
+    if (proof != null) {
+      proof.delete(positiveImplication);
+      proof.delete(negativeImplication);
     }
+  }
 
-    Literal literal = unassignedOptional.get();
+  /** Assigns {@code literal} on a new decision level and returns whether propagation succeeded. */
+  private boolean probe(int literal) {
+    decide(literal);
+    return bcp();
+  }
 
-    // Assign the literal with the default decision value and update the watched literals
-    assignment.assign(literal, DEFAULT_DECISION_VALUE);
-    updateWatchedLiterals(new Literal(literal.getName(), DEFAULT_DECISION_VALUE));
+  /**
+   * Undoes all probes above {@code level} without informing the decision heuristic, so that the
+   * probed values do not end up as saved phases.
+   */
+  private void cancelProbe(int level) {
+    if (assignment.getDecisionLevel() > level) {
+      unassignXor(assignment.getLevelStart(level + 1));
+    }
+    assignment.backtrack(level);
+    conflictingClause = NO_CLAUSE;
+    binaryQueueHead = 0;
+    queueHead = 0;
+    queueTail = 0;
+    projectionCursor = 0;
   }
 
-  private boolean bcp() {
-    // While we can find unit clauses
-    while (true) {
-      boolean foundUnitClause = false;
+  /** Unassigns the variables of the trail from {@code from} on in the Gauss-Jordan elimination. */
+  private void unassignXor(int from) {
+    if (gaussJordan == null) {
+      return;
+    }
+    for (int i = from; i < assignment.getTrailSize(); i++) {
+      gaussJordan.unassign(variable(assignment.getTrailLiteral(i)));
+    }
+  }
 
-      if (conflictingClause != null) {
-        return false;
-      } else {
-        if (!unitClauses.isEmpty()) {
-          foundUnitClause = true;
-          Pair<Clause, Literal> pair = unitClauses.poll();
-          Clause unitClause = pair.getLeft();
-          Literal literal = pair.getRight();
-          if (assignment.assigns(literal)) {
-            continue;
-          }
+  private boolean hasBinaryClause(int first, int second) {
+    WatchList implications = binaryImplications[first];
+    for (int i = 0; i < implications.size(); i += 2) {
+      if (implications.get(i) == second) {
+        return true;
+      }
+    }
+    return false;
+  }
 
-          assignment.propagate(literal, unitClause);
-          updateWatchedLiterals(literal.not());
-        }
+  /**
+   * Shortens clauses by assigning the negations of their literals one after another. A literal that
+   * becomes false this way can be removed from the clause. If a literal becomes true, or the
+   * assignment conflicts, the literals assigned so far already form a clause implied by the
+   * formula. Learned clauses of the core and tier 2 are vivified before the original clauses, and
+   * every clause is vivified at most once.
+   */
+  private boolean vivifyClauses(long tickLimit) {
+    List<Integer> candidates = new ArrayList<>();
+    for (int ref : learnedClauses) {
+      if (clauses.getTier(ref) != ClauseArena.LOCAL_TIER && !clauses.isVivified(ref)) {
+        candidates.add(ref);
+      }
+    }
+    for (int ref = 0; ref < clauses.getSize(); ref = clauses.next(ref)) {
+      if (!clauses.isLearned(ref)
+          && !clauses.isDeleted(ref)
+          && !clauses.isVivified(ref)
+          && clauses.size(ref) > 2) {
+        candidates.add(ref);
       }
+    }
 
-      if (!foundUnitClause) {
-        return true;
+    for (int ref : candidates) {
+      if (ticks >= tickLimit) {
+        break;
+      }
+      if (!vivify(ref)) {
+        return false;
       }
     }
+    return true;
   }
 
-  private boolean resolveConflict() {
-    if (assignment.getDecisionLevel() == 0) {
-      return false;
+  private boolean vivify(int ref) {
+    int[] literals = clauses.getLiterals(ref);
+    for (int literal : literals) {
+      if (assignment.isTrue(literal)) {
+        return true;
+      }
+    }
+
+    // The clause must not take part in the propagation that is used to shorten it. Original clauses
+    // may be part of a XOR constraint, which is then left out as well
+    unwatch(ref);
+    clauses.setVivified(ref);
+    GaussJordanElimination gaussJordan = this.gaussJordan;
+    if (!clauses.isLearned(ref)) {
+      this.gaussJordan = null;
     }
 
-    Clause currentClause = conflictingClause;
-    conflictingClause = null;
-    Literal assertingLiteral;
-    while ((assertingLiteral = currentClause.isAsserting(assignment)) == null) {
-      // Conflict analysis may only resolve against the antecedent of a *propagated* literal.
-      // Decision literals are assigned with a null antecedent, so resolving on them would
-      // dereference null. Pick the most recent propagated literal of the current level.
-      LiteralAssignment literalAssignment =
-          getLastPropagatedAssignmentOnCurrentLevel(currentClause);
-      if (literalAssignment == null) {
-        // No propagated literal remains on the current level: the only current-level literal
-        // of the clause is the decision itself, which is the 1-UIP. Stop resolving and use it
-        // as the asserting literal.
-        assertingLiteral = getCurrentLevelDecisionLiteral(currentClause);
+    int length = 0;
+    for (int literal : literals) {
+      if (assignment.isFalse(literal)) {
+        continue;
+      }
+      if (assignment.isTrue(literal)) {
+        literals[length++] = literal;
+        break;
+      }
+
+      literals[length++] = literal;
+      if (!probe(negate(literal))) {
         break;
       }
-      Clause antcedent = literalAssignment.getAntecedent();
-      currentClause = resolution(currentClause, antcedent, literalAssignment);
     }
+    cancelProbe(0);
+    this.gaussJordan = gaussJordan;
 
-    int targetLevel = 0;
-    if (currentClause.getLiterals().size() > 1) {
-      // search for second-highest assignment level
-      for (Literal literal : currentClause.getLiterals()) {
-        int level = assignment.getAssignmentLevelOf(literal);
-        if (level != assignment.getDecisionLevel() && level > targetLevel) {
-          targetLevel = level;
+    if (length == literals.length) {
+      watch(ref);
+      return true;
+    }
+
+    vivifiedClauseCount++;
+    vivifiedLiteralCount += literals.length - length;
+    boolean learned = clauses.isLearned(ref);
+    int lbd = clauses.getLbd(ref);
+    int tier = clauses.getTier(ref);
+    float activity = clauses.getActivity(ref);
+    int[] shortened = Arrays.copyOf(literals, length);
+    if (proof != null) {
+      proof.add(shortened);
+      proof.delete(clauses.getLiterals(ref));
+    }
+    clauses.delete(ref);
+
+    int newRef = addClause(shortened, learned);
+    if (length > 2) {
+      clauses.setVivified(newRef);
+      if (learned) {
+        clauses.setLbd(newRef, Math.min(lbd, length - 1));
+        clauses.setTier(newRef, Math.min(tier, tierOf(clauses.getLbd(newRef))));
+        clauses.setActivity(newRef, activity);
+        learnedClauses.add(newRef);
+      }
+    }
+    return propagateOnLevelZero();
+  }
+
+  /** Removes the watches of a clause with more than two literals. */
+  private void unwatch(int ref) {
+    for (int position = 0; position < 2; position++) {
+      WatchList watchList = watches[clauses.literal(ref, position)];
+      int size = watchList.size();
+      ticks += size >> 1;
+      for (int i = 0; i < size; i += 2) {
+        if (watchList.get(i) == ref) {
+          watchList.set(i, watchList.get(size - 2));
+          watchList.set(i + 1, watchList.get(size - 1));
+          watchList.truncate(size - 2);
+          break;
         }
       }
     }
+  }
+
+  /** Compacts the clause arena and translates all clause references the solver holds. */
+  private void collectGarbage() {
+    ClauseArena old = clauses;
+    clauses = old.compact();
+
+    for (WatchList watchList : watches) {
+      for (int i = 0; i < watchList.size(); i += 2) {
+        watchList.set(i, old.forward(watchList.get(i)));
+      }
+    }
+    for (WatchList implications : binaryImplications) {
+      for (int i = 1; i < implications.size(); i += 2) {
+        implications.set(i, old.forward(implications.get(i)));
+      }
+    }
+    for (int i = 0; i < assignment.getTrailSize(); i++) {
+      int variable = variable(assignment.getTrailLiteral(i));
+      int reason = assignment.getReason(variable);
+      if (reason >= 0) {
+        assignment.setReason(variable, old.forward(reason));
+      }
+    }
+    learnedClauses.replaceAll(old::forward);
+    pendingUnitClauses.replaceAll(old::forward);
+  }
 
-    // Backjumping
-    while (assignment.getDecisionLevel() > targetLevel) {
-      assignment.undoLastDecision();
+  /**
+   * Returns the number of distinct decision levels among the {@code length} literals of {@code
+   * literals} starting at {@code offset}.
+   */
+  private int computeLBD(int[] literals, int offset, int length) {
+    levelStamp++;
+    int lbd = 0;
+    for (int i = offset; i < offset + length; i++) {
+      int level = assignment.getAssignmentLevelOf(variable(literals[i]));
+      if (levelStamps[level] != levelStamp) {
+        levelStamps[level] = levelStamp;
+        lbd++;
+      }
     }
+    return lbd;
+  }
 
-    unitClauses.clear();
-    unitClauses.add(Pair.of(currentClause, assertingLiteral));
-    conflictingClause = null;
+  /**
+   * Collects the assumptions that imply the negation of the false assumption {@code assumption}
+   * by following the antecedents of the trail backwards. Below the assumption all decisions are
+   * assumptions, so every decision reached this way is one of them.
+   */
+  private void analyzeFailedAssumption(int assumption) {
+    failedAssumptions.clear();
+    failedAssumptions.add(variables.decode(assumption));
+    if (assignment.getAssignmentLevelOf(variable(assumption)) == 0) {
+      return;
+    }
 
-    learnClause(currentClause);
+    seenStamp++;
+    seen[variable(assumption)] = seenStamp;
+    for (int i = assignment.getTrailSize() - 1; i >= assignment.getLevelStart(1); i--) {
+      int literal = assignment.getTrailLiteral(i);
+      int variable = variable(literal);
+      if (seen[variable] != seenStamp) {
+        continue;
+      }
 
-    return true;
+      int reason = assignment.getReason(variable);
+      if (reason == NO_CLAUSE) {
+        failedAssumptions.add(variables.decode(literal));
+        continue;
+      }
+
+      int size = reasonSize(reason);
+      for (int k = 0; k < size; k++) {
+        int antecedentVariable = variable(reasonLiteral(reason, k));
+        if (antecedentVariable != variable
+            && assignment.getAssignmentLevelOf(antecedentVariable) > 0) {
+          seen[antecedentVariable] = seenStamp;
+        }
+      }
+    }
   }
 
   /**
-   * Returns the most recently assigned <em>propagated</em> literal of the current decision level
-   * that occurs in {@code clause}, or {@code null} if the only current-level literal of the clause
-   * is the decision literal. Only propagated literals (with a non-null antecedent) may be resolved
-   * upon during conflict analysis.
+   * Derives the 1-UIP clause of the conflicting clause {@code conflict} by walking the current
+   * decision level backwards and resolving with the antecedents of the literals marked as seen.
+   * The asserting literal is returned at position 0. Literals assigned on level 0 are dropped, as
+   * are literals that are implied by the remaining ones (see {@link #isRedundant(int, int)}).
    */
-  private LiteralAssignment getLastPropagatedAssignmentOnCurrentLevel(Clause clause) {
-    List<LiteralAssignment> assignmentsOnCurrentLevel = assignment.getAssignmentsOnCurrentLevel();
-    for (int i = assignmentsOnCurrentLevel.size() - 1; i >= 0; i--) {
-      LiteralAssignment literalAssignment = assignmentsOnCurrentLevel.get(i);
-      if (literalAssignment.getAntecedent() != null
-          && clause.contains(literalAssignment.getLiteralName())) {
-        return literalAssignment;
+  private int[] analyze(int conflict) {
+    int currentLevel = assignment.getDecisionLevel();
+
+    seenStamp++;
+    int length = 1;
+    int pathCount = 0;
+    int resolvedVariable = -1;
+    int index = assignment.getTrailSize() - 1;
+    int ref = conflict;
+    while (true) {
+      touchClause(ref);
+      int size = reasonSize(ref);
+      for (int i = 0; i < size; i++) {
+        int literal = reasonLiteral(ref, i);
+        int variable = variable(literal);
+        int level = assignment.getAssignmentLevelOf(variable);
+        if (variable == resolvedVariable || seen[variable] == seenStamp || level == 0) {
+          continue;
+        }
+
+        seen[variable] = seenStamp;
+        if (level == currentLevel) {
+          pathCount++;
+        } else {
+          learnedBuffer = ensureBufferCapacity(learnedBuffer, length + 1);
+          learnedBuffer[length++] = literal;
+        }
+      }
+
+      // Continue with the most recent seen literal of the current level. Seen literals of lower
+      // levels may follow it on the trail if they were assigned out of order.
+      while (seen[variable(assignment.getTrailLiteral(index))] != seenStamp
+          || assignment.getAssignmentLevelOf(variable(assignment.getTrailLiteral(index)))
+              != currentLevel) {
+        index--;
+      }
+      resolvedVariable = variable(assignment.getTrailLiteral(index));
+      index--;
+      pathCount--;
+      if (pathCount == 0) {
+        break;
+      }
+      ref = assignment.getReason(resolvedVariable);
+    }
+    learnedBuffer[0] = literal(resolvedVariable, assignment.getValue(resolvedVariable));
+
+    // Recursive minimization: drop every literal whose antecedents only lead to literals that are
+    // already part of the clause
+    int levels = 0;
+    for (int i = 1; i < length; i++) {
+      levels |= abstractLevel(variable(learnedBuffer[i]));
+    }
+    int minimizedLength = 1;
+    for (int i = 1; i < length; i++) {
+      int literal = learnedBuffer[i];
+      if (assignment.getReason(variable(literal)) == NO_CLAUSE || !isRedundant(literal, levels)) {
+        learnedBuffer[minimizedLength++] = literal;
       }
     }
 
-    return null;
+    return Arrays.copyOf(learnedBuffer, minimizedLength);
   }
 
   /**
-   * Returns the falsified literal of {@code clause} corresponding to the current-level decision,
-   * which is the 1-UIP when no propagated literal of the current level remains in the clause.
+   * Whether the false literal {@code literal} is implied by literals that are already seen, which
+   * means it can be removed from the learned clause. {@code levels} is the union of the abstract
+   * levels of the clause and used to give up early on literals of other decision levels. Literals
+   * found to be redundant on the way are marked as seen, so that they are not visited again.
    */
-  private Literal getCurrentLevelDecisionLiteral(Clause clause) {
-    LiteralAssignment decision = assignment.getLastDecision();
-    for (Literal literal : clause.getLiterals()) {
-      if (literal.getName().equals(decision.getLiteralName())) {
-        return literal;
+  private boolean isRedundant(int literal, int levels) {
+    int stackSize = 0;
+    int markedSize = 0;
+    minimizationStack = ensureBufferCapacity(minimizationStack, 1);
+    minimizationStack[stackSize++] = variable(literal);
+    while (stackSize > 0) {
+      int variable = minimizationStack[--stackSize];
+      int ref = assignment.getReason(variable);
+      int size = reasonSize(ref);
+      for (int i = 0; i < size; i++) {
+        int antecedentVariable = variable(reasonLiteral(ref, i));
+        if (antecedentVariable == variable
+            || seen[antecedentVariable] == seenStamp
+            || assignment.getAssignmentLevelOf(antecedentVariable) == 0) {
+          continue;
+        }
+
+        if (assignment.getReason(antecedentVariable) == NO_CLAUSE
+            || (abstractLevel(antecedentVariable) & levels) == 0) {
+          // Undo the marks of this call
+          for (int j = 0; j < markedSize; j++) {
+            seen[markedVariables[j]] = 0;
+          }
+          return false;
+        }
+
+        seen[antecedentVariable] = seenStamp;
+        markedVariables = ensureBufferCapacity(markedVariables, markedSize + 1);
+        markedVariables[markedSize++] = antecedentVariable;
+        minimizationStack = ensureBufferCapacity(minimizationStack, stackSize + 1);
+        minimizationStack[stackSize++] = antecedentVariable;
       }
     }
+    return true;
+  }
+
+  /** Maps the decision level of {@code variable} to one of 32 bits to compare sets of levels. */
+  private int abstractLevel(int variable) {
+    return 1 << (assignment.getAssignmentLevelOf(variable) & 31);
+  }
 
-    throw new IllegalStateException(
-        "Clause has no literal assigned on the current decision level");
+  private static int[] ensureBufferCapacity(int[] buffer, int capacity) {
+    if (buffer.length >= capacity) {
+      return buffer;
+    }
+    return Arrays.copyOf(buffer, Math.max(capacity, 2 * buffer.length));
   }
 
   // todo: Experimental
   public boolean excludeClause(Clause clause) {
-    learnClause(clause);
+    learnExternalClause(clause);
+    if (conflictingClause == NO_CLAUSE) {
+      // The clause is not falsified by the current assignment, watching it is enough
+      return true;
+    }
 
-    conflictingClause = clause;
     return resolveConflict();
   }
 
@@ -265,93 +1845,140 @@ public class DPLLCDCLSolver implements SATSolver {
    *
    * <p>This is the counterpart of {@link #excludeClause(Clause)} for the {@code nextModel()}-based
    * full-lazy enumeration loop: there the previous complete model is always blocked by the solver
-   * itself (via {@code assignment.not()}), which is guaranteed to be an asserting conflict clause
-   * and therefore safe to feed into {@link #resolveConflict()}. A theory lemma derived from a
-   * complete model, by contrast, may have all of its literals falsified across several decision
-   * levels with none at the current level, which is NOT a well-formed input for the 1-UIP analysis
-   * in {@code resolveConflict}. So we do not run conflict analysis on it; we only register it.
+   * itself (via {@code assignment.not()}) and the resulting conflict is analyzed right away. A
+   * theory lemma derived from a complete model, by contrast, may have all of its literals
+   * falsified across several decision levels with none at the current level. So we do not run
+   * conflict analysis on it here; we only register it.
    *
-   * <p>To preserve the 2-watched-literal invariant we (re)select the two watched literals using the
-   * standard rule against the CURRENT assignment and, if the clause is already unit or conflicting,
-   * enqueue/flag it so the very next {@code bcp()} (inside the next {@code nextModel()} →
-   * {@code check()}) acts on it. {@code nextModel()} clears the unit queue before blocking the old
-   * model, so a unit enqueued here for the soon-to-be-undone complete model is harmless; the lemma's
-   * watches persist and fire again once its literals are reassigned during the next search.
+   * <p>The two watched literals are selected against the CURRENT assignment (see {@link
+   * #addClause(int[], boolean)}) and, if the clause is already unit or conflicting, its literal is
+   * propagated resp. it is flagged as conflicting. {@code nextModel()} replaces the conflict by the
+   * blocking clause of the soon-to-be-undone complete model; the lemma's watches persist and fire
+   * again once its literals are reassigned during the next search.
    */
   public void learnTheoryLemma(Clause clause) {
-    learnClause(clause);
-
-    WatchedLiteralPair wlp = watchedLiteralsMap.get(clause);
-    if (wlp.isConflicting(assignment)) {
-      conflictingClause = clause;
-    } else {
-      Literal unitLiteral = wlp.getUnitLiteral(assignment);
-      if (unitLiteral != null) {
-        unitClauses.add(Pair.of(clause, unitLiteral));
-      }
-    }
+    learnExternalClause(clause);
   }
 
-  private void learnClause(Clause clause) {
+  private int learnExternalClause(Clause clause) {
     cnf.learnClause(clause);
+    int[] literals = clause.encode(variables);
+    problemClauses.add(literals);
+    ensureVariableCapacity();
+    return addClause(literals, false);
+  }
 
-    // Initialize watched literals for new clause
-    WatchedLiteralPair wlp = new WatchedLiteralPair(clause, assignment);
-    watchedLiteralsMap.put(clause, wlp);
+  /**
+   * Assigns the unassigned int literal {@code literal} on a new decision level and propagates it,
+   * without involving the decision heuristic. Returns the number of literals assigned this way,
+   * or {@code -1} if propagation failed, in which case nothing remains assigned. This is meant for
+   * lookahead: a successful call is undone with {@link #retract()}.
+   */
+  public int assume(int literal) {
+    if (assignment.getDecisionLevel() == 0 && !propagateOnLevelZero()) {
+      return -1;
+    }
 
-    for (Literal literal : wlp.getWatched()) {
-      List<Clause> watchedIn = watchedInMap.getOrDefault(literal, new ArrayList<>());
-      watchedIn.add(clause);
-      watchedInMap.put(literal, watchedIn);
+    int level = assignment.getDecisionLevel();
+    int trailSize = assignment.getTrailSize();
+    if (!probe(literal)) {
+      cancelProbe(level);
+      return -1;
     }
+    return assignment.getTrailSize() - trailSize;
   }
 
-  private Clause resolution(Clause clause1, Clause clause2, LiteralAssignment la) {
-    List<Literal> literals = new ArrayList<>();
-    for (Literal literal : clause1.getLiterals()) {
-      if (!literal.getName().equals(la.getLiteralName()) || literal.isNegated() != la.getValue()) {
-        if (!literals.contains(literal)) {
-          literals.add(literal);
-        }
-      }
-    }
-    for (Literal literal : clause2.getLiterals()) {
-      if (!literal.getName().equals(la.getLiteralName()) || literal.isNegated() == la.getValue()) {
-        if (!literals.contains(literal)) {
-          literals.add(literal);
-        }
-      }
-    }
-    return new Clause(literals);
+  /** Undoes the decision level opened by the last successful call of {@link #assume(int)}. */
+  public void retract() {
+    cancelProbe(assignment.getDecisionLevel() - 1);
   }
 
-  private void updateWatchedLiterals(Literal literal) {
-    List<Clause> watchedInCopy =
-        new ArrayList<>(watchedInMap.getOrDefault(literal, new ArrayList<>()));
-    for (Clause clause : watchedInCopy) {
-      updateWatchedLiterals(literal, clause);
+  /** Returns the number of literals {@code literal} would imply, or -1 if it fails. */
+  public int lookahead(int literal) {
+    int count = assume(literal);
+    if (count != -1) {
+      retract();
     }
+    return count;
   }
 
-  private void updateWatchedLiterals(Literal literal, Clause clause) {
-    WatchedLiteralPair wlp = watchedLiteralsMap.get(clause);
-    Literal replacement = wlp.attemptReplace(literal, assignment);
-    if (replacement != null) {
-      watchedInMap.get(literal).remove(clause);
+  public boolean isAssigned(int variable) {
+    return assignment.assigns(variable);
+  }
 
-      List<Clause> watchedIn = watchedInMap.getOrDefault(replacement, new ArrayList<>());
-      watchedIn.add(clause);
-      watchedInMap.put(replacement, watchedIn);
-      return;
-    }
+  public long getConflictCount() {
+    return conflictCount;
+  }
 
-    if (wlp.isConflicting(assignment)) {
-      conflictingClause = clause;
-    } else {
-      Literal unitLiteral = wlp.getUnitLiteral(assignment);
-      if (unitLiteral != null) {
-        unitClauses.add(Pair.of(clause, unitLiteral));
-      }
-    }
+  public long getRestartCount() {
+    return restartCount;
+  }
+
+  public int getLearnedClauseCount() {
+    return learnedClauses.size();
+  }
+
+  public long getDeletedClauseCount() {
+    return deletedClauseCount;
+  }
+
+  public long getDecisionCount() {
+    return decisionCount;
+  }
+
+  public long getPropagationCount() {
+    return propagationCount;
+  }
+
+  /** Returns the number of clauses learned so far, including the ones deleted since. */
+  public long getTotalLearnedClauseCount() {
+    return totalLearnedClauseCount;
+  }
+
+  /** Returns the number of conflicts after which the solver backtracked a single level. */
+  public long getChronologicalBacktrackCount() {
+    return chronologicalBacktrackCount;
+  }
+
+  /** Returns the number of times the saved phases were replaced by the result of local search. */
+  public long getRephaseCount() {
+    return rephaseCount;
+  }
+
+  /** Returns the number of XOR constraints left after Gauss-Jordan elimination. */
+  public int getXorConstraintCount() {
+    return gaussJordan == null ? 0 : gaussJordan.getRowCount();
+  }
+
+  /** Returns the number of literals assigned by XOR propagation. */
+  public long getXorPropagationCount() {
+    return xorPropagationCount;
+  }
+
+  /** Returns the number of clauses built to explain XOR propagations in conflict analysis. */
+  public long getXorExplanationCount() {
+    return xorExplanationCount;
+  }
+
+  public long getInprocessingCount() {
+    return inprocessingCount;
+  }
+
+  /** Returns the number of units found by failed literal probing. */
+  public long getFailedLiteralCount() {
+    return failedLiteralCount;
+  }
+
+  public long getEquivalentLiteralCount() {
+    return equivalentLiteralCount;
+  }
+
+  public long getVivifiedClauseCount() {
+    return vivifiedClauseCount;
+  }
+
+  /** Returns the number of literals removed from clauses by vivification. */
+  public long getVivifiedLiteralCount() {
+    return vivifiedLiteralCount;
   }
 }
@@ -6,6 +6,8 @@ import java.util.*;
 
 import static me.paultristanwagner.satchecking.sat.Result.SAT;
 import static me.paultristanwagner.satchecking.sat.Result.UNSAT;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.negate;
 
 /**
  * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
@@ -14,26 +16,31 @@ import static me.paultristanwagner.satchecking.sat.Result.UNSAT;
 public class DPLLSolver implements SATSolver {
 
   private CNF cnf;
+  private VariableTable variables;
   private Assignment assignment;
 
-  private Map<Literal, List<Clause>> watchedInMap;
-  private Map<Clause, WatchedLiteralPair> watchedLiteralsMap;
+  // Watch lists indexed by int literal
+  private List<List<WatchedLiteralPair>> watchedIn;
+  private List<WatchedLiteralPair> watchedLiteralPairs;
 
   @Override
   public void load(CNF cnf) {
     this.cnf = cnf;
-    this.assignment = new Assignment();
-    this.watchedInMap = new HashMap<>();
-    this.watchedLiteralsMap = new HashMap<>();
+    this.variables = cnf.getVariableTable();
+    this.assignment = new Assignment(variables);
+    this.watchedIn = new ArrayList<>();
+    this.watchedLiteralPairs = new ArrayList<>();
+
+    for (int i = 0; i < 2 * variables.size(); i++) {
+      watchedIn.add(new ArrayList<>());
+    }
 
     for (Clause clause : cnf.getClauses()) {
-      WatchedLiteralPair wlp = new WatchedLiteralPair(clause, assignment);
-      watchedLiteralsMap.put(clause, wlp);
+      WatchedLiteralPair wlp = new WatchedLiteralPair(clause, clause.encode(variables), assignment);
+      watchedLiteralPairs.add(wlp);
 
-      for (Literal literal : wlp.getWatched()) {
-        List<Clause> watchedIn = watchedInMap.getOrDefault(literal, new ArrayList<>());
-        watchedIn.add(clause);
-        watchedInMap.put(literal, watchedIn);
+      for (int literal : wlp.getWatched()) {
+        watchedIn.get(literal).add(wlp);
       }
     }
   }
@@ -56,7 +63,7 @@ public class DPLLSolver implements SATSolver {
   public static Result check(CNF cnf) {
     DPLLSolver solver = new DPLLSolver();
     solver.load(cnf);
-    Assignment assignment = new Assignment();
+    Assignment assignment = new Assignment(cnf.getVariableTable());
     return solver.check(cnf, assignment);
   }
 
@@ -82,35 +89,32 @@ public class DPLLSolver implements SATSolver {
   }
 
   private void decide(Assignment assignment) {
-    List<Literal> literals = cnf.getLiterals();
-    Optional<Literal> unassignedOptional =
-        literals.stream().filter(lit -> !assignment.assigns(lit)).findAny();
-    if (unassignedOptional.isEmpty()) {
+    int variable = 0;
+    while (variable < variables.size() && assignment.assigns(variable)) {
+      variable++;
+    }
+    if (variable == variables.size()) {
       throw new IllegalStateException("Cannot decide because all literals are assigned");
     }
-    Literal literal = unassignedOptional.get();
-    assignment.assign(literal, true);
-    updateWatchedLiterals(new Literal(literal.getName(), true), assignment);
+    assignment.assign(variable, true);
+    updateWatchedLiterals(literal(variable, true), assignment);
   }
 
   private boolean bcp(CNF cnf, Assignment assignment) {
-    List<Clause> clauseList = cnf.getClauses();
-
     // While we can find unit clauses
     while (true) {
       boolean foundUnitClause = false;
 
-      for (Clause clause : clauseList) {
-        WatchedLiteralPair wlp = watchedLiteralsMap.get(clause);
+      for (WatchedLiteralPair wlp : watchedLiteralPairs) {
         if (wlp.isConflicting(assignment)) {
           return false;
         }
 
-        Literal unitLiteral = wlp.getUnitLiteral(assignment);
-        if (unitLiteral != null) {
+        int unitLiteral = wlp.getUnitLiteral(assignment);
+        if (unitLiteral != -1) {
           foundUnitClause = true;
-          assignment.propagate(unitLiteral, clause);
-          updateWatchedLiterals(unitLiteral.not(), assignment);
+          assignment.propagate(unitLiteral, Assignment.NO_REASON);
+          updateWatchedLiterals(negate(unitLiteral), assignment);
           break;
         }
       }
@@ -127,16 +131,15 @@ public class DPLLSolver implements SATSolver {
     }
 
     while (!assignment.isEmpty()) {
-      LiteralAssignment la = assignment.getLastDecision();
-      if (la.wasPreviouslyAssigned()) {
+      if (assignment.isLastDecisionFlipped()) {
         assignment.undoLastDecision();
       } else {
         assignment.undoPropagations();
-        boolean newValue = la.toggleValue();
-        la.setPreviouslyAssigned();
+        assignment.flipLastDecision();
 
-        Literal literal = new Literal(la.getLiteralName(), newValue);
-        updateWatchedLiterals(literal, assignment);
+        // The previous value of the decision literal is now false
+        int decision = assignment.getTrailLiteral(assignment.getTrailSize() - 1);
+        updateWatchedLiterals(negate(decision), assignment);
 
         return true;
       }
@@ -144,18 +147,13 @@ public class DPLLSolver implements SATSolver {
     return false;
   }
 
-  private void updateWatchedLiterals(Literal literal, Assignment assignment) {
-    List<Clause> watchedInCopy =
-        new ArrayList<>(watchedInMap.getOrDefault(literal, new ArrayList<>()));
-    for (Clause clause : watchedInCopy) {
-      WatchedLiteralPair wlp = watchedLiteralsMap.get(clause);
-      Literal replacement = wlp.attemptReplace(literal, assignment);
-      if (replacement != null) {
-        watchedInMap.get(literal).remove(clause);
-
-        List<Clause> watchedIn = watchedInMap.getOrDefault(replacement, new ArrayList<>());
-        watchedIn.add(clause);
-        watchedInMap.put(replacement, watchedIn);
+  private void updateWatchedLiterals(int literal, Assignment assignment) {
+    List<WatchedLiteralPair> watchedInCopy = new ArrayList<>(watchedIn.get(literal));
+    for (WatchedLiteralPair wlp : watchedInCopy) {
+      int replacement = wlp.attemptReplace(literal, assignment);
+      if (replacement != -1) {
+        watchedIn.get(literal).remove(wlp);
+        watchedIn.get(replacement).add(wlp);
       }
     }
   }
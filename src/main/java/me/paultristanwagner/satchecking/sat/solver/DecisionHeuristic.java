@@ -0,0 +1,45 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+
+/**
+ * Chooses the decision literals of {@link DPLLCDCLSolver}. Variables and literals are the int
+ * variables and int literals of the solver's {@link me.paultristanwagner.satchecking.sat.VariableTable}.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public interface DecisionHeuristic {
+
+  /** Resets the heuristic for a new problem with {@code variableCount} variables. */
+  void load(int variableCount);
+
+  /** Makes room for variables that were added after {@link #load(int)}. */
+  void ensureCapacity(int variableCount);
+
+  /**
+   * Returns the literal that should be assigned true next, or {@code -1} if all variables are
+   * assigned.
+   */
+  int nextDecision(Assignment assignment);
+
+  /** Called for every variable of a learned clause. */
+  void bump(int variable);
+
+  /** Called once per conflict, after all variables of the learned clause have been bumped. */
+  void decay();
+
+  /** Called for every variable that is unassigned while backjumping, with its last value. */
+  void unassigned(int variable, boolean value);
+
+  /** Returns the value {@code variable} would be assigned if it were decided next. */
+  default boolean getPhase(int variable) {
+    return false;
+  }
+
+  /**
+   * Makes {@code variable} be assigned {@code value} the next time it is decided, as far as the
+   * heuristic remembers phases at all.
+   */
+  default void setPhase(int variable, boolean value) {}
+}
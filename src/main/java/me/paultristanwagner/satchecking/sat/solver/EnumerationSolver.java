@@ -2,9 +2,6 @@ package me.paultristanwagner.satchecking.sat.solver;
 
 import me.paultristanwagner.satchecking.sat.*;
 
-import java.util.List;
-import java.util.Optional;
-
 import static me.paultristanwagner.satchecking.sat.Result.SAT;
 import static me.paultristanwagner.satchecking.sat.Result.UNSAT;
 
@@ -20,7 +17,7 @@ public class EnumerationSolver implements SATSolver {
   @Override
   public void load(CNF cnf) {
     this.cnf = cnf;
-    this.assignment = new Assignment();
+    this.assignment = new Assignment(cnf.getVariableTable());
   }
 
   @Override
@@ -39,7 +36,7 @@ public class EnumerationSolver implements SATSolver {
   }
 
   public static Result check(CNF cnf) {
-    Assignment assignment = new Assignment();
+    Assignment assignment = new Assignment(cnf.getVariableTable());
     return check(cnf, assignment);
   }
 
@@ -59,14 +56,15 @@ public class EnumerationSolver implements SATSolver {
   }
 
   private static void decide(CNF cnf, Assignment assignment) {
-    List<Literal> literals = cnf.getLiterals();
-    Optional<Literal> unassignedOptional =
-        literals.stream().filter(lit -> !assignment.assigns(lit)).findAny();
-    if (unassignedOptional.isEmpty()) {
+    int variable = 0;
+    int variableCount = cnf.getVariableTable().size();
+    while (variable < variableCount && assignment.assigns(variable)) {
+      variable++;
+    }
+    if (variable == variableCount) {
       throw new IllegalStateException("Cannot decide because all literals are assigned");
     }
-    Literal literal = unassignedOptional.get();
-    assignment.assign(literal, true);
+    assignment.assign(variable, true);
   }
 
   private static boolean backtrack(Assignment assignment) {
@@ -75,12 +73,10 @@ public class EnumerationSolver implements SATSolver {
     }
 
     while (!assignment.isEmpty()) {
-      LiteralAssignment la = assignment.getLastDecision();
-      if (la.wasPreviouslyAssigned()) {
+      if (assignment.isLastDecisionFlipped()) {
         assignment.undoLastDecision();
       } else {
-        la.toggleValue();
-        la.setPreviouslyAssigned();
+        assignment.flipLastDecision();
         return true;
       }
     }
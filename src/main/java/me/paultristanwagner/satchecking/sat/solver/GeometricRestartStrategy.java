@@ -0,0 +1,55 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+/**
+ * Restarts after a number of conflicts that starts at {@code first} and is multiplied by {@code
+ * factor} after every restart.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class GeometricRestartStrategy implements RestartStrategy {
+
+  public static final int DEFAULT_FIRST = 100;
+  public static final double DEFAULT_FACTOR = 1.5;
+
+  private final int first;
+  private final double factor;
+
+  private long conflicts;
+  private double limit;
+
+  public GeometricRestartStrategy() {
+    this(DEFAULT_FIRST, DEFAULT_FACTOR);
+  }
+
+  public GeometricRestartStrategy(int first, double factor) {
+    if (first <= 0 || factor < 1) {
+      throw new IllegalArgumentException("Geometric restarts need first > 0 and factor >= 1");
+    }
+    this.first = first;
+    this.factor = factor;
+    reset();
+  }
+
+  @Override
+  public void reset() {
+    conflicts = 0;
+    limit = first;
+  }
+
+  @Override
+  public void conflict(int lbd) {
+    conflicts++;
+  }
+
+  @Override
+  public boolean shouldRestart() {
+    return conflicts >= limit;
+  }
+
+  @Override
+  public void restarted() {
+    conflicts = 0;
+    limit *= factor;
+  }
+}
@@ -0,0 +1,79 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+/**
+ * Glucose-style dynamic restarts. The solver keeps a fast and a slow exponential moving average of
+ * the LBD of its learned clauses. If the recent clauses are clearly worse than the long-term average
+ * ({@code fast > margin * slow}), the current part of the search space is considered unproductive
+ * and the solver restarts. At least {@code minimumConflicts} conflicts have to happen between two
+ * restarts.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class GlucoseRestartStrategy implements RestartStrategy {
+
+  public static final double DEFAULT_FAST_ALPHA = 1.0 / 32;
+  public static final double DEFAULT_SLOW_ALPHA = 1.0 / 4096;
+  public static final double DEFAULT_MARGIN = 1.25;
+  public static final int DEFAULT_MINIMUM_CONFLICTS = 50;
+
+  private final double fastAlpha;
+  private final double slowAlpha;
+  private final double margin;
+  private final int minimumConflicts;
+
+  private double fastAverage;
+  private double slowAverage;
+  private long totalConflicts;
+  private long conflicts;
+
+  public GlucoseRestartStrategy() {
+    this(DEFAULT_FAST_ALPHA, DEFAULT_SLOW_ALPHA, DEFAULT_MARGIN, DEFAULT_MINIMUM_CONFLICTS);
+  }
+
+  public GlucoseRestartStrategy(
+      double fastAlpha, double slowAlpha, double margin, int minimumConflicts) {
+    this.fastAlpha = fastAlpha;
+    this.slowAlpha = slowAlpha;
+    this.margin = margin;
+    this.minimumConflicts = minimumConflicts;
+    reset();
+  }
+
+  @Override
+  public void reset() {
+    fastAverage = 0;
+    slowAverage = 0;
+    totalConflicts = 0;
+    conflicts = 0;
+  }
+
+  @Override
+  public void conflict(int lbd) {
+    totalConflicts++;
+    conflicts++;
+
+    // Use the plain mean until enough values were seen, so that early averages are not biased
+    // towards the initial value of 0
+    fastAverage += (lbd - fastAverage) * Math.max(fastAlpha, 1.0 / totalConflicts);
+    slowAverage += (lbd - slowAverage) * Math.max(slowAlpha, 1.0 / totalConflicts);
+  }
+
+  @Override
+  public boolean shouldRestart() {
+    return conflicts >= minimumConflicts && fastAverage > margin * slowAverage;
+  }
+
+  @Override
+  public void restarted() {
+    conflicts = 0;
+  }
+
+  public double getFastAverage() {
+    return fastAverage;
+  }
+
+  public double getSlowAverage() {
+    return slowAverage;
+  }
+}
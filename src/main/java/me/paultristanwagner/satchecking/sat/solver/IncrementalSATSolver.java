@@ -0,0 +1,34 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.Result;
+
+import java.util.List;
+
+/**
+ * A {@link SATSolver} that can be queried repeatedly. Clauses can be added between calls and every
+ * call may assume some literals to be true. Everything the solver learned is kept across calls,
+ * since all clauses it learns are implied by the clauses alone and never by the assumptions.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public interface IncrementalSATSolver extends SATSolver {
+
+  /** Adds a clause permanently. Variables that were not known before are registered. */
+  void addClause(Clause clause);
+
+  /**
+   * Checks whether the clauses are satisfiable together with the given literals. If so, the model
+   * of the result assigns all assumptions to true.
+   */
+  Result solve(List<Literal> assumptions);
+
+  /**
+   * Returns the assumptions that made the last call of {@link #solve(List)} unsatisfiable. The
+   * clauses are unsatisfiable together with them alone. The list is empty if the last call was
+   * satisfiable or if the clauses are unsatisfiable without any assumptions.
+   */
+  List<Literal> getFailedAssumptions();
+}
@@ -0,0 +1,413 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.negate;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Stochastic local search with ProbSAT: starting from a complete assignment, a random falsified
+ * clause is picked and one of its variables is flipped, chosen with a probability that decreases
+ * with its break count, the number of clauses that would become falsified. Break counts are kept
+ * up to date while flipping: every clause knows how many of its literals are true and, through the
+ * XOR of their variables, which variable is its only true literal if there is just one.
+ *
+ * <p>A try ends after {@code maxFlips} flips and the next one starts from a fresh random
+ * assignment. Local search cannot show that a formula is unsatisfiable, so {@link #nextModel()}
+ * throws a {@link CancellationException} once all tries are used up. It only returns {@code null}
+ * if the formula contains the empty clause, or after all models have been enumerated, which is
+ * noticed when blocking the last model yields the empty clause.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class LocalSearchSolver implements SATSolver {
+
+  public static final long DEFAULT_MAX_FLIPS = 1_000_000;
+  public static final int DEFAULT_MAX_TRIES = 10;
+
+  // Parameters of ProbSAT for 3-SAT: probabilities proportional to (EPSILON + break)^-CB_POLY
+  private static final double EPSILON = 1.0;
+  private static final double CB_POLY = 2.38;
+
+  // Break counts beyond the table share its last probability
+  private static final int PROBABILITY_TABLE_SIZE = 64;
+
+  // Flips between two checks for interruption
+  private static final int INTERRUPT_INTERVAL = 1 << 12;
+
+  private final long maxFlips;
+  private final int maxTries;
+  private final long seed;
+
+  private VariableTable variables;
+  private int variableCount;
+  private Random random;
+  private double[] probabilities;
+
+  private int[] clauseLiterals;
+  private int literalCount;
+  private int[] clauseStarts;
+  private int clauseCount;
+  private boolean containsEmptyClause;
+
+  private int[][] occurrences;
+  private int[] occurrenceCounts;
+
+  private boolean[] values;
+  private int[] trueCounts;
+  private int[] trueVariables;
+  private int[] breakCounts;
+  private int[] falsified;
+  private int[] falsifiedPositions;
+  private int falsifiedCount;
+
+  private boolean[] bestValues;
+  private int bestFalsifiedCount;
+
+  private boolean modelReturned;
+  private long flipCount;
+  private long tryCount;
+
+  public LocalSearchSolver() {
+    this(DEFAULT_MAX_FLIPS, DEFAULT_MAX_TRIES, 0);
+  }
+
+  public LocalSearchSolver(long maxFlips, int maxTries, long seed) {
+    if (maxFlips < 0 || maxTries < 1) {
+      throw new IllegalArgumentException("The flip budget must allow at least one try");
+    }
+    this.maxFlips = maxFlips;
+    this.maxTries = maxTries;
+    this.seed = seed;
+  }
+
+  @Override
+  public void load(CNF cnf) {
+    List<int[]> clauses = new ArrayList<>();
+    for (Clause clause : cnf.getClauses()) {
+      clauses.add(clause.encode(cnf.getVariableTable()));
+    }
+    load(cnf.getVariableTable(), clauses);
+  }
+
+  /**
+   * Loads clauses that are already encoded with respect to {@code variables}. The arrays are copied
+   * and not modified.
+   */
+  public void load(VariableTable variables, List<int[]> clauses) {
+    this.variables = variables;
+    this.variableCount = variables.size();
+    this.random = new Random(seed);
+    this.clauseLiterals = new int[16];
+    this.literalCount = 0;
+    this.clauseStarts = new int[16];
+    this.clauseCount = 0;
+    this.containsEmptyClause = false;
+    this.occurrences = new int[2 * variableCount][];
+    this.occurrenceCounts = new int[2 * variableCount];
+    for (int literal = 0; literal < 2 * variableCount; literal++) {
+      occurrences[literal] = new int[4];
+    }
+    this.values = new boolean[variableCount];
+    this.breakCounts = new int[variableCount];
+    this.bestValues = new boolean[variableCount];
+    this.trueCounts = new int[16];
+    this.trueVariables = new int[16];
+    this.falsified = new int[16];
+    this.falsifiedPositions = new int[16];
+    this.modelReturned = false;
+    this.flipCount = 0;
+    this.tryCount = 0;
+
+    int maxLength = 0;
+    for (int[] literals : clauses) {
+      addClause(literals);
+      maxLength = Math.max(maxLength, literals.length);
+    }
+    this.probabilities = probabilities(maxLength);
+
+    randomize();
+  }
+
+  /**
+   * Returns the probabilities of flipping a variable by its break count, with the parameters that
+   * Balint and Schöning found to work best for random k-SAT of the longest clause length.
+   */
+  private static double[] probabilities(int maxLength) {
+    double[] probabilities = new double[PROBABILITY_TABLE_SIZE];
+    for (int breaks = 0; breaks < PROBABILITY_TABLE_SIZE; breaks++) {
+      if (maxLength <= 3) {
+        probabilities[breaks] = Math.pow(EPSILON + breaks, -CB_POLY);
+      } else {
+        double cb = maxLength == 4 ? 3.0 : maxLength == 5 ? 3.7 : maxLength == 6 ? 5.1 : 5.4;
+        probabilities[breaks] = Math.pow(cb, -breaks);
+      }
+    }
+    return probabilities;
+  }
+
+  /** Adds a clause without duplicate literals, tautologies are dropped. */
+  private void addClause(int[] literals) {
+    int start = literalCount;
+    for (int literal : literals) {
+      boolean duplicate = false;
+      for (int i = start; i < literalCount; i++) {
+        if (clauseLiterals[i] == negate(literal)) {
+          literalCount = start;
+          return;
+        }
+        duplicate |= clauseLiterals[i] == literal;
+      }
+      if (!duplicate) {
+        if (literalCount == clauseLiterals.length) {
+          clauseLiterals = Arrays.copyOf(clauseLiterals, 2 * literalCount);
+        }
+        clauseLiterals[literalCount++] = literal;
+      }
+    }
+    if (literalCount == start) {
+      containsEmptyClause = true;
+      return;
+    }
+
+    if (clauseCount + 1 >= clauseStarts.length) {
+      int capacity = 2 * clauseStarts.length;
+      clauseStarts = Arrays.copyOf(clauseStarts, capacity);
+      trueCounts = Arrays.copyOf(trueCounts, capacity);
+      trueVariables = Arrays.copyOf(trueVariables, capacity);
+      falsified = Arrays.copyOf(falsified, capacity);
+      falsifiedPositions = Arrays.copyOf(falsifiedPositions, capacity);
+    }
+    int clause = clauseCount++;
+    clauseStarts[clause] = start;
+    clauseStarts[clauseCount] = literalCount;
+
+    int trueCount = 0;
+    int trueVariable = 0;
+    for (int i = start; i < literalCount; i++) {
+      int literal = clauseLiterals[i];
+      if (occurrenceCounts[literal] == occurrences[literal].length) {
+        occurrences[literal] = Arrays.copyOf(occurrences[literal], 2 * occurrenceCounts[literal]);
+      }
+      occurrences[literal][occurrenceCounts[literal]++] = clause;
+      if (isTrue(literal)) {
+        trueCount++;
+        trueVariable ^= variable(literal);
+      }
+    }
+    trueCounts[clause] = trueCount;
+    trueVariables[clause] = trueVariable;
+    if (trueCount == 0) {
+      addFalsified(clause);
+    } else if (trueCount == 1) {
+      breakCounts[trueVariable]++;
+    }
+  }
+
+  private boolean isTrue(int literal) {
+    return values[variable(literal)] != isNegated(literal);
+  }
+
+  private void addFalsified(int clause) {
+    falsifiedPositions[clause] = falsifiedCount;
+    falsified[falsifiedCount++] = clause;
+  }
+
+  private void removeFalsified(int clause) {
+    int last = falsified[--falsifiedCount];
+    int position = falsifiedPositions[clause];
+    falsified[position] = last;
+    falsifiedPositions[last] = position;
+  }
+
+  /** Starts a new try from a random assignment. */
+  private void randomize() {
+    for (int variable = 0; variable < variableCount; variable++) {
+      values[variable] = random.nextBoolean();
+    }
+    initialize();
+  }
+
+  /** Recomputes the true counts, break counts and falsified clauses from the current values. */
+  private void initialize() {
+    Arrays.fill(breakCounts, 0);
+    falsifiedCount = 0;
+    for (int clause = 0; clause < clauseCount; clause++) {
+      int trueCount = 0;
+      int trueVariable = 0;
+      for (int i = clauseStarts[clause]; i < clauseStarts[clause + 1]; i++) {
+        int literal = clauseLiterals[i];
+        if (isTrue(literal)) {
+          trueCount++;
+          trueVariable ^= variable(literal);
+        }
+      }
+      trueCounts[clause] = trueCount;
+      trueVariables[clause] = trueVariable;
+      if (trueCount == 0) {
+        addFalsified(clause);
+      } else if (trueCount == 1) {
+        breakCounts[trueVariable]++;
+      }
+    }
+
+    bestFalsifiedCount = Integer.MAX_VALUE;
+    recordBest();
+    tryCount++;
+  }
+
+  private void recordBest() {
+    if (falsifiedCount < bestFalsifiedCount) {
+      bestFalsifiedCount = falsifiedCount;
+      System.arraycopy(values, 0, bestValues, 0, variableCount);
+    }
+  }
+
+  @Override
+  public Assignment nextModel() {
+    if (modelReturned) {
+      // block the last model
+      int[] blockingClause = new int[variableCount];
+      for (int variable = 0; variable < variableCount; variable++) {
+        blockingClause[variable] = literal(variable, values[variable]);
+      }
+      addClause(blockingClause);
+      modelReturned = false;
+    }
+    if (containsEmptyClause) {
+      return null;
+    }
+
+    for (int tries = 0; tries < maxTries; tries++) {
+      if (tries > 0) {
+        randomize();
+      }
+      if (search(maxFlips)) {
+        modelReturned = true;
+        return model();
+      }
+    }
+    throw new CancellationException("No model was found within the flip budget");
+  }
+
+  /**
+   * Flips from the current assignment until all clauses are satisfied or {@code flips} flips have
+   * been made. Returns whether a model was found.
+   */
+  private boolean search(long flips) {
+    for (long flip = 0; flip < flips && falsifiedCount > 0; flip++) {
+      if ((flip & (INTERRUPT_INTERVAL - 1)) == 0 && Thread.currentThread().isInterrupted()) {
+        throw new CancellationException("The search was interrupted");
+      }
+
+      flip(pickVariable(falsified[random.nextInt(falsifiedCount)]));
+      if (falsifiedCount < bestFalsifiedCount) {
+        recordBest();
+      }
+    }
+    return falsifiedCount == 0;
+  }
+
+  /** Picks one of the variables of the falsified clause by the probabilities of its break count. */
+  private int pickVariable(int clause) {
+    int start = clauseStarts[clause];
+    int end = clauseStarts[clause + 1];
+    double sum = 0;
+    for (int i = start; i < end; i++) {
+      sum += probability(variable(clauseLiterals[i]));
+    }
+
+    double threshold = random.nextDouble() * sum;
+    for (int i = start; i < end - 1; i++) {
+      int variable = variable(clauseLiterals[i]);
+      threshold -= probability(variable);
+      if (threshold < 0) {
+        return variable;
+      }
+    }
+    return variable(clauseLiterals[end - 1]);
+  }
+
+  private double probability(int variable) {
+    return probabilities[Math.min(breakCounts[variable], PROBABILITY_TABLE_SIZE - 1)];
+  }
+
+  private void flip(int variable) {
+    int falseLiteral = literal(variable, !values[variable]);
+    int trueLiteral = negate(falseLiteral);
+    values[variable] = !values[variable];
+    flipCount++;
+
+    int[] made = occurrences[trueLiteral];
+    for (int i = 0; i < occurrenceCounts[trueLiteral]; i++) {
+      int clause = made[i];
+      int trueCount = trueCounts[clause]++;
+      if (trueCount == 0) {
+        removeFalsified(clause);
+        breakCounts[variable]++;
+      } else if (trueCount == 1) {
+        breakCounts[trueVariables[clause]]--;
+      }
+      trueVariables[clause] ^= variable;
+    }
+
+    int[] broken = occurrences[falseLiteral];
+    for (int i = 0; i < occurrenceCounts[falseLiteral]; i++) {
+      int clause = broken[i];
+      int trueCount = --trueCounts[clause];
+      trueVariables[clause] ^= variable;
+      if (trueCount == 0) {
+        addFalsified(clause);
+        breakCounts[variable]--;
+      } else if (trueCount == 1) {
+        breakCounts[trueVariables[clause]]++;
+      }
+    }
+  }
+
+  private Assignment model() {
+    Assignment model = new Assignment(variables);
+    for (int variable = 0; variable < variableCount; variable++) {
+      model.propagate(literal(variable, !values[variable]), Assignment.NO_REASON);
+    }
+    return model;
+  }
+
+  /**
+   * Runs a single try of at most {@code flips} flips that starts from {@code initialValues}, and
+   * returns the values of the assignment with the fewest falsified clauses on the way. This is used
+   * by {@link DPLLCDCLSolver} to choose the phases of its decisions.
+   */
+  public boolean[] walk(boolean[] initialValues, long flips) {
+    System.arraycopy(initialValues, 0, values, 0, Math.min(initialValues.length, variableCount));
+    initialize();
+    search(flips);
+    return Arrays.copyOf(bestValues, variableCount);
+  }
+
+  /** Returns the fewest falsified clauses of the current try, which is 0 if a model was found. */
+  public int getBestFalsifiedCount() {
+    return bestFalsifiedCount;
+  }
+
+  public long getFlipCount() {
+    return flipCount;
+  }
+
+  /** Returns the number of tries, that is restarts from a new assignment plus the first one. */
+  public long getTryCount() {
+    return tryCount;
+  }
+}
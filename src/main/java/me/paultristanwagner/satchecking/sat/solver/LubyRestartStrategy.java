@@ -0,0 +1,73 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+/**
+ * Restarts after {@code unit * luby(i)} conflicts, where {@code luby} is the sequence 1, 1, 2, 1,
+ * 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, ... of Luby, Sinclair and Zuckerman.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class LubyRestartStrategy implements RestartStrategy {
+
+  public static final int DEFAULT_UNIT = 100;
+
+  private final int unit;
+
+  private int restarts;
+  private long conflicts;
+  private long limit;
+
+  public LubyRestartStrategy() {
+    this(DEFAULT_UNIT);
+  }
+
+  public LubyRestartStrategy(int unit) {
+    if (unit <= 0) {
+      throw new IllegalArgumentException("Luby unit must be positive");
+    }
+    this.unit = unit;
+    reset();
+  }
+
+  @Override
+  public void reset() {
+    restarts = 0;
+    conflicts = 0;
+    limit = unit * luby(0);
+  }
+
+  @Override
+  public void conflict(int lbd) {
+    conflicts++;
+  }
+
+  @Override
+  public boolean shouldRestart() {
+    return conflicts >= limit;
+  }
+
+  @Override
+  public void restarted() {
+    restarts++;
+    conflicts = 0;
+    limit = unit * luby(restarts);
+  }
+
+  /** Returns the {@code index}-th element of the Luby sequence, starting at index 0. */
+  public static long luby(int index) {
+    // Find the finite subsequence that contains the index and its size
+    int size = 1;
+    int sequence = 0;
+    while (size < index + 1) {
+      sequence++;
+      size = 2 * size + 1;
+    }
+
+    while (size - 1 != index) {
+      size = (size - 1) >> 1;
+      sequence--;
+      index = index % size;
+    }
+    return 1L << sequence;
+  }
+}
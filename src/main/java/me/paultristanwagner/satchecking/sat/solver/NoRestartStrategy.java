@@ -0,0 +1,24 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+/**
+ * Never restarts.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class NoRestartStrategy implements RestartStrategy {
+
+  @Override
+  public void reset() {}
+
+  @Override
+  public void conflict(int lbd) {}
+
+  @Override
+  public boolean shouldRestart() {
+    return false;
+  }
+
+  @Override
+  public void restarted() {}
+}
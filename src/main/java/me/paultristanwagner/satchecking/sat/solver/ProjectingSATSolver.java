@@ -0,0 +1,80 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Enumerates the models of another solver projected onto a set of variables, for solvers that
+ * cannot block projected models themselves. Models whose projection was returned before are
+ * skipped, so every projected model is returned once, but the solver still enumerates all full
+ * models. {@link DPLLCDCLSolver#setProjection(Collection)} avoids this. Enumeration stops once the
+ * solver repeats a full model, since some solvers, like {@link DPLLSolver} on the empty CNF, keep
+ * returning the same model instead of {@code null}.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class ProjectingSATSolver implements SATSolver {
+
+  private final SATSolver solver;
+  private final List<String> projection;
+  private final Set<String> projectedModels = new HashSet<>();
+  private final Set<String> fullModels = new HashSet<>();
+
+  public ProjectingSATSolver(SATSolver solver, Collection<String> projection) {
+    this.solver = solver;
+    this.projection = new ArrayList<>(projection);
+  }
+
+  @Override
+  public void load(CNF cnf) {
+    projectedModels.clear();
+    fullModels.clear();
+    solver.load(cnf);
+  }
+
+  @Override
+  public Assignment nextModel() {
+    Assignment model;
+    while ((model = solver.nextModel()) != null) {
+      if (!fullModels.add(fullKey(model))) {
+        return null;
+      }
+      if (projectedModels.add(key(model))) {
+        return model;
+      }
+    }
+    return null;
+  }
+
+  private static String fullKey(Assignment model) {
+    StringBuilder key = new StringBuilder();
+    for (int variable = 0; variable < model.getVariableTable().size(); variable++) {
+      if (!model.assigns(variable)) {
+        key.append('-');
+      } else {
+        key.append(model.getValue(variable) ? '1' : '0');
+      }
+    }
+    return key.toString();
+  }
+
+  private String key(Assignment model) {
+    StringBuilder key = new StringBuilder();
+    for (String name : projection) {
+      int variable = model.getVariableTable().indexOf(name);
+      if (variable == -1 || !model.assigns(variable)) {
+        key.append('-');
+      } else {
+        key.append(model.getValue(variable) ? '1' : '0');
+      }
+    }
+    return key.toString();
+  }
+}
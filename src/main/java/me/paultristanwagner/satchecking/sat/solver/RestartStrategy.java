@@ -0,0 +1,23 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+/**
+ * Decides when {@link DPLLCDCLSolver} abandons its current decisions and backjumps to decision
+ * level 0. Learned clauses and the state of the {@link DecisionHeuristic} survive a restart.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public interface RestartStrategy {
+
+  /** Resets the strategy for a new problem. */
+  void reset();
+
+  /** Called after every analyzed conflict with the LBD of the learned clause. */
+  void conflict(int lbd);
+
+  /** Whether the solver should restart now. Only asked when no conflict is pending. */
+  boolean shouldRestart();
+
+  /** Called after the solver has restarted. */
+  void restarted();
+}
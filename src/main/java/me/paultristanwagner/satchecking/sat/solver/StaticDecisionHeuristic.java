@@ -0,0 +1,55 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+
+/**
+ * Decides the unassigned variable with the lowest index and always assigns it to false. The scan
+ * resumes where the last decision was made, since only backjumping can unassign variables below
+ * that point.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class StaticDecisionHeuristic implements DecisionHeuristic {
+
+  private static final boolean DEFAULT_DECISION_VALUE = false;
+
+  private int variableCount;
+  private int next;
+
+  @Override
+  public void load(int variableCount) {
+    this.variableCount = variableCount;
+    this.next = 0;
+  }
+
+  @Override
+  public void ensureCapacity(int variableCount) {
+    this.variableCount = Math.max(this.variableCount, variableCount);
+  }
+
+  @Override
+  public int nextDecision(Assignment assignment) {
+    while (next < variableCount && assignment.assigns(next)) {
+      next++;
+    }
+    if (next == variableCount) {
+      return -1;
+    }
+
+    return literal(next, !DEFAULT_DECISION_VALUE);
+  }
+
+  @Override
+  public void bump(int variable) {}
+
+  @Override
+  public void decay() {}
+
+  @Override
+  public void unassigned(int variable, boolean value) {
+    next = Math.min(next, variable);
+  }
+}
@@ -0,0 +1,134 @@
+package me.paultristanwagner.satchecking.sat.solver;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.VariableHeap;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+
+/**
+ * Exponential VSIDS: every variable of a learned clause has its activity increased by a bump
+ * amount, which itself grows by {@code 1 / decayFactor} after each conflict. This is equivalent to
+ * decaying all activities, but costs only {@code O(1)} per conflict. Decisions are taken from a
+ * heap ordered by activity and use the value the variable had when it was last unassigned (phase
+ * saving). Initially all variables have the same activity and the same phase; a non-zero seed adds
+ * a small random activity to break ties differently, which is used to diversify parallel solvers.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class VSIDSDecisionHeuristic implements DecisionHeuristic {
+
+  public static final double DEFAULT_DECAY_FACTOR = 0.95;
+
+  private static final double RESCALE_LIMIT = 1e100;
+
+  // Upper bound of the random initial activities, far below the first bump amount
+  private static final double INITIAL_ACTIVITY_NOISE = 1e-5;
+
+  private final double decayFactor;
+  private final boolean initialPhase;
+  private final long seed;
+
+  private double[] activity;
+  private boolean[] savedPhases;
+  private VariableHeap heap;
+  private double bumpAmount;
+  private int variableCount;
+  private Random random;
+
+  public VSIDSDecisionHeuristic() {
+    this(DEFAULT_DECAY_FACTOR);
+  }
+
+  public VSIDSDecisionHeuristic(double decayFactor) {
+    this(decayFactor, false, 0);
+  }
+
+  public VSIDSDecisionHeuristic(double decayFactor, boolean initialPhase, long seed) {
+    if (decayFactor <= 0 || decayFactor > 1) {
+      throw new IllegalArgumentException("Decay factor must be in (0, 1]");
+    }
+    this.decayFactor = decayFactor;
+    this.initialPhase = initialPhase;
+    this.seed = seed;
+  }
+
+  @Override
+  public void load(int variableCount) {
+    this.activity = new double[variableCount];
+    this.savedPhases = new boolean[variableCount];
+    this.heap = new VariableHeap(activity);
+    this.bumpAmount = 1.0;
+    this.variableCount = 0;
+    this.random = seed == 0 ? null : new Random(seed);
+    ensureCapacity(variableCount);
+  }
+
+  @Override
+  public void ensureCapacity(int variableCount) {
+    if (variableCount <= this.variableCount) {
+      return;
+    }
+
+    if (activity.length < variableCount) {
+      activity = Arrays.copyOf(activity, variableCount);
+      savedPhases = Arrays.copyOf(savedPhases, variableCount);
+      heap.setActivity(activity);
+    }
+    for (int variable = this.variableCount; variable < variableCount; variable++) {
+      savedPhases[variable] = initialPhase;
+      if (random != null) {
+        activity[variable] = random.nextDouble() * INITIAL_ACTIVITY_NOISE;
+      }
+      heap.insert(variable);
+    }
+    this.variableCount = variableCount;
+  }
+
+  @Override
+  public int nextDecision(Assignment assignment) {
+    while (!heap.isEmpty()) {
+      int variable = heap.removeMax();
+      if (!assignment.assigns(variable)) {
+        return literal(variable, !savedPhases[variable]);
+      }
+    }
+    return -1;
+  }
+
+  @Override
+  public void bump(int variable) {
+    activity[variable] += bumpAmount;
+    if (activity[variable] > RESCALE_LIMIT) {
+      for (int i = 0; i < variableCount; i++) {
+        activity[i] /= RESCALE_LIMIT;
+      }
+      bumpAmount /= RESCALE_LIMIT;
+    }
+    heap.increased(variable);
+  }
+
+  @Override
+  public void decay() {
+    bumpAmount /= decayFactor;
+  }
+
+  @Override
+  public void unassigned(int variable, boolean value) {
+    savedPhases[variable] = value;
+    heap.insert(variable);
+  }
+
+  @Override
+  public boolean getPhase(int variable) {
+    return savedPhases[variable];
+  }
+
+  @Override
+  public void setPhase(int variable, boolean value) {
+    savedPhases[variable] = value;
+  }
+}
@@ -0,0 +1,348 @@
+package me.paultristanwagner.satchecking.sat.xor;
+
+import me.paultristanwagner.satchecking.sat.WatchList;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+
+/**
+ * Propagates a system of XOR constraints by incremental Gauss-Jordan elimination, following Han
+ * and Jiang. The system is a matrix over GF(2) whose rows are packed into {@code long[]} words, one
+ * column per variable, and it is kept in reduced row echelon form: every row has a basic column
+ * that no other row contains.
+ *
+ * <p>Every row watches its basic column and one other unassigned column. When a watched column is
+ * assigned, the row looks for another unassigned column. If the basic column was assigned, the new
+ * one becomes basic and is eliminated from all other rows, so that basic columns stay unassigned as
+ * long as their row has unassigned columns. A row left with a single unassigned column implies its
+ * value, a row without one may be in conflict. Since the basic column of a row is assigned last,
+ * nothing needs to be done on backtracking.
+ *
+ * <p>Implications and conflicts are reported as {@link XorExplanation}s, which hold a copy of the
+ * row and build the clause over its variables only when it is needed.
+ *
+ * <p>The assignment is the one the caller reports through {@link #assign(int, boolean, List)} and
+ * {@link #unassign(int)}, which may lag behind its own.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class GaussJordanElimination {
+
+  private static final int NONE = -1;
+
+  private final int[] columnVariables;
+  private final int[] variableColumns;
+  private final int words;
+
+  private long[][] rows;
+  private boolean[] parities;
+  private int[] basics;
+  private int[] watches;
+  private final WatchList[] watchLists;
+  private int[] rowStamps;
+  private int stamp;
+
+  private final long[] assigned;
+  private final long[] values;
+  private boolean unsatisfiable;
+
+  private long pivotCount;
+
+  public GaussJordanElimination(List<XorConstraint> constraints, int variableCount) {
+    Map<Integer, Integer> columns = new LinkedHashMap<>();
+    for (XorConstraint constraint : constraints) {
+      for (int variable : constraint.getVariables()) {
+        columns.putIfAbsent(variable, columns.size());
+      }
+    }
+
+    this.columnVariables = new int[columns.size()];
+    this.variableColumns = new int[variableCount];
+    Arrays.fill(variableColumns, NONE);
+    for (Map.Entry<Integer, Integer> entry : columns.entrySet()) {
+      columnVariables[entry.getValue()] = entry.getKey();
+      variableColumns[entry.getKey()] = entry.getValue();
+    }
+    this.words = (columnVariables.length + 63) >>> 6;
+    this.assigned = new long[words];
+    this.values = new long[words];
+    this.watchLists = new WatchList[columnVariables.length];
+    for (int column = 0; column < columnVariables.length; column++) {
+      watchLists[column] = new WatchList();
+    }
+
+    this.rows = new long[constraints.size()][];
+    this.parities = new boolean[constraints.size()];
+    for (int row = 0; row < rows.length; row++) {
+      XorConstraint constraint = constraints.get(row);
+      rows[row] = new long[words];
+      for (int variable : constraint.getVariables()) {
+        int column = variableColumns[variable];
+        rows[row][column >>> 6] |= 1L << column;
+      }
+      parities[row] = constraint.getParity();
+    }
+
+    eliminate();
+  }
+
+  /**
+   * Brings the matrix into reduced row echelon form. Rows that became zero are removed, if one of
+   * them has parity 1 the system is unsatisfiable.
+   */
+  private void eliminate() {
+    List<Integer> pivotColumns = new ArrayList<>();
+    int pivotRow = 0;
+    for (int column = 0; column < columnVariables.length && pivotRow < rows.length; column++) {
+      int found = NONE;
+      for (int row = pivotRow; row < rows.length; row++) {
+        if (get(rows[row], column)) {
+          found = row;
+          break;
+        }
+      }
+      if (found == NONE) {
+        continue;
+      }
+
+      swapRows(pivotRow, found);
+      for (int row = 0; row < rows.length; row++) {
+        if (row != pivotRow && get(rows[row], column)) {
+          addRow(row, pivotRow);
+        }
+      }
+      pivotColumns.add(column);
+      pivotRow++;
+    }
+
+    for (int row = pivotRow; row < rows.length; row++) {
+      unsatisfiable |= parities[row];
+    }
+    rows = Arrays.copyOf(rows, pivotRow);
+    parities = Arrays.copyOf(parities, pivotRow);
+
+    this.basics = new int[pivotRow];
+    this.watches = new int[pivotRow];
+    this.rowStamps = new int[pivotRow];
+    for (int row = 0; row < pivotRow; row++) {
+      basics[row] = pivotColumns.get(row);
+      watches[row] = NONE;
+      watchLists[basics[row]].add(row);
+    }
+  }
+
+  private void swapRows(int first, int second) {
+    long[] row = rows[first];
+    rows[first] = rows[second];
+    rows[second] = row;
+    boolean parity = parities[first];
+    parities[first] = parities[second];
+    parities[second] = parity;
+  }
+
+  /** Adds the row {@code source} to the row {@code target}. */
+  private void addRow(int target, int source) {
+    long[] targetRow = rows[target];
+    long[] sourceRow = rows[source];
+    for (int word = 0; word < words; word++) {
+      targetRow[word] ^= sourceRow[word];
+    }
+    parities[target] ^= parities[source];
+  }
+
+  private static boolean get(long[] bits, int column) {
+    return (bits[column >>> 6] >>> column & 1) == 1;
+  }
+
+  private boolean isAssignedColumn(int column) {
+    return get(assigned, column);
+  }
+
+  /**
+   * Returns what holds before anything is assigned: the implications of rows with a single column
+   * and, if the system is unsatisfiable, a conflict without variables.
+   */
+  public List<XorExplanation> initialExplanations() {
+    List<XorExplanation> explanations = new ArrayList<>();
+    if (unsatisfiable) {
+      explanations.add(new XorExplanation(columnVariables, new long[words], XorExplanation.CONFLICT));
+      return explanations;
+    }
+    for (int row = 0; row < basics.length; row++) {
+      settle(row, true, explanations);
+    }
+    return explanations;
+  }
+
+  /**
+   * Assigns {@code variable} to {@code value} and adds the implications and conflicts that follow
+   * to {@code explanations}. Variables that occur in no constraint are ignored.
+   */
+  public void assign(int variable, boolean value, List<XorExplanation> explanations) {
+    int column = columnOf(variable);
+    if (column == NONE || isAssignedColumn(column)) {
+      return;
+    }
+    assigned[column >>> 6] |= 1L << column;
+    if (value) {
+      values[column >>> 6] |= 1L << column;
+    } else {
+      values[column >>> 6] &= ~(1L << column);
+    }
+
+    // Rows are only removed from a watch list while it is visited, so it may hold rows that do not
+    // watch the column anymore, or the same row twice
+    stamp++;
+    WatchList watchList = watchLists[column];
+    int j = 0;
+    for (int i = 0; i < watchList.size(); i++) {
+      int row = watchList.get(i);
+      if (rowStamps[row] == stamp || (basics[row] != column && watches[row] != column)) {
+        continue;
+      }
+      rowStamps[row] = stamp;
+
+      settle(row, true, explanations);
+      if (basics[row] == column || watches[row] == column) {
+        watchList.set(j++, row);
+      }
+    }
+    watchList.truncate(j);
+  }
+
+  public void unassign(int variable) {
+    int column = columnOf(variable);
+    if (column != NONE) {
+      assigned[column >>> 6] &= ~(1L << column);
+    }
+  }
+
+  private int columnOf(int variable) {
+    return variable < variableColumns.length ? variableColumns[variable] : NONE;
+  }
+
+  /**
+   * Makes the basic column and the watched column of {@code row} unassigned columns of the row, by
+   * pivoting if {@code pivoting} is allowed and the basic column is assigned. If that is not
+   * possible the row implies its last unassigned column or is checked for a conflict.
+   */
+  private void settle(int row, boolean pivoting, List<XorExplanation> explanations) {
+    long[] bits = rows[row];
+    int basic = basics[row];
+    int watch = watches[row];
+    boolean watchValid = watch != NONE && watch != basic && get(bits, watch) && !isAssignedColumn(watch);
+
+    if (isAssignedColumn(basic)) {
+      int column = findUnassigned(bits, watchValid ? watch : NONE, NONE);
+      if (column == NONE && watchValid) {
+        column = watch;
+        watchValid = false;
+      }
+      if (column == NONE) {
+        if (parity(bits) != parities[row]) {
+          explanations.add(explain(row, NONE));
+        }
+        return;
+      }
+      if (!pivoting) {
+        // Without a pivot the row still watches an unassigned column
+        watchTo(row, column);
+        return;
+      }
+      pivot(row, column, explanations);
+      basic = column;
+    }
+
+    if (watchValid) {
+      return;
+    }
+    int column = findUnassigned(bits, basic, NONE);
+    if (column == NONE) {
+      explanations.add(explain(row, basic));
+      return;
+    }
+    watchTo(row, column);
+  }
+
+  private void watchTo(int row, int column) {
+    watches[row] = column;
+    watchLists[column].add(row);
+  }
+
+  /** Makes {@code column} the basic column of {@code row} and eliminates it from all other rows. */
+  private void pivot(int row, int column, List<XorExplanation> explanations) {
+    pivotCount++;
+    basics[row] = column;
+    watchLists[column].add(row);
+    if (watches[row] == column) {
+      watches[row] = NONE;
+    }
+
+    for (int other = 0; other < basics.length; other++) {
+      if (other != row && get(rows[other], column)) {
+        addRow(other, row);
+        // The row may have lost its watched column. Its basic column is unassigned, since the row
+        // contained the unassigned column
+        settle(other, false, explanations);
+      }
+    }
+  }
+
+  /** Returns an unassigned column of the row other than {@code first} and {@code second}. */
+  private int findUnassigned(long[] bits, int first, int second) {
+    for (int word = 0; word < words; word++) {
+      long candidates = bits[word] & ~assigned[word];
+      while (candidates != 0) {
+        int column = (word << 6) + Long.numberOfTrailingZeros(candidates);
+        if (column != first && column != second) {
+          return column;
+        }
+        candidates &= candidates - 1;
+      }
+    }
+    return NONE;
+  }
+
+  /** Returns the sum of the values of the assigned columns of the row. */
+  private boolean parity(long[] bits) {
+    int ones = 0;
+    for (int word = 0; word < words; word++) {
+      ones += Long.bitCount(bits[word] & assigned[word] & values[word]);
+    }
+    return (ones & 1) == 1;
+  }
+
+  /**
+   * Returns the explanation of the value of {@code implied} by the other columns of the row, or of
+   * the conflict of the row if {@code implied} is {@code NONE}.
+   */
+  private XorExplanation explain(int row, int implied) {
+    long[] bits = rows[row];
+    int literal = XorExplanation.CONFLICT;
+    if (implied != NONE) {
+      boolean value = parity(bits) != parities[row];
+      literal = literal(columnVariables[implied], !value);
+    }
+    return new XorExplanation(columnVariables, bits.clone(), literal);
+  }
+
+  /** Returns the number of constraints left after elimination. */
+  public int getRowCount() {
+    return basics.length;
+  }
+
+  public int getColumnCount() {
+    return columnVariables.length;
+  }
+
+  /** Returns the number of times a basic column was exchanged during propagation. */
+  public long getPivotCount() {
+    return pivotCount;
+  }
+}
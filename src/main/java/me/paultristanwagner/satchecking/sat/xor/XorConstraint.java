@@ -0,0 +1,77 @@
+package me.paultristanwagner.satchecking.sat.xor;
+
+import java.util.Arrays;
+
+/**
+ * A parity constraint {@code x1 ^ x2 ^ ... ^ xn = parity} over int variables of a {@link
+ * me.paultristanwagner.satchecking.sat.VariableTable}. The variables are kept sorted and distinct.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class XorConstraint {
+
+  private final int[] variables;
+  private final boolean parity;
+
+  public XorConstraint(int[] variables, boolean parity) {
+    int[] sorted = variables.clone();
+    Arrays.sort(sorted);
+    for (int i = 1; i < sorted.length; i++) {
+      if (sorted[i] == sorted[i - 1]) {
+        throw new IllegalArgumentException("The variables of a XOR constraint must be distinct");
+      }
+    }
+    this.variables = sorted;
+    this.parity = parity;
+  }
+
+  public int[] getVariables() {
+    return variables.clone();
+  }
+
+  public int size() {
+    return variables.length;
+  }
+
+  public boolean getParity() {
+    return parity;
+  }
+
+  /** Returns whether the values, indexed by variable, satisfy this constraint. */
+  public boolean isSatisfiedBy(boolean[] values) {
+    boolean sum = false;
+    for (int variable : variables) {
+      sum ^= values[variable];
+    }
+    return sum == parity;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof XorConstraint that)) {
+      return false;
+    }
+    return parity == that.parity && Arrays.equals(variables, that.variables);
+  }
+
+  @Override
+  public int hashCode() {
+    return 31 * Arrays.hashCode(variables) + Boolean.hashCode(parity);
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < variables.length; i++) {
+      if (i > 0) {
+        builder.append(" ^ ");
+      }
+      builder.append(variables[i]);
+    }
+    return builder.append(" = ").append(parity ? 1 : 0).toString();
+  }
+}
@@ -0,0 +1,91 @@
+package me.paultristanwagner.satchecking.sat.xor;
+
+import me.paultristanwagner.satchecking.sat.Assignment;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * An implication or conflict of a row of a {@link GaussJordanElimination}. The row is copied when
+ * it propagates, since later pivots may change it, and the clause explaining the propagation is
+ * only built by {@link #toClause(Assignment)} if conflict analysis asks for it.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class XorExplanation {
+
+  public static final int CONFLICT = -1;
+
+  private final int[] columnVariables;
+  private final long[] row;
+  private final int literal;
+
+  XorExplanation(int[] columnVariables, long[] row, int literal) {
+    this.columnVariables = columnVariables;
+    this.row = row;
+    this.literal = literal;
+  }
+
+  /** Returns the implied int literal, or {@link #CONFLICT} if the row is falsified. */
+  public int getLiteral() {
+    return literal;
+  }
+
+  public boolean isConflict() {
+    return literal == CONFLICT;
+  }
+
+  /** Returns the number of literals of the explaining clause. */
+  public int size() {
+    int size = 0;
+    for (long word : row) {
+      size += Long.bitCount(word);
+    }
+    return size;
+  }
+
+  /**
+   * Returns the highest decision level under {@code assignment} among the variables of the row
+   * other than the implied one, without building the clause.
+   */
+  public int getLevel(Assignment assignment) {
+    int level = 0;
+    for (int word = 0; word < row.length; word++) {
+      long columns = row[word];
+      while (columns != 0) {
+        int column = (word << 6) + Long.numberOfTrailingZeros(columns);
+        columns &= columns - 1;
+        int variable = columnVariables[column];
+        if (isConflict() || variable != variable(literal)) {
+          level = Math.max(level, assignment.getAssignmentLevelOf(variable));
+        }
+      }
+    }
+    return level;
+  }
+
+  /**
+   * Returns the clause explaining the propagation. The implied literal comes first, all other
+   * literals are false under {@code assignment}, which must still assign the variables of the row.
+   */
+  public int[] toClause(Assignment assignment) {
+    int[] clause = new int[size()];
+    int index = 0;
+    if (!isConflict()) {
+      clause[index++] = literal;
+    }
+    for (int word = 0; word < row.length; word++) {
+      long columns = row[word];
+      while (columns != 0) {
+        int column = (word << 6) + Long.numberOfTrailingZeros(columns);
+        columns &= columns - 1;
+        int variable = columnVariables[column];
+        if (isConflict() || variable != variable(literal)) {
+          clause[index++] = literal(variable, assignment.getValue(variable));
+        }
+      }
+    }
+    return clause;
+  }
+}
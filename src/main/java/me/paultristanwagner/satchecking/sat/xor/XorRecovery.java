@@ -0,0 +1,113 @@
+package me.paultristanwagner.satchecking.sat.xor;
+
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.isNegated;
+import static me.paultristanwagner.satchecking.sat.VariableTable.variable;
+
+/**
+ * Finds XOR constraints that a CNF encodes clause by clause. A constraint {@code x1 ^ ... ^ xk =
+ * p} is encoded by the {@code 2^(k-1)} clauses over {@code x1, ..., xk} that each exclude one
+ * assignment of the wrong parity. A clause excludes the assignment that falsifies all of its
+ * literals, whose parity is the parity of its number of negated literals. So if all clauses over
+ * the same variables with an even number of negations are present, the variables sum up to 1, and
+ * with all odd ones they sum up to 0.
+ *
+ * <p>Clauses with more than {@value #MAX_SIZE} literals are not considered, the encoding of longer
+ * constraints is too large to appear in practice.
+ *
+ * @author Paul Tristan Wagner <paultristanwagner@gmail.com>
+ * @version 1.0
+ */
+public class XorRecovery {
+
+  public static final int MAX_SIZE = 6;
+
+  private XorRecovery() {}
+
+  /** Returns the XOR constraints encoded by the clauses of {@code cnf}, over its variable table. */
+  public static List<XorConstraint> recover(CNF cnf) {
+    VariableTable variables = cnf.getVariableTable();
+
+    // For every set of variables, the bit i of the pattern is set if a clause over them negates
+    // exactly the variables in the bits of i
+    Map<VariableSet, Long> patterns = new LinkedHashMap<>();
+    int[] sorted = new int[MAX_SIZE];
+    for (Clause clause : cnf.getClauses()) {
+      int[] literals = clause.encode(variables);
+      if (literals.length < 2 || literals.length > MAX_SIZE) {
+        continue;
+      }
+
+      System.arraycopy(literals, 0, sorted, 0, literals.length);
+      Arrays.sort(sorted, 0, literals.length);
+      int negations = 0;
+      boolean distinct = true;
+      for (int i = 0; i < literals.length; i++) {
+        if (i > 0 && variable(sorted[i]) == variable(sorted[i - 1])) {
+          distinct = false;
+          break;
+        }
+        if (isNegated(sorted[i])) {
+          negations |= 1 << i;
+        }
+      }
+      if (!distinct) {
+        continue;
+      }
+
+      int[] clauseVariables = new int[literals.length];
+      for (int i = 0; i < literals.length; i++) {
+        clauseVariables[i] = variable(sorted[i]);
+      }
+      patterns.merge(new VariableSet(clauseVariables), 1L << negations, (a, b) -> a | b);
+    }
+
+    List<XorConstraint> constraints = new ArrayList<>();
+    for (Map.Entry<VariableSet, Long> entry : patterns.entrySet()) {
+      int[] clauseVariables = entry.getKey().variables;
+      long pattern = entry.getValue();
+      int required = 1 << (clauseVariables.length - 1);
+      int even = 0;
+      int odd = 0;
+      for (int negations = 0; negations < 1 << clauseVariables.length; negations++) {
+        if ((pattern >>> negations & 1) == 1) {
+          if (Integer.bitCount(negations) % 2 == 0) {
+            even++;
+          } else {
+            odd++;
+          }
+        }
+      }
+
+      if (even == required) {
+        constraints.add(new XorConstraint(clauseVariables, true));
+      }
+      if (odd == required) {
+        constraints.add(new XorConstraint(clauseVariables, false));
+      }
+    }
+    return constraints;
+  }
+
+  private record VariableSet(int[] variables) {
+
+    @Override
+    public boolean equals(Object o) {
+      return o instanceof VariableSet that && Arrays.equals(variables, that.variables);
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(variables);
+    }
+  }
+}
@@ -76,7 +76,7 @@ public class FullLazySMTSolver<C extends Constraint> extends SMTSolver<C> {
       }
 
       theorySolver.load(selectedConstraints);
-      TheoryResult<C> theoryResult = theorySolver.solve();
+      TheoryResult<C> theoryResult = solveTheory();
       if (theoryResult.isUnknown()) { // If the theory solver is unknown, we can't do anything
         return SMTResult.unknown();
       }
@@ -56,7 +56,7 @@ public class LessLazySMTSolver<C extends Constraint> extends SMTSolver<C> {
         }
       }
 
-      TheoryResult<C> theoryResult = theorySolver.solve();
+      TheoryResult<C> theoryResult = solveTheory();
       if (theoryResult.isUnknown()) { // If the theory solver is unknown, we can't do anything
         return SMTResult.unknown();
       }
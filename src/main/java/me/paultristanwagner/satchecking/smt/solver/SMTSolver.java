@@ -1,9 +1,11 @@
 package me.paultristanwagner.satchecking.smt.solver;
 
+import me.paultristanwagner.satchecking.SolverStatistics;
 import me.paultristanwagner.satchecking.sat.solver.SATSolver;
 import me.paultristanwagner.satchecking.smt.SMTResult;
 import me.paultristanwagner.satchecking.smt.TheoryCNF;
 import me.paultristanwagner.satchecking.theory.Constraint;
+import me.paultristanwagner.satchecking.theory.TheoryResult;
 import me.paultristanwagner.satchecking.theory.solver.TheorySolver;
 
 public abstract class SMTSolver<C extends Constraint> {
@@ -11,6 +13,7 @@ public abstract class SMTSolver<C extends Constraint> {
   protected SATSolver satSolver;
   protected TheorySolver<C> theorySolver;
   protected TheoryCNF<C> cnf;
+  protected SolverStatistics statistics = SolverStatistics.get();
 
   public void setSATSolver(SATSolver satSolver) {
     this.satSolver = satSolver;
@@ -24,5 +27,25 @@ public abstract class SMTSolver<C extends Constraint> {
     this.cnf = theoryCNF;
   }
 
+  /**
+   * Reports the theory calls of this solver to {@code statistics} instead of the statistics of the
+   * process, or to nowhere if it is {@code null}.
+   */
+  public void setStatistics(SolverStatistics statistics) {
+    this.statistics = statistics;
+  }
+
   public abstract SMTResult<C> solve();
+
+  /** Checks the constraints loaded into the theory solver and records the call. */
+  protected TheoryResult<C> solveTheory() {
+    long startNanos = System.nanoTime();
+    try {
+      return theorySolver.solve();
+    } finally {
+      if (statistics != null) {
+        statistics.recordTheoryCall(System.nanoTime() - startNanos);
+      }
+    }
+  }
 }
@@ -423,10 +423,7 @@ public class BitVectorFlattener {
       bitValueFormulas.add(
           equivalence(
               variable(bitVariableResult),
-              or(
-                  and(variable(bitVariable1), negation(variable(bitVariable2))),
-                  and(negation(variable(bitVariable1)), variable(bitVariable2))
-              )
+              exclusiveOr(variable(bitVariable1), variable(bitVariable2))
           )
       );
     }
@@ -1073,9 +1070,7 @@ public class BitVectorFlattener {
     PropositionalLogicExpression add =
         equivalence(
             variable(bitVariableResult),
-            or(
-                and(variable(bitVariable1), negation(variable(bitVariable2))),
-                and(negation(variable(bitVariable1)), variable(bitVariable2))));
+            exclusiveOr(variable(bitVariable1), variable(bitVariable2)));
 
     PropositionalLogicExpression carry =
         equivalence(variable(carryVariable), and(variable(bitVariable1), variable(bitVariable2)));
@@ -1089,23 +1084,13 @@ public class BitVectorFlattener {
       String bitVariable3,
       String bitVariableResult,
       String bitCarryVariable) {
+    // a ^ b ^ c is true iff a <-> (b <-> c) is
     PropositionalLogicExpression add =
         equivalence(
             variable(bitVariableResult),
-            or(
-                and(
-                    variable(bitVariable1),
-                    negation(variable(bitVariable2)),
-                    negation(variable(bitVariable3))),
-                and(
-                    negation(variable(bitVariable1)),
-                    variable(bitVariable2),
-                    negation(variable(bitVariable3))),
-                and(
-                    negation(variable(bitVariable1)),
-                    negation(variable(bitVariable2)),
-                    variable(bitVariable3)),
-                and(variable(bitVariable1), variable(bitVariable2), variable(bitVariable3))));
+            equivalence(
+                variable(bitVariable1),
+                equivalence(variable(bitVariable2), variable(bitVariable3))));
 
     PropositionalLogicExpression carry =
         equivalence(
@@ -1128,6 +1113,16 @@ public class BitVectorFlattener {
     return and(add, carry);
   }
 
+  /**
+   * Returns {@code a ^ b} as an equivalence rather than as a disjunction of conjunctions. The
+   * Tseitin clauses of equivalences and negations are exactly the clauses of XOR constraints over
+   * their variables, which the SAT solver recovers and propagates by Gauss-Jordan elimination.
+   */
+  private static PropositionalLogicExpression exclusiveOr(
+      PropositionalLogicExpression a, PropositionalLogicExpression b) {
+    return equivalence(a, negation(b));
+  }
+
   private static PropositionalLogicExpression bitValueFormula(String bitVariable, boolean value) {
     if (value) {
       return variable(bitVariable);
@@ -1,7 +1,9 @@
 package me.paultristanwagner.satchecking.theory.solver;
 
+import me.paultristanwagner.satchecking.Config;
 import me.paultristanwagner.satchecking.sat.Assignment;
 import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.preprocess.PreprocessingSolver;
 import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
 import me.paultristanwagner.satchecking.sat.solver.SATSolver;
 import me.paultristanwagner.satchecking.smt.VariableAssignment;
@@ -37,6 +39,9 @@ public class BitVectorSolver implements TheorySolver<BitVectorConstraint> {
     BitVectorFlattener flattener = new BitVectorFlattener();
     CNF cnf = flattener.flatten(constraints);
     SATSolver satSolver = new DPLLCDCLSolver();
+    if (Config.get().preprocessing()) {
+      satSolver = new PreprocessingSolver(satSolver);
+    }
     satSolver.load(cnf);
 
     Assignment assignment = satSolver.nextModel();
@@ -0,0 +1,69 @@
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.PartialAssignment;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AssignmentTest {
+
+  @Test
+  public void testBacktrack() {
+    CNF cnf = CNF.parse("(a | b) & (~b | c) & (c | d)");
+    Assignment assignment = new Assignment(cnf.getVariableTable());
+
+    assignment.assign(new Literal("a"), false);
+    assignment.propagate(new Literal("b"));
+    assignment.assign(new Literal("c"), true);
+    assignment.assign(new Literal("d"), false);
+    assertEquals(3, assignment.getDecisionLevel());
+    assertTrue(assignment.fits(cnf));
+    assertTrue(assignment.evaluate(cnf));
+
+    assignment.backtrack(1);
+    assertEquals(1, assignment.getDecisionLevel());
+    assertEquals(2, assignment.getTrailSize());
+    assertFalse(assignment.fits(cnf));
+    assertTrue(assignment.assigns(new Literal("b")));
+    assertFalse(assignment.assigns(new Literal("c")));
+    assertFalse(assignment.assigns(new Literal("d")));
+    assertEquals(1, assignment.getAssignmentLevelOf(new Literal("b")));
+
+    assignment.backtrack(0);
+    assertTrue(assignment.isEmpty());
+  }
+
+  @Test
+  public void testFlipLastDecision() {
+    CNF cnf = CNF.parse("(a | b)");
+    Assignment assignment = new Assignment(cnf.getVariableTable());
+
+    assignment.assign(new Literal("a"), true);
+    assignment.propagate(new Literal("b", true));
+    assertFalse(assignment.isLastDecisionFlipped());
+
+    assignment.undoPropagations();
+    assignment.flipLastDecision();
+    assertTrue(assignment.isLastDecisionFlipped());
+    assertFalse(assignment.getValue("a"));
+    assertFalse(assignment.assigns(new Literal("b")));
+    assertTrue(assignment.getLastDecision().wasPreviouslyAssigned());
+    assertEquals(new Literal("a"), assignment.not().getLiterals().get(0));
+  }
+
+  @Test
+  public void testPartialAssignmentView() {
+    CNF cnf = CNF.parse("(a | b) & (c)");
+    Assignment assignment = new Assignment(cnf.getVariableTable());
+    assignment.propagate(new Literal("c"));
+    assignment.assign(new Literal("a"), true);
+
+    PartialAssignment partialAssignment = PartialAssignment.incomplete(assignment);
+    assertFalse(partialAssignment.isComplete());
+    assertTrue(partialAssignment.getValue("a"));
+    assertTrue(partialAssignment.getValue("c"));
+    assertFalse(partialAssignment.assigns(new Literal("b")));
+    assertEquals(2, partialAssignment.getTrueLiterals().size());
+  }
+}
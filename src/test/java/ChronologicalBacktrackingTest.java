@@ -0,0 +1,79 @@
+import me.paultristanwagner.satchecking.builder.generator.PigeonholeBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomKSatBuilder;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChronologicalBacktrackingTest {
+
+  private static DPLLCDCLSolver solver(int limit) {
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setChronologicalBacktrackingLimit(limit);
+    return solver;
+  }
+
+  @Test
+  public void testAgreesWithBackjumping() {
+    long chronologicalBacktracks = 0;
+    for (int seed = 0; seed < 100; seed++) {
+      CNF cnf = new RandomKSatBuilder(40, 170, 3, seed).build();
+
+      DPLLCDCLSolver backjumping = solver(-1);
+      backjumping.load(cnf);
+      boolean expected = backjumping.nextModel() != null;
+
+      DPLLCDCLSolver chronological = solver(0);
+      chronological.load(cnf);
+      Assignment model = chronological.nextModel();
+      assertEquals(expected, model != null, "seed " + seed);
+      if (model != null) {
+        assertTrue(model.evaluate(cnf), "seed " + seed);
+      }
+      chronologicalBacktracks += chronological.getChronologicalBacktrackCount();
+    }
+    assertTrue(chronologicalBacktracks > 0);
+  }
+
+  @Test
+  public void testLimit() {
+    CNF cnf = new RandomKSatBuilder(60, 256, 3, 1).build();
+
+    DPLLCDCLSolver solver = solver(Integer.MAX_VALUE);
+    solver.load(cnf);
+    solver.nextModel();
+    assertTrue(solver.getConflictCount() > 0);
+    assertEquals(0, solver.getChronologicalBacktrackCount());
+  }
+
+  @Test
+  public void testUnsatisfiable() {
+    DPLLCDCLSolver solver = solver(0);
+    solver.load(new PigeonholeBuilder(5).build());
+    assertNull(solver.nextModel());
+  }
+
+  @Test
+  public void testEnumeration() {
+    CNF cnf = CNF.parse("(a | b | c) & (~a | d) & (~b | ~d | e) & (c | ~e) & (~c | f | a)");
+
+    int expected = 0;
+    DPLLCDCLSolver backjumping = solver(-1);
+    backjumping.load(cnf);
+    while (backjumping.nextModel() != null) {
+      expected++;
+    }
+
+    int models = 0;
+    DPLLCDCLSolver chronological = solver(0);
+    chronological.load(cnf);
+    Assignment model;
+    while ((model = chronological.nextModel()) != null) {
+      assertTrue(model.evaluate(cnf));
+      models++;
+    }
+    assertEquals(expected, models);
+  }
+}
@@ -0,0 +1,140 @@
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.parallel.CubeAndConquerSolver;
+import me.paultristanwagner.satchecking.sat.parallel.CubeSplitter;
+import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CubeAndConquerSolverTest {
+
+  @Test
+  public void testRandomCnfs() {
+    Random random = new Random(7L);
+    String[] variables = {"a", "b", "c", "d", "e", "f"};
+    CubeAndConquerSolver solver = new CubeAndConquerSolver(3, 3, 6);
+    for (int trial = 0; trial < 200; trial++) {
+      List<Clause> clauses = new ArrayList<>();
+      for (int i = 1 + random.nextInt(16); i > 0; i--) {
+        List<Literal> literals = new ArrayList<>();
+        for (int w = 1 + random.nextInt(3); w > 0; w--) {
+          literals.add(
+              new Literal(variables[random.nextInt(variables.length)], random.nextBoolean()));
+        }
+        clauses.add(new Clause(literals));
+      }
+      CNF cnf = new CNF(clauses);
+
+      solver.load(cnf);
+      Set<String> models = new HashSet<>();
+      Assignment model;
+      while ((model = solver.nextModel()) != null) {
+        assertTrue(model.evaluate(cnf));
+        assertTrue(models.add(model.toString()));
+      }
+      assertEquals(EnumerationSolver.check(cnf).isSatisfiable(), !models.isEmpty());
+    }
+  }
+
+  @Test
+  public void testModelCount() {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, domain);
+    builder.bijective();
+    CNF cnf = builder.build();
+
+    CubeAndConquerSolver solver = new CubeAndConquerSolver(2, 4, 10);
+    solver.load(cnf);
+    Set<String> models = new HashSet<>();
+    Assignment model;
+    while ((model = solver.nextModel()) != null) {
+      assertTrue(model.evaluate(cnf));
+      assertTrue(models.add(model.toString()));
+    }
+    assertEquals(120, models.size());
+    assertTrue(solver.getCubeCount() > 1);
+  }
+
+  @Test
+  public void testPigeonhole() {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5, 6, 7);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, codomain);
+    builder.injective();
+
+    CubeAndConquerSolver solver = new CubeAndConquerSolver(2, 6, 16);
+    solver.load(builder.build());
+    assertNull(solver.nextModel());
+  }
+
+  @Test
+  public void testStopAfterFirstModel() {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, domain);
+    builder.bijective();
+    CNF cnf = builder.build();
+
+    CubeAndConquerSolver solver = new CubeAndConquerSolver(2, 4, 10);
+    solver.load(cnf);
+    Assignment model = solver.nextModel();
+    assertNotNull(model);
+    assertTrue(model.evaluate(cnf));
+    solver.stop();
+  }
+
+  @Test
+  public void testCubesPartitionModels() {
+    CNF cnf = CNF.parse("(a | b | c) & (~a | ~b) & (b | ~c | d) & (~d | e)");
+    List<List<Literal>> cubes = new CubeSplitter(cnf, 3, 5).split();
+
+    // Every model of the formula satisfies exactly one cube
+    String[] names = {"a", "b", "c", "d", "e"};
+    int models = 0;
+    for (int mask = 0; mask < 32; mask++) {
+      List<Literal> literals = new ArrayList<>();
+      for (int i = 0; i < names.length; i++) {
+        literals.add(new Literal(names[i], (mask & (1 << i)) == 0));
+      }
+      if (!satisfies(cnf, literals)) {
+        continue;
+      }
+      models++;
+
+      int matching = 0;
+      for (List<Literal> cube : cubes) {
+        if (literals.containsAll(cube)) {
+          matching++;
+        }
+      }
+      assertEquals(1, matching);
+    }
+    assertTrue(models > 0);
+  }
+
+  private static boolean satisfies(CNF cnf, List<Literal> literals) {
+    for (Clause clause : cnf.getClauses()) {
+      boolean satisfied = false;
+      for (Literal literal : clause.getLiterals()) {
+        if (literals.contains(literal)) {
+          satisfied = true;
+          break;
+        }
+      }
+      if (!satisfied) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
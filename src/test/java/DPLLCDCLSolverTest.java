@@ -2,11 +2,21 @@ import me.paultristanwagner.satchecking.builder.CNFBuilder;
 import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
 import me.paultristanwagner.satchecking.sat.Assignment;
 import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
 import me.paultristanwagner.satchecking.sat.Result;
 import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.DecisionHeuristic;
+import me.paultristanwagner.satchecking.sat.solver.GeometricRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.GlucoseRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.LubyRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.NoRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.RestartStrategy;
 import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+import me.paultristanwagner.satchecking.sat.solver.StaticDecisionHeuristic;
+import me.paultristanwagner.satchecking.sat.solver.VSIDSDecisionHeuristic;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -69,4 +79,128 @@ public class DPLLCDCLSolverTest {
 
     assertEquals(120, models);
   }
+
+  @Test
+  public void testModelCountWithUnitClauses() {
+    CNF cnf = CNF.parse("(a) & (~a | b | c) & (~c | d)");
+
+    SATSolver satSolver = new DPLLCDCLSolver();
+    satSolver.load(cnf);
+
+    int models = 0;
+    Assignment model;
+    while ((model = satSolver.nextModel()) != null) {
+      assertTrue(model.evaluate(cnf));
+      models++;
+    }
+
+    assertEquals(4, models);
+  }
+
+  @Test
+  public void testDecisionHeuristics() {
+    List<String> domain = List.of("a", "b", "c", "d", "e");
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5);
+
+    List<DecisionHeuristic> heuristics =
+        List.of(new StaticDecisionHeuristic(), new VSIDSDecisionHeuristic());
+    for (DecisionHeuristic heuristic : heuristics) {
+      FunctionCNFBuilder<String, Integer> builder = CNFBuilder.function(domain, codomain);
+      builder.bijective();
+      CNF cnf = builder.build();
+
+      SATSolver satSolver = new DPLLCDCLSolver(heuristic);
+      satSolver.load(cnf);
+
+      int models = 0;
+      Assignment model;
+      while ((model = satSolver.nextModel()) != null) {
+        assertTrue(model.evaluate(cnf));
+        models++;
+      }
+
+      assertEquals(120, models);
+    }
+  }
+
+  @Test
+  public void testLubySequence() {
+    long[] expected = {1, 1, 2, 1, 1, 2, 4, 1, 1, 2, 1, 1, 2, 4, 8, 1};
+    for (int i = 0; i < expected.length; i++) {
+      assertEquals(expected[i], LubyRestartStrategy.luby(i));
+    }
+  }
+
+  @Test
+  public void testRestartStrategies() {
+    List<String> domain = List.of("a", "b", "c", "d", "e", "f");
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5);
+
+    List<RestartStrategy> strategies =
+        List.of(
+            new NoRestartStrategy(),
+            new LubyRestartStrategy(1),
+            new GeometricRestartStrategy(1, 1.1),
+            new GlucoseRestartStrategy(0.5, 0.01, 1.0, 1));
+    for (RestartStrategy strategy : strategies) {
+      // Six pigeons do not fit into five holes
+      FunctionCNFBuilder<String, Integer> builder = CNFBuilder.function(domain, codomain);
+      builder.injective();
+      CNF cnf = builder.build();
+
+      DPLLCDCLSolver solver = new DPLLCDCLSolver(new VSIDSDecisionHeuristic(), strategy);
+      solver.load(cnf);
+      assertNull(solver.nextModel());
+
+      if (strategy instanceof NoRestartStrategy) {
+        assertEquals(0, solver.getRestartCount());
+      } else if (strategy instanceof LubyRestartStrategy) {
+        assertTrue(solver.getRestartCount() > 0);
+      }
+    }
+  }
+
+  @Test
+  public void testLearnedClauseReduction() {
+    // Nine pigeons do not fit into eight holes, which takes enough conflicts to trigger reductions
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, codomain);
+    builder.injective();
+    CNF cnf = builder.build();
+    int clauseCount = cnf.getClauses().size();
+
+    DPLLCDCLSolver solver =
+        new DPLLCDCLSolver(new VSIDSDecisionHeuristic(), new LubyRestartStrategy());
+    solver.load(cnf);
+    assertNull(solver.nextModel());
+
+    assertTrue(solver.getDeletedClauseCount() > 0);
+    assertEquals(clauseCount, cnf.getClauses().size());
+  }
+
+  @Test
+  public void testInprocessing() {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9);
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, codomain);
+    builder.injective();
+
+    // f is a failed literal and a is equivalent to b, which probing should find
+    List<Clause> clauses = new ArrayList<>(builder.build().getClauses());
+    clauses.addAll(
+        CNF.parse("(~f | g) & (~f | ~g) & (~a | s) & (~s | b) & (a | ~t) & (t | ~b) & (a | b | c)")
+            .getClauses());
+    CNF cnf = new CNF(clauses);
+
+    DPLLCDCLSolver solver =
+        new DPLLCDCLSolver(new VSIDSDecisionHeuristic(), new NoRestartStrategy());
+    solver.setInprocessing(true);
+    solver.load(cnf);
+    assertNull(solver.nextModel());
+
+    assertTrue(solver.getInprocessingCount() > 0);
+    assertTrue(solver.getFailedLiteralCount() > 0);
+    assertTrue(solver.getVivifiedLiteralCount() > 0);
+  }
 }
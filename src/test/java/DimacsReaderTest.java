@@ -0,0 +1,133 @@
+import me.paultristanwagner.satchecking.parse.Decompression;
+import me.paultristanwagner.satchecking.parse.DimacsParser;
+import me.paultristanwagner.satchecking.parse.DimacsReader;
+import me.paultristanwagner.satchecking.parse.SyntaxError;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.tukaani.xz.LZMA2Options;
+import org.tukaani.xz.XZOutputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DimacsReaderTest {
+
+  private final DimacsReader reader = new DimacsReader();
+
+  @Test
+  public void testFile(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve("problem.cnf");
+    Files.writeString(path, "c comment\np cnf 3 2\n1 -3 0\n  2 3\n -1 0\n%\n0\n");
+
+    CNF cnf = reader.read(path);
+    assertEquals("(l1 | ~l3) & (l2 | l3 | ~l1)", cnf.toString());
+  }
+
+  @Test
+  public void testCompressedFiles(@TempDir Path directory) throws IOException {
+    StringBuilder dimacs = new StringBuilder("p cnf 100 5000\n");
+    Random random = new Random(8L);
+    for (int i = 0; i < 5000; i++) {
+      for (int j = 0; j < 3; j++) {
+        int variable = 1 + random.nextInt(100);
+        dimacs.append(random.nextBoolean() ? variable : -variable).append(' ');
+      }
+      dimacs.append("0\n");
+    }
+    byte[] plain = dimacs.toString().getBytes(StandardCharsets.US_ASCII);
+    String expected = read(dimacs.toString()).toString();
+
+    Path gzip = directory.resolve("problem.cnf.gz");
+    try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+      out.write(plain);
+    }
+    Path xz = directory.resolve("problem.cnf.xz");
+    try (OutputStream out = new XZOutputStream(Files.newOutputStream(xz), new LZMA2Options())) {
+      out.write(plain);
+    }
+    Path bzip2 = directory.resolve("problem.cnf.bz2");
+    try (OutputStream out = new BZip2CompressorOutputStream(Files.newOutputStream(bzip2))) {
+      out.write(plain);
+    }
+
+    assertEquals(Decompression.Format.GZIP, Decompression.detect(gzip));
+    assertEquals(Decompression.Format.XZ, Decompression.detect(xz));
+    assertEquals(Decompression.Format.BZIP2, Decompression.detect(bzip2));
+    for (Path path : List.of(gzip, xz, bzip2)) {
+      assertEquals(expected, reader.read(path).toString());
+    }
+  }
+
+  @Test
+  public void testStreamErrorContext() {
+    // The error lies far behind the first refill of the stream buffer
+    String dimacs = "p cnf 2 100000\n" + "1 -2 0\n".repeat(99999) + "2 y 0\n";
+    InputStream in = new ByteArrayInputStream(dimacs.getBytes(StandardCharsets.US_ASCII));
+
+    SyntaxError error = assertThrows(SyntaxError.class, () -> reader.read(in));
+    assertEquals("Expected an integer in clause data, got 'y'", error.getInternalMessage());
+    assertEquals("2 y 0", error.getInput());
+    assertEquals(2, error.getIndex());
+  }
+
+  @Test
+  public void testSharedLiterals() {
+    CNF cnf = read("p cnf 2 3\n1 2 0\n-1 2 0\n1 -2 0\n");
+    List<Clause> clauses = cnf.getClauses();
+    assertSame(clauses.get(0).getLiterals().get(0), clauses.get(2).getLiterals().get(0));
+    assertSame(clauses.get(0).getLiterals().get(1), clauses.get(1).getLiterals().get(1));
+  }
+
+  @Test
+  public void testAgreementWithParser() {
+    Random random = new Random(4L);
+    for (int trial = 0; trial < 100; trial++) {
+      StringBuilder dimacs = new StringBuilder("p cnf 30 40\n");
+      for (int i = 0; i < 40; i++) {
+        int width = 1 + random.nextInt(5);
+        for (int j = 0; j < width; j++) {
+          int variable = 1 + random.nextInt(30);
+          dimacs.append(random.nextBoolean() ? variable : -variable);
+          dimacs.append(random.nextInt(4) == 0 ? "\n" : " \t");
+        }
+        dimacs.append("0\r\n");
+      }
+
+      CNF expected = new DimacsParser().parse(dimacs.toString());
+      CNF cnf = read(dimacs.toString());
+      assertEquals(expected.toString(), cnf.toString());
+      assertEquals(expected.getVariableTable().size(), cnf.getVariableTable().size());
+    }
+  }
+
+  @Test
+  public void testErrors() {
+    assertThrows(SyntaxError.class, () -> read("1 2 0"));
+    assertThrows(SyntaxError.class, () -> read("p cnf foo 2\n1 0\n"));
+    assertThrows(SyntaxError.class, () -> read("p cnf 2 1\n1 2\n"));
+    assertThrows(SyntaxError.class, () -> read("p cnf 2 1\np cnf 2 1\n1 2 0\n"));
+
+    SyntaxError error = assertThrows(SyntaxError.class, () -> read("p cnf 2 2\n1 0\n-1 x2 0\n"));
+    assertEquals("Expected an integer in clause data, got 'x2'", error.getInternalMessage());
+    assertEquals("-1 x2 0", error.getInput());
+    assertEquals(3, error.getIndex());
+  }
+
+  private CNF read(String dimacs) {
+    return reader.read(ByteBuffer.wrap(dimacs.getBytes(StandardCharsets.US_ASCII)));
+  }
+}
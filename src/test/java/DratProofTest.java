@@ -0,0 +1,256 @@
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
+import me.paultristanwagner.satchecking.parse.DimacsParser;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.VariableTable;
+import me.paultristanwagner.satchecking.sat.preprocess.Preprocessor;
+import me.paultristanwagner.satchecking.sat.proof.DratWriter;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DratProofTest {
+
+  @Test
+  public void testBinaryEncoding() throws IOException {
+    CNF cnf = CNF.parse("(a | ~b) & (c)");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DratWriter writer = new DratWriter(Channels.newChannel(out));
+    writer.setVariableTable(cnf.getVariableTable());
+    VariableTable variables = cnf.getVariableTable();
+    writer.add(variables.encode(new Clause(List.of(new Literal("a"), new Literal("b", true)))));
+    writer.delete(variables.encode(new Clause(List.of(new Literal("c")))));
+    writer.add(new int[0]);
+    writer.close();
+
+    // a, b and c are the variables 1, 2 and 3
+    assertArrayEquals(new byte[] {'a', 2, 5, 0, 'd', 6, 0, 'a', 0}, out.toByteArray());
+  }
+
+  @Test
+  public void testDimacsNumbering() throws IOException {
+    CNF cnf = new DimacsParser().parse("p cnf 200 1\n-200 3 0\n");
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DratWriter writer = new DratWriter(Channels.newChannel(out));
+    writer.setVariableTable(cnf.getVariableTable());
+    writer.add(cnf.getClauses().get(0).encode(cnf.getVariableTable()));
+    writer.close();
+
+    // -200 is 401, which takes two 7-bit groups
+    assertArrayEquals(new byte[] {'a', (byte) 0x91, 0x03, 6, 0}, out.toByteArray());
+  }
+
+  @Test
+  public void testPigeonholeProof() throws IOException {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6, 7);
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5, 6);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, codomain);
+    builder.injective();
+    CNF cnf = builder.build();
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    DratWriter proof = new DratWriter(Channels.newChannel(out));
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setProof(proof);
+    solver.load(cnf);
+    assertNull(solver.nextModel());
+    proof.close();
+
+    assertTrue(proof.getAddedClauseCount() > 0);
+    assertTrue(new RupChecker(cnf).verify(out.toByteArray()));
+  }
+
+  @Test
+  public void testRandomProofsWithPreprocessing() throws IOException {
+    Random random = new Random(3L);
+    int unsatisfiable = 0;
+    for (int trial = 0; trial < 10; trial++) {
+      StringBuilder dimacs = new StringBuilder("p cnf 50 240\n");
+      for (int i = 0; i < 240; i++) {
+        for (int j = 0; j < 3; j++) {
+          int variable = 1 + random.nextInt(50);
+          dimacs.append(random.nextBoolean() ? variable : -variable).append(' ');
+        }
+        dimacs.append("0\n");
+      }
+      CNF cnf = new DimacsParser().parse(dimacs.toString());
+
+      ByteArrayOutputStream out = new ByteArrayOutputStream();
+      DratWriter proof = new DratWriter(Channels.newChannel(out));
+      Preprocessor preprocessor = new Preprocessor(cnf);
+      preprocessor.setProof(proof);
+      CNF simplified = preprocessor.preprocess();
+
+      DPLLCDCLSolver solver = new DPLLCDCLSolver();
+      solver.setProof(proof);
+      solver.load(simplified);
+      boolean satisfiable = solver.nextModel() != null;
+      proof.close();
+
+      if (!satisfiable) {
+        unsatisfiable++;
+        assertTrue(new RupChecker(cnf).verify(out.toByteArray()));
+      }
+    }
+    assertTrue(unsatisfiable > 0);
+  }
+
+  /**
+   * Checks that every added clause of a binary DRAT proof is a reverse unit propagation consequence
+   * of the clauses present at that point, and that the proof contains the empty clause.
+   */
+  private static class RupChecker {
+
+    private final List<int[]> clauses = new ArrayList<>();
+    private final List<Boolean> active = new ArrayList<>();
+    private final Map<List<Integer>, Deque<Integer>> indices = new HashMap<>();
+    private final Map<Integer, List<Integer>> occurrences = new HashMap<>();
+
+    private RupChecker(CNF cnf) {
+      for (Clause clause : cnf.getClauses()) {
+        int[] literals = new int[clause.getLiterals().size()];
+        for (int i = 0; i < literals.length; i++) {
+          Literal literal = clause.getLiterals().get(i);
+          int variable = dimacsVariable(cnf, literal.getName());
+          literals[i] = literal.isNegated() ? -variable : variable;
+        }
+        add(literals);
+      }
+    }
+
+    private static int dimacsVariable(CNF cnf, String name) {
+      if (name.startsWith("l")) {
+        return Integer.parseInt(name.substring(1));
+      }
+      return cnf.getVariableTable().indexOf(name) + 1;
+    }
+
+    private boolean verify(byte[] proof) {
+      int position = 0;
+      while (position < proof.length) {
+        byte kind = proof[position++];
+        List<Integer> literals = new ArrayList<>();
+        while (true) {
+          int encoded = 0;
+          int shift = 0;
+          int b;
+          do {
+            b = proof[position++] & 0xff;
+            encoded |= (b & 0x7f) << shift;
+            shift += 7;
+          } while ((b & 0x80) != 0);
+          if (encoded == 0) {
+            break;
+          }
+          int variable = encoded >> 1;
+          literals.add((encoded & 1) == 1 ? -variable : variable);
+        }
+        int[] clause = literals.stream().mapToInt(Integer::intValue).toArray();
+
+        if (kind == 'a') {
+          if (!isRup(clause)) {
+            return false;
+          }
+          if (clause.length == 0) {
+            return true;
+          }
+          add(clause);
+        } else if (kind == 'd') {
+          Deque<Integer> matching = indices.get(key(clause));
+          if (matching != null && !matching.isEmpty()) {
+            active.set(matching.poll(), false);
+          }
+        } else {
+          return false;
+        }
+      }
+      return false;
+    }
+
+    private void add(int[] literals) {
+      // Duplicate literals would keep a clause from becoming unit
+      int[] clause = Arrays.stream(literals).distinct().toArray();
+      int index = clauses.size();
+      clauses.add(clause);
+      active.add(true);
+      indices.computeIfAbsent(key(clause), k -> new ArrayDeque<>()).add(index);
+      for (int literal : clause) {
+        occurrences.computeIfAbsent(literal, k -> new ArrayList<>()).add(index);
+      }
+    }
+
+    private static List<Integer> key(int[] clause) {
+      List<Integer> key = new ArrayList<>();
+      for (int literal : clause) {
+        key.add(literal);
+      }
+      Collections.sort(key);
+      return key;
+    }
+
+    private boolean isRup(int[] clause) {
+      Set<Integer> trueLiterals = new HashSet<>();
+      Deque<Integer> queue = new ArrayDeque<>();
+      for (int literal : clause) {
+        if (trueLiterals.add(-literal)) {
+          queue.add(-literal);
+        }
+      }
+
+      // Units of the formula do not need a false literal to be propagated
+      for (int i = 0; i < clauses.size(); i++) {
+        if (active.get(i) && clauses.get(i).length == 1) {
+          int literal = clauses.get(i)[0];
+          if (trueLiterals.contains(-literal)) {
+            return true;
+          }
+          if (trueLiterals.add(literal)) {
+            queue.add(literal);
+          }
+        }
+      }
+
+      while (!queue.isEmpty()) {
+        int falseLiteral = -queue.poll();
+        for (int index : occurrences.getOrDefault(falseLiteral, List.of())) {
+          if (!active.get(index)) {
+            continue;
+          }
+
+          int unassigned = 0;
+          int unit = 0;
+          boolean satisfied = false;
+          for (int literal : clauses.get(index)) {
+            if (trueLiterals.contains(literal)) {
+              satisfied = true;
+              break;
+            }
+            if (!trueLiterals.contains(-literal)) {
+              unassigned++;
+              unit = literal;
+            }
+          }
+          if (satisfied) {
+            continue;
+          }
+          if (unassigned == 0) {
+            return true;
+          }
+          if (unassigned == 1) {
+            trueLiterals.add(unit);
+            queue.add(unit);
+          }
+        }
+      }
+      return false;
+    }
+  }
+}
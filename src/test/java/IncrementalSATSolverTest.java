@@ -0,0 +1,168 @@
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.Result;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import me.paultristanwagner.satchecking.sat.solver.IncrementalSATSolver;
+import me.paultristanwagner.satchecking.sat.solver.LubyRestartStrategy;
+import me.paultristanwagner.satchecking.sat.solver.VSIDSDecisionHeuristic;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IncrementalSATSolverTest {
+
+  private static Literal literal(String string) {
+    return Clause.parse(string).getLiterals().get(0);
+  }
+
+  @Test
+  public void testAssumptions() {
+    IncrementalSATSolver solver = new DPLLCDCLSolver();
+    solver.addClause(Clause.parse("a | b"));
+    solver.addClause(Clause.parse("~a | c"));
+
+    Result result = solver.solve(List.of(literal("~b")));
+    assertTrue(result.isSatisfiable());
+    Assignment model = result.getAssignment();
+    assertTrue(model.getValue("a"));
+    assertFalse(model.getValue("b"));
+    assertTrue(model.getValue("c"));
+
+    assertFalse(solver.solve(List.of(literal("~b"), literal("~c"))).isSatisfiable());
+    List<Literal> failed = solver.getFailedAssumptions();
+    assertEquals(2, failed.size());
+    assertTrue(failed.contains(literal("~b")));
+    assertTrue(failed.contains(literal("~c")));
+
+    assertTrue(solver.solve(List.of()).isSatisfiable());
+    assertTrue(solver.getFailedAssumptions().isEmpty());
+
+    solver.addClause(Clause.parse("~c"));
+    assertFalse(solver.solve(List.of(literal("~b"))).isSatisfiable());
+    assertEquals(List.of(literal("~b")), solver.getFailedAssumptions());
+  }
+
+  @Test
+  public void testFailedAssumptionsAreRelevant() {
+    IncrementalSATSolver solver = new DPLLCDCLSolver();
+    solver.addClause(Clause.parse("~x | y"));
+    solver.addClause(Clause.parse("z | w | v"));
+
+    assertFalse(
+        solver
+            .solve(List.of(literal("z"), literal("x"), literal("w"), literal("~y")))
+            .isSatisfiable());
+    List<Literal> failed = solver.getFailedAssumptions();
+    assertEquals(2, failed.size());
+    assertTrue(failed.contains(literal("x")));
+    assertTrue(failed.contains(literal("~y")));
+  }
+
+  @Test
+  public void testUnsatisfiableWithoutAssumptions() {
+    IncrementalSATSolver solver = new DPLLCDCLSolver();
+    solver.addClause(Clause.parse("a"));
+    solver.addClause(Clause.parse("~a"));
+
+    assertFalse(solver.solve(List.of(literal("b"))).isSatisfiable());
+    assertTrue(solver.getFailedAssumptions().isEmpty());
+    assertFalse(solver.solve(List.of()).isSatisfiable());
+  }
+
+  @Test
+  public void testSolveAfterLoad() {
+    // The units are only propagated when solving
+    CNF cnf = CNF.parse("(a) & (~a | b) & (~b | c) & (~c | ~a)");
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.load(cnf);
+    assertFalse(solver.solve(List.of()).isSatisfiable());
+  }
+
+  @Test
+  public void testRandomQueries() {
+    Random random = new Random(2024L);
+    String[] variables = {"a", "b", "c", "d", "e", "f"};
+    for (int trial = 0; trial < 100; trial++) {
+      IncrementalSATSolver solver = new DPLLCDCLSolver();
+      List<Clause> clauses = new ArrayList<>();
+      for (int query = 0; query < 10; query++) {
+        // Add a few clauses, then solve under random assumptions
+        for (int i = 0; i < 2; i++) {
+          List<Literal> literals = new ArrayList<>();
+          for (int w = 0; w < 3; w++) {
+            literals.add(
+                new Literal(variables[random.nextInt(variables.length)], random.nextBoolean()));
+          }
+          Clause clause = new Clause(literals);
+          clauses.add(clause);
+          solver.addClause(clause);
+        }
+
+        List<Literal> assumptions = new ArrayList<>();
+        for (int i = random.nextInt(4); i > 0; i--) {
+          assumptions.add(
+              new Literal(variables[random.nextInt(variables.length)], random.nextBoolean()));
+        }
+
+        Result result = solver.solve(assumptions);
+        boolean expected = isSatisfiable(clauses, assumptions);
+        assertEquals(expected, result.isSatisfiable());
+        if (expected) {
+          Assignment model = result.getAssignment();
+          assertTrue(model.evaluate(new CNF(clauses)));
+          for (Literal assumption : assumptions) {
+            assertTrue(model.evaluate(assumption));
+          }
+        } else {
+          List<Literal> failed = solver.getFailedAssumptions();
+          assertTrue(assumptions.containsAll(failed));
+          assertFalse(isSatisfiable(clauses, failed));
+        }
+      }
+    }
+  }
+
+  private static boolean isSatisfiable(List<Clause> clauses, List<Literal> units) {
+    List<Clause> all = new ArrayList<>(clauses);
+    for (Literal unit : units) {
+      all.add(new Clause(List.of(unit)));
+    }
+    return EnumerationSolver.check(new CNF(all)).isSatisfiable();
+  }
+
+  @Test
+  public void testLearnedClausesAreKept() {
+    // The pigeonhole clauses only apply if s is assumed
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6, 7);
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5, 6);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, codomain);
+    builder.injective();
+
+    DPLLCDCLSolver solver =
+        new DPLLCDCLSolver(new VSIDSDecisionHeuristic(), new LubyRestartStrategy());
+    for (Clause clause : builder.build().getClauses()) {
+      List<Literal> literals = new ArrayList<>(clause.getLiterals());
+      literals.add(new Literal("s", true));
+      solver.addClause(new Clause(literals));
+    }
+
+    assertFalse(solver.solve(List.of(literal("s"))).isSatisfiable());
+    assertEquals(List.of(literal("s")), solver.getFailedAssumptions());
+    long firstConflicts = solver.getConflictCount();
+
+    assertFalse(solver.solve(List.of(literal("s"))).isSatisfiable());
+    long secondConflicts = solver.getConflictCount() - firstConflicts;
+    assertTrue(secondConflicts < firstConflicts);
+
+    assertTrue(solver.solve(List.of()).isSatisfiable());
+  }
+}
@@ -0,0 +1,93 @@
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.generator.BvMultiplicationBuilder;
+import me.paultristanwagner.satchecking.builder.generator.EqDiamondBuilder;
+import me.paultristanwagner.satchecking.builder.generator.ParityChainBuilder;
+import me.paultristanwagner.satchecking.builder.generator.PigeonholeBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomKSatBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomLraBuilder;
+import me.paultristanwagner.satchecking.command.impl.SmtLibCommand;
+import me.paultristanwagner.satchecking.command.impl.SmtLibCommand.Verdict;
+import me.paultristanwagner.satchecking.parse.DimacsReader;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InstanceGeneratorTest {
+
+  private static String dimacs(CNFBuilder builder) throws IOException {
+    StringWriter writer = new StringWriter();
+    builder.writeDimacs(writer);
+    return writer.toString();
+  }
+
+  private static CNF read(String dimacs) {
+    return new DimacsReader().read(ByteBuffer.wrap(dimacs.getBytes(StandardCharsets.US_ASCII)));
+  }
+
+  @Test
+  public void testRandomKSatIsDeterministic() throws IOException {
+    String first = dimacs(new RandomKSatBuilder(50, 200, 3, 42));
+    assertEquals(first, dimacs(new RandomKSatBuilder(50, 200, 3, 42)));
+    assertNotEquals(first, dimacs(new RandomKSatBuilder(50, 200, 3, 43)));
+
+    CNF cnf = read(first);
+    assertEquals(200, cnf.getClauses().size());
+    for (Clause clause : cnf.getClauses()) {
+      Set<String> variables = new HashSet<>();
+      for (Literal literal : clause.getLiterals()) {
+        variables.add(literal.getName());
+      }
+      assertEquals(3, variables.size());
+    }
+  }
+
+  @Test
+  public void testWriteDimacs() throws IOException {
+    String dimacs = dimacs(new PigeonholeBuilder(2));
+    assertTrue(dimacs.startsWith("p cnf 6 9\n"));
+    assertTrue(dimacs.contains("\n-1 -3 0\n"));
+  }
+
+  @Test
+  public void testPigeonholeIsUnsatisfiable() {
+    assertFalse(DPLLCDCLSolver.check(new PigeonholeBuilder(4).build()).isSatisfiable());
+  }
+
+  @Test
+  public void testParityChain() throws IOException {
+    assertTrue(DPLLCDCLSolver.check(new ParityChainBuilder(10, true, 1).build()).isSatisfiable());
+    assertFalse(DPLLCDCLSolver.check(new ParityChainBuilder(10, false, 1).build()).isSatisfiable());
+
+    CNF written = read(dimacs(new ParityChainBuilder(10, false, 7)));
+    assertFalse(DPLLCDCLSolver.check(written).isSatisfiable());
+  }
+
+  @Test
+  public void testEqDiamondIsUnsatisfiable() {
+    assertEquals(Verdict.UNSAT, SmtLibCommand.runScript(new EqDiamondBuilder(3).build(), false));
+  }
+
+  @Test
+  public void testBvMultiplicationIsSatisfiable() {
+    assertEquals(
+        Verdict.SAT, SmtLibCommand.runScript(new BvMultiplicationBuilder(8, 3).build(), false));
+  }
+
+  @Test
+  public void testRandomLra() {
+    String script = new RandomLraBuilder(4, 6, 5).build();
+    assertEquals(script, new RandomLraBuilder(4, 6, 5).build());
+    assertNotEquals(Verdict.UNKNOWN, SmtLibCommand.runScript(script, false));
+  }
+}
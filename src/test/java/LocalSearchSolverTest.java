@@ -0,0 +1,107 @@
+import me.paultristanwagner.satchecking.builder.generator.PigeonholeBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomKSatBuilder;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.LocalSearchSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalSearchSolverTest {
+
+  @Test
+  public void testFindsModels() {
+    for (int seed = 0; seed < 20; seed++) {
+      CNF cnf = new RandomKSatBuilder(100, 400, 3, seed).build();
+      DPLLCDCLSolver cdcl = new DPLLCDCLSolver();
+      cdcl.load(cnf);
+      if (cdcl.nextModel() == null) {
+        continue;
+      }
+
+      LocalSearchSolver solver = new LocalSearchSolver(100000, 10, seed);
+      solver.load(cnf);
+      Assignment model = solver.nextModel();
+      assertTrue(model.evaluate(cnf), "seed " + seed);
+    }
+  }
+
+  @Test
+  public void testLongClauses() {
+    CNF cnf = new RandomKSatBuilder(60, 600, 5, 3).build();
+    LocalSearchSolver solver = new LocalSearchSolver(1000000, 10, 0);
+    solver.load(cnf);
+    assertTrue(solver.nextModel().evaluate(cnf));
+  }
+
+  @Test
+  public void testEnumeration() {
+    CNF cnf = CNF.parse("(a | b | c) & (~a | d) & (~b | ~d | e) & (c | ~e) & (~c | f | a)");
+
+    DPLLCDCLSolver cdcl = new DPLLCDCLSolver();
+    cdcl.load(cnf);
+    int expected = 0;
+    while (cdcl.nextModel() != null) {
+      expected++;
+    }
+
+    LocalSearchSolver solver = new LocalSearchSolver(10000, 10, 0);
+    solver.load(cnf);
+    Set<String> models = new HashSet<>();
+    for (int i = 0; i < expected; i++) {
+      Assignment model = solver.nextModel();
+      assertTrue(model.evaluate(cnf));
+      assertTrue(models.add(model.toString()));
+    }
+
+    // Local search cannot tell that no models are left
+    assertThrows(CancellationException.class, solver::nextModel);
+  }
+
+  @Test
+  public void testEmptyClause() {
+    LocalSearchSolver solver = new LocalSearchSolver();
+    solver.load(new CNF(List.of(new Clause(List.of()))));
+    assertNull(solver.nextModel());
+  }
+
+  @Test
+  public void testFlipBudget() {
+    LocalSearchSolver solver = new LocalSearchSolver(1000, 3, 0);
+    solver.load(new PigeonholeBuilder(4).build());
+    assertThrows(CancellationException.class, solver::nextModel);
+    assertEquals(3000, solver.getFlipCount());
+    assertEquals(3, solver.getTryCount());
+  }
+
+  @Test
+  public void testRephasingAgreesWithDefault() {
+    long rephases = 0;
+    for (int seed = 0; seed < 10; seed++) {
+      CNF cnf = new RandomKSatBuilder(150, 639, 3, seed).build();
+
+      DPLLCDCLSolver plain = new DPLLCDCLSolver();
+      plain.setRephasing(false);
+      plain.load(cnf);
+      boolean expected = plain.nextModel() != null;
+
+      DPLLCDCLSolver rephasing = new DPLLCDCLSolver();
+      rephasing.setRephasing(true);
+      rephasing.load(cnf);
+      Assignment model = rephasing.nextModel();
+      assertEquals(expected, model != null, "seed " + seed);
+      if (model != null) {
+        assertTrue(model.evaluate(cnf), "seed " + seed);
+      }
+      rephases += rephasing.getRephaseCount();
+    }
+    assertTrue(rephases > 0);
+  }
+}
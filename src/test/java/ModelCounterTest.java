@@ -0,0 +1,127 @@
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
+import me.paultristanwagner.satchecking.parse.DimacsParser;
+import me.paultristanwagner.satchecking.parse.PropositionalLogicParser;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.count.ModelCounter;
+import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import me.paultristanwagner.satchecking.sat.solver.ProjectingSATSolver;
+import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ModelCounterTest {
+
+  @Test
+  public void testSimpleCounts() {
+    assertEquals(BigInteger.valueOf(3), new ModelCounter(CNF.parse("(a | b)")).count());
+    assertEquals(BigInteger.ZERO, new ModelCounter(CNF.parse("(a) & (~a)")).count());
+    assertEquals(BigInteger.valueOf(4), new ModelCounter(CNF.parse("(a | ~a) & (b | ~b)")).count());
+  }
+
+  @Test
+  public void testBijections() {
+    List<Integer> elements = List.of(1, 2, 3, 4, 5);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(elements, elements);
+    builder.bijective();
+
+    assertEquals(BigInteger.valueOf(120), new ModelCounter(builder.build()).count());
+  }
+
+  @Test
+  public void testPigeonhole() {
+    FunctionCNFBuilder<Integer, Integer> builder =
+        CNFBuilder.function(List.of(1, 2, 3, 4, 5, 6), List.of(1, 2, 3, 4, 5));
+    builder.injective();
+
+    assertEquals(BigInteger.ZERO, new ModelCounter(builder.build()).count());
+  }
+
+  @Test
+  public void testIndependentComponents() {
+    // 80 disjoint clauses with 3 models each
+    StringBuilder formula = new StringBuilder();
+    for (int i = 0; i < 80; i++) {
+      if (i > 0) {
+        formula.append(" & ");
+      }
+      formula.append("(x").append(i).append(" | y").append(i).append(")");
+    }
+
+    ModelCounter counter = new ModelCounter(CNF.parse(formula.toString()));
+    assertEquals(BigInteger.valueOf(3).pow(80), counter.count());
+    assertTrue(counter.getDecisionCount() <= 2 * 80);
+  }
+
+  @Test
+  public void testRandomFormulas() {
+    Random random = new Random(17L);
+    for (int trial = 0; trial < 30; trial++) {
+      CNF cnf = randomCnf(random, 12, 10 + random.nextInt(40));
+      long expected = enumerate(new EnumerationSolver(), cnf);
+      assertEquals(BigInteger.valueOf(expected), new ModelCounter(cnf).count());
+    }
+  }
+
+  @Test
+  public void testSmallCache() {
+    Random random = new Random(5L);
+    for (int trial = 0; trial < 10; trial++) {
+      CNF cnf = randomCnf(random, 20, 30);
+      BigInteger expected = new ModelCounter(cnf).count();
+
+      ModelCounter counter = new ModelCounter(cnf, 1024);
+      assertEquals(expected, counter.count());
+    }
+  }
+
+  @Test
+  public void testProjectedCounts() {
+    PropositionalLogicParser parser = new PropositionalLogicParser();
+    CNF cnf = PropositionalLogicParser.tseitin(parser.parse("(a | b) & (c -> ~a) | (b <-> d)"));
+    List<String> projection = List.of("a", "b", "c", "d");
+
+    ModelCounter counter = new ModelCounter(cnf);
+    counter.setProjection(projection);
+    long expected = enumerate(new ProjectingSATSolver(new EnumerationSolver(), projection), cnf);
+    assertEquals(BigInteger.valueOf(expected), counter.count());
+
+    Random random = new Random(9L);
+    for (int trial = 0; trial < 20; trial++) {
+      CNF randomCnf = randomCnf(random, 10, 15 + random.nextInt(20));
+      List<String> randomProjection = List.of("l1", "l2", "l3", "l4", "l5");
+
+      ModelCounter randomCounter = new ModelCounter(randomCnf);
+      randomCounter.setProjection(randomProjection);
+      long randomExpected =
+          enumerate(new ProjectingSATSolver(new EnumerationSolver(), randomProjection), randomCnf);
+      assertEquals(BigInteger.valueOf(randomExpected), randomCounter.count());
+    }
+  }
+
+  private static CNF randomCnf(Random random, int variables, int clauses) {
+    StringBuilder dimacs = new StringBuilder("p cnf " + variables + " " + clauses + "\n");
+    for (int i = 0; i < clauses; i++) {
+      for (int j = 0; j < 3; j++) {
+        int variable = 1 + random.nextInt(variables);
+        dimacs.append(random.nextBoolean() ? variable : -variable).append(' ');
+      }
+      dimacs.append("0\n");
+    }
+    return new DimacsParser().parse(dimacs.toString());
+  }
+
+  private static long enumerate(SATSolver solver, CNF cnf) {
+    solver.load(cnf);
+    long count = 0;
+    while (solver.nextModel() != null) {
+      count++;
+    }
+    return count;
+  }
+}
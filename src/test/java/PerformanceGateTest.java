@@ -0,0 +1,54 @@
+import me.paultristanwagner.satchecking.perf.BenchmarkSuite;
+import me.paultristanwagner.satchecking.perf.PerformanceGate;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PerformanceGateTest {
+
+  private final PerformanceGate gate = new PerformanceGate(1, 20);
+
+  @Test
+  public void testCompare() {
+    Properties baseline = new Properties();
+    baseline.setProperty("slower", "100");
+    baseline.setProperty("noise", "1");
+    baseline.setProperty("faster", "100");
+
+    Map<String, Double> medians = new LinkedHashMap<>();
+    medians.put("slower", 130.0);
+    medians.put("noise", 2.5);
+    medians.put("faster", 50.0);
+    medians.put("new", 10.0);
+
+    assertEquals(List.of("slower"), gate.compare(baseline, medians));
+  }
+
+  @Test
+  public void testBaselineRoundTrip(@TempDir Path directory) throws IOException {
+    Path path = directory.resolve("baseline.properties");
+    PerformanceGate.writeBaseline(path, Map.of("instance", 12.5));
+
+    Properties baseline = PerformanceGate.readBaseline(path);
+    assertEquals(12.5, Double.parseDouble(baseline.getProperty("instance")));
+    assertTrue(gate.compare(baseline, Map.of("instance", 13.0)).isEmpty());
+  }
+
+  @Test
+  public void testSuiteIsWritten(@TempDir Path directory) throws IOException {
+    List<Path> files = BenchmarkSuite.write(directory);
+    assertEquals(BenchmarkSuite.instances().size(), files.size());
+    for (Path file : files) {
+      assertTrue(Files.size(file) > 0);
+    }
+  }
+}
@@ -0,0 +1,107 @@
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.parallel.ClauseRingBuffer;
+import me.paultristanwagner.satchecking.sat.parallel.PortfolioSATSolver;
+import me.paultristanwagner.satchecking.sat.solver.ClauseExchange;
+import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PortfolioSATSolverTest {
+
+  @Test
+  public void testRandomCnfs() {
+    Random random = new Random(99L);
+    String[] variables = {"a", "b", "c", "d", "e", "f"};
+    PortfolioSATSolver solver = new PortfolioSATSolver(4);
+    for (int trial = 0; trial < 200; trial++) {
+      List<Clause> clauses = new ArrayList<>();
+      for (int i = 1 + random.nextInt(16); i > 0; i--) {
+        List<Literal> literals = new ArrayList<>();
+        for (int w = 1 + random.nextInt(3); w > 0; w--) {
+          literals.add(
+              new Literal(variables[random.nextInt(variables.length)], random.nextBoolean()));
+        }
+        clauses.add(new Clause(literals));
+      }
+      CNF cnf = new CNF(clauses);
+
+      solver.load(cnf);
+      Assignment model = solver.nextModel();
+      assertEquals(EnumerationSolver.check(cnf).isSatisfiable(), model != null);
+      if (model != null) {
+        assertTrue(model.evaluate(cnf));
+      }
+    }
+  }
+
+  @Test
+  public void testModelCount() {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, domain);
+    builder.bijective();
+    CNF cnf = builder.build();
+
+    PortfolioSATSolver solver = new PortfolioSATSolver(3);
+    solver.load(cnf);
+    Set<String> models = new HashSet<>();
+    Assignment model;
+    while ((model = solver.nextModel()) != null) {
+      assertTrue(model.evaluate(cnf));
+      models.add(model.toString());
+    }
+    assertEquals(120, models.size());
+  }
+
+  @Test
+  public void testPigeonhole() {
+    List<Integer> domain = List.of(1, 2, 3, 4, 5, 6, 7, 8);
+    List<Integer> codomain = List.of(1, 2, 3, 4, 5, 6, 7);
+    FunctionCNFBuilder<Integer, Integer> builder = CNFBuilder.function(domain, codomain);
+    builder.injective();
+
+    PortfolioSATSolver solver = new PortfolioSATSolver(4);
+    solver.load(builder.build());
+    assertNull(solver.nextModel());
+    assertTrue(solver.getConflictCount() > 0);
+  }
+
+  @Test
+  public void testClauseRingBuffer() {
+    ClauseRingBuffer buffer = new ClauseRingBuffer(4, 3, 2);
+    ClauseExchange first = buffer.connect(0);
+    ClauseExchange second = buffer.connect(1);
+
+    first.learned(new int[] {0, 2}, 2);
+    first.learned(new int[] {0, 2, 4, 6}, 2); // too long
+    first.learned(new int[] {1, 3, 5}, 3); // LBD too high
+    second.learned(new int[] {2, 4}, 1);
+
+    // Nobody receives their own clauses
+    assertArrayEquals(new int[] {0, 2}, second.poll());
+    assertNull(second.poll());
+    assertArrayEquals(new int[] {2, 4}, first.poll());
+    assertNull(first.poll());
+
+    // Readers that fall behind skip the overwritten clauses
+    for (int i = 0; i < 6; i++) {
+      first.learned(new int[] {2 * i}, 1);
+    }
+    int received = 0;
+    while (second.poll() != null) {
+      received++;
+    }
+    assertEquals(4, received);
+  }
+}
@@ -0,0 +1,105 @@
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.preprocess.PreprocessingSolver;
+import me.paultristanwagner.satchecking.sat.preprocess.Preprocessor;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PreprocessorTest {
+
+  @Test
+  public void testRandomCnfsKeepSatisfiability() {
+    Random random = new Random(4711L);
+    String[] variables = {"a", "b", "c", "d", "e", "f", "g", "h"};
+    for (int trial = 0; trial < 2000; trial++) {
+      int clauseCount = 1 + random.nextInt(20);
+      List<Clause> clauses = new ArrayList<>();
+      for (int i = 0; i < clauseCount; i++) {
+        int width = 1 + random.nextInt(4);
+        List<Literal> literals = new ArrayList<>();
+        for (int w = 0; w < width; w++) {
+          literals.add(
+              new Literal(variables[random.nextInt(variables.length)], random.nextBoolean()));
+        }
+        clauses.add(new Clause(literals));
+      }
+      CNF cnf = new CNF(clauses);
+
+      boolean expected = EnumerationSolver.check(cnf).isSatisfiable();
+
+      PreprocessingSolver solver = new PreprocessingSolver(new DPLLCDCLSolver());
+      solver.load(cnf);
+      Assignment model = solver.nextModel();
+
+      assertEquals(expected, model != null, cnf.toString());
+      if (model != null) {
+        assertTrue(model.evaluate(cnf), cnf.toString());
+      }
+    }
+  }
+
+  @Test
+  public void testSubsumption() {
+    CNF cnf = CNF.parse("(a | b) & (a | b | c) & (a | b | ~d) & (a | b) & (c | ~c)");
+    Preprocessor preprocessor = new Preprocessor(cnf);
+    preprocessor.freeze("a");
+    preprocessor.freeze("b");
+    preprocessor.freeze("c");
+    preprocessor.freeze("d");
+    CNF simplified = preprocessor.preprocess();
+
+    assertEquals(1, simplified.getClauses().size());
+    assertEquals(4, preprocessor.getRemovedClauseCount());
+  }
+
+  @Test
+  public void testSelfSubsumption() {
+    CNF cnf = CNF.parse("(a | b) & (~a | b | c)");
+    Preprocessor preprocessor = new Preprocessor(cnf);
+    preprocessor.freeze("a");
+    preprocessor.freeze("b");
+    preprocessor.freeze("c");
+    CNF simplified = preprocessor.preprocess();
+
+    assertEquals(1, preprocessor.getStrengthenedClauseCount());
+    for (Clause clause : simplified.getClauses()) {
+      assertEquals(2, clause.getLiterals().size());
+    }
+  }
+
+  @Test
+  public void testVariableElimination() {
+    // x only connects the two halves and can be resolved away
+    CNF cnf = CNF.parse("(a | x) & (b | ~x) & (a | c) & (~b | c)");
+    Preprocessor preprocessor = new Preprocessor(cnf);
+    preprocessor.freeze("a");
+    preprocessor.freeze("b");
+    preprocessor.freeze("c");
+    CNF simplified = preprocessor.preprocess();
+
+    assertEquals(1, preprocessor.getEliminatedVariableCount());
+    for (Clause clause : simplified.getClauses()) {
+      assertFalse(clause.contains("x"));
+    }
+
+    Assignment model = DPLLCDCLSolver.check(simplified).getAssignment();
+    assertTrue(preprocessor.reconstruct(model).evaluate(cnf));
+  }
+
+  @Test
+  public void testUnsatisfiable() {
+    CNF cnf = CNF.parse("(a | b) & (a | ~b) & (~a | b) & (~a | ~b)");
+    PreprocessingSolver solver = new PreprocessingSolver(new DPLLCDCLSolver());
+    solver.load(cnf);
+    assertNull(solver.nextModel());
+  }
+}
@@ -0,0 +1,114 @@
+import me.paultristanwagner.satchecking.parse.PropositionalLogicParser;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.Literal;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.solver.DPLLSolver;
+import me.paultristanwagner.satchecking.sat.solver.EnumerationSolver;
+import me.paultristanwagner.satchecking.sat.solver.ProjectingSATSolver;
+import me.paultristanwagner.satchecking.sat.solver.SATSolver;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ProjectedEnumerationTest {
+
+  @Test
+  public void testFreeAuxiliaryVariables() {
+    CNF cnf = CNF.parse("(a | x) & (b | y) & (x | y | z)");
+
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setProjection(List.of("a", "b"));
+    solver.load(cnf);
+
+    Set<String> models = enumerate(solver, cnf, List.of("a", "b"));
+    assertEquals(Set.of("a=0, b=0", "a=0, b=1", "a=1, b=0", "a=1, b=1"), models);
+  }
+
+  @Test
+  public void testDeterminedProjection() {
+    CNF cnf = CNF.parse("(a) & (~a | ~b) & (c | d)");
+
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setProjection(List.of("a", "b"));
+    solver.load(cnf);
+
+    assertEquals(Set.of("a=1, b=0"), enumerate(solver, cnf, List.of("a", "b")));
+  }
+
+  @Test
+  public void testEmptyCnf() {
+    // The DPLL solver returns the empty model again and again
+    SATSolver solver = new ProjectingSATSolver(new DPLLSolver(), List.of("a"));
+    solver.load(new CNF(new ArrayList<>()));
+    assertTimeoutPreemptively(
+        Duration.ofSeconds(10),
+        () -> {
+          assertNotNull(solver.nextModel());
+          assertNull(solver.nextModel());
+        });
+  }
+
+  @Test
+  public void testTseitin() {
+    PropositionalLogicParser parser = new PropositionalLogicParser();
+    CNF cnf = PropositionalLogicParser.tseitin(parser.parse("(a | b) & (c -> ~a) | (b <-> d)"));
+    List<String> projection = List.of("a", "b", "c", "d");
+
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setProjection(projection);
+    solver.load(cnf);
+    Set<String> models = enumerate(solver, cnf, projection);
+
+    SATSolver reference = new ProjectingSATSolver(new EnumerationSolver(), projection);
+    reference.load(cnf);
+    assertEquals(enumerate(reference, cnf, projection), models);
+  }
+
+  @Test
+  public void testRandomCnfs() {
+    Random random = new Random(5L);
+    String[] variables = {"a", "b", "c", "d", "e", "f", "g"};
+    List<String> projection = List.of("a", "b", "c");
+    for (int trial = 0; trial < 200; trial++) {
+      List<Clause> clauses = new ArrayList<>();
+      for (int i = 1 + random.nextInt(12); i > 0; i--) {
+        List<Literal> literals = new ArrayList<>();
+        for (int w = 1 + random.nextInt(3); w > 0; w--) {
+          literals.add(
+              new Literal(variables[random.nextInt(variables.length)], random.nextBoolean()));
+        }
+        clauses.add(new Clause(literals));
+      }
+      CNF cnf = new CNF(clauses);
+
+      DPLLCDCLSolver solver = new DPLLCDCLSolver();
+      solver.setProjection(projection);
+      solver.load(cnf);
+      Set<String> models = enumerate(solver, cnf, projection);
+
+      SATSolver reference = new ProjectingSATSolver(new EnumerationSolver(), projection);
+      reference.load(cnf);
+      assertEquals(enumerate(reference, cnf, projection), models);
+    }
+  }
+
+  /** Enumerates all models and asserts that no projected model is returned twice. */
+  private static Set<String> enumerate(SATSolver solver, CNF cnf, List<String> projection) {
+    Set<String> models = new HashSet<>();
+    Assignment model;
+    while ((model = solver.nextModel()) != null) {
+      assertTrue(model.evaluate(cnf));
+      assertTrue(models.add(model.project(projection).toString()));
+    }
+    return models;
+  }
+}
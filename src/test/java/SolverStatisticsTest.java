@@ -0,0 +1,67 @@
+import me.paultristanwagner.satchecking.SolverStatistics;
+import me.paultristanwagner.satchecking.builder.CNFBuilder;
+import me.paultristanwagner.satchecking.builder.FunctionCNFBuilder;
+import me.paultristanwagner.satchecking.command.impl.SmtLibCommand;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SolverStatisticsTest {
+
+  @Test
+  public void testSearchCounters() {
+    FunctionCNFBuilder<Integer, Integer> builder =
+        CNFBuilder.function(List.of(1, 2, 3, 4, 5, 6, 7), List.of(1, 2, 3, 4, 5, 6));
+    builder.injective();
+    CNF cnf = builder.build();
+
+    SolverStatistics statistics = new SolverStatistics();
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setStatistics(statistics);
+    solver.load(cnf);
+    assertNull(solver.nextModel());
+
+    assertTrue(statistics.getConflicts() > 0);
+    assertEquals(solver.getConflictCount(), statistics.getConflicts());
+    assertEquals(solver.getDecisionCount(), statistics.getDecisions());
+    assertEquals(solver.getPropagationCount(), statistics.getPropagations());
+    assertEquals(solver.getRestartCount(), statistics.getRestarts());
+    assertEquals(solver.getTotalLearnedClauseCount(), statistics.getLearnedClauses());
+    assertEquals(solver.getDeletedClauseCount(), statistics.getDeletedClauses());
+
+    statistics.reset();
+    assertEquals(0, statistics.getConflicts());
+    assertEquals(0, statistics.getPropagations());
+  }
+
+  @Test
+  public void testTheoryCalls() {
+    SolverStatistics statistics = SolverStatistics.get();
+    long theoryCalls = statistics.getTheoryCalls();
+    SmtLibCommand.runScript(
+        "(set-logic QF_LRA)(declare-const x Real)(assert (or (< x 0) (> x 0)))"
+            + "(assert (= x 0))(check-sat)",
+        false);
+
+    assertTrue(statistics.getTheoryCalls() > theoryCalls);
+  }
+
+  @Test
+  public void testMBean() throws Exception {
+    SolverStatistics statistics = SolverStatistics.get();
+    statistics.recordSearch(1, 2, 3, 0, 0, 0);
+
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = new ObjectName(SolverStatistics.OBJECT_NAME);
+    assertTrue(server.isRegistered(name));
+    assertEquals(statistics.getConflicts(), server.getAttribute(name, "Conflicts"));
+    assertTrue((Long) server.getAttribute(name, "Propagations") >= 2);
+  }
+}
@@ -0,0 +1,163 @@
+import me.paultristanwagner.satchecking.builder.generator.ParityChainBuilder;
+import me.paultristanwagner.satchecking.builder.generator.RandomKSatBuilder;
+import me.paultristanwagner.satchecking.sat.Assignment;
+import me.paultristanwagner.satchecking.sat.CNF;
+import me.paultristanwagner.satchecking.sat.Clause;
+import me.paultristanwagner.satchecking.sat.solver.DPLLCDCLSolver;
+import me.paultristanwagner.satchecking.sat.xor.GaussJordanElimination;
+import me.paultristanwagner.satchecking.sat.xor.XorConstraint;
+import me.paultristanwagner.satchecking.sat.xor.XorExplanation;
+import me.paultristanwagner.satchecking.sat.xor.XorRecovery;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static me.paultristanwagner.satchecking.sat.VariableTable.literal;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class XorReasoningTest {
+
+  @Test
+  public void testRecovery() {
+    CNF cnf = CNF.parse("(~a | b | c) & (~a | ~b | ~c) & (a | ~b | c) & (a | b | ~c) & (a | d)");
+    List<XorConstraint> constraints = XorRecovery.recover(cnf);
+    assertEquals(1, constraints.size());
+    assertEquals(3, constraints.get(0).size());
+    // a = b ^ c, so a ^ b ^ c = 0
+    assertFalse(constraints.get(0).getParity());
+
+    List<XorConstraint> chain = XorRecovery.recover(new ParityChainBuilder(20, true, 0).build());
+    assertEquals(38, chain.size());
+  }
+
+  @Test
+  public void testParityChainWithoutSearch() {
+    CNF cnf = new ParityChainBuilder(200, false, 1).build();
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setXorReasoning(true);
+    solver.load(cnf);
+    assertNull(solver.nextModel());
+    assertEquals(0, solver.getConflictCount());
+  }
+
+  @Test
+  public void testLazyExplanationsWithChronologicalBacktracking() {
+    CNF cnf = new ParityChainBuilder(200, true, 1).build();
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setXorReasoning(true);
+    solver.setChronologicalBacktrackingLimit(0);
+    solver.load(cnf);
+    assertNotNull(solver.nextModel());
+    assertEquals(0, solver.getConflictCount());
+    assertTrue(solver.getXorPropagationCount() > 0);
+    // Without conflicts no explanation is needed, not even to find the level of an implication
+    assertEquals(0, solver.getXorExplanationCount());
+  }
+
+  @Test
+  public void testAgreesWithoutXorReasoning() {
+    for (int seed = 0; seed < 30; seed++) {
+      CNF cnf = mixed(seed);
+
+      DPLLCDCLSolver plain = new DPLLCDCLSolver();
+      plain.setXorReasoning(false);
+      plain.load(cnf);
+      boolean expected = plain.nextModel() != null;
+
+      DPLLCDCLSolver solver = new DPLLCDCLSolver();
+      solver.setXorReasoning(true);
+      solver.load(cnf);
+      Assignment model = solver.nextModel();
+      assertEquals(expected, model != null, "seed " + seed);
+      if (model != null) {
+        assertTrue(model.evaluate(cnf), "seed " + seed);
+      }
+      // XOR propagations are explained lazily, only conflict analysis learns clauses
+      assertEquals(solver.getConflictCount(), solver.getTotalLearnedClauseCount(), "seed " + seed);
+    }
+  }
+
+  @Test
+  public void testEnumeration() {
+    for (int seed = 0; seed < 10; seed++) {
+      CNF cnf = new ParityChainBuilder(8, true, seed).build();
+      assertEquals(countModels(cnf, false), countModels(cnf, true), "seed " + seed);
+    }
+  }
+
+  @Test
+  public void testExplanations() {
+    // x1 ^ x2 ^ x3 = 1 and x3 ^ x4 = 0
+    List<XorConstraint> constraints =
+        List.of(
+            new XorConstraint(new int[] {1, 2, 3}, true),
+            new XorConstraint(new int[] {3, 4}, false));
+    GaussJordanElimination elimination = new GaussJordanElimination(constraints, 5);
+    assertEquals(2, elimination.getRowCount());
+    assertTrue(elimination.initialExplanations().isEmpty());
+
+    List<XorExplanation> explanations = new ArrayList<>();
+    elimination.assign(1, true, explanations);
+    assertTrue(explanations.isEmpty());
+
+    // x2 = 0 implies x3 = 0, which implies x4 = 0
+    elimination.assign(2, false, explanations);
+    assertEquals(2, explanations.size());
+    for (XorExplanation explanation : explanations) {
+      int literal = explanation.getLiteral();
+      assertTrue(literal == literal(3, true) || literal == literal(4, true));
+    }
+
+    // x4 = 1 implies x3 = 1 and, with x1 = 1, x2 = 1
+    elimination.unassign(2);
+    explanations.clear();
+    elimination.assign(4, true, explanations);
+    assertEquals(2, explanations.size());
+    for (XorExplanation explanation : explanations) {
+      int literal = explanation.getLiteral();
+      assertTrue(literal == literal(2, false) || literal == literal(3, false));
+    }
+
+    // Assigning x2 against its implication yields a conflict
+    explanations.clear();
+    elimination.assign(3, true, explanations);
+    assertTrue(explanations.isEmpty());
+    elimination.assign(2, false, explanations);
+    assertEquals(1, explanations.size());
+    assertTrue(explanations.get(0).isConflict());
+    assertEquals(3, explanations.get(0).size());
+  }
+
+  @Test
+  public void testInconsistentSystem() {
+    List<XorConstraint> constraints =
+        List.of(
+            new XorConstraint(new int[] {1, 2}, true),
+            new XorConstraint(new int[] {2, 3}, true),
+            new XorConstraint(new int[] {1, 3}, true));
+    GaussJordanElimination elimination = new GaussJordanElimination(constraints, 4);
+    List<XorExplanation> explanations = elimination.initialExplanations();
+    assertEquals(1, explanations.size());
+    assertTrue(explanations.get(0).isConflict());
+    assertEquals(0, explanations.get(0).size());
+  }
+
+  /** Returns random 3-SAT clauses conjoined with a parity chain over the same variables. */
+  private static CNF mixed(long seed) {
+    List<Clause> clauses = new ArrayList<>(new RandomKSatBuilder(40, 150, 3, seed).build().getClauses());
+    clauses.addAll(new ParityChainBuilder(40, seed % 2 == 0, seed).build().getClauses());
+    return new CNF(clauses);
+  }
+
+  private static int countModels(CNF cnf, boolean xorReasoning) {
+    DPLLCDCLSolver solver = new DPLLCDCLSolver();
+    solver.setXorReasoning(xorReasoning);
+    solver.load(cnf);
+    int count = 0;
+    while (solver.nextModel() != null) {
+      count++;
+    }
+    return count;
+  }
+}